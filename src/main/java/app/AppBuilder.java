@@ -1,9 +1,11 @@
 package app;
 
+import data_access.ChunkedCohereDataAccessObject;
 import data_access.CohereDataAccessObject;
 import data_access.EmailDataAccessObject;
-import data_access.MongoDBUserDataAccessObject;
+import data_access.EmailOutbox;
 import data_access.NewsDataAccessObject;
+import data_access.SingleFlightCohereDataAccessObject;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.digest.DigestController;
 import interface_adapter.logged_in.*;
@@ -23,6 +25,7 @@ import use_case.add_category.AddCategoryOutputBoundary;
 import use_case.digest.DigestInputBoundary;
 import use_case.digest.DigestInteractor;
 import use_case.digest.DigestOutputBoundary;
+import use_case.digest.DigestRefresher;
 import use_case.login.LoginInputBoundary;
 import use_case.login.LoginInteractor;
 import use_case.login.LoginOutputBoundary;
@@ -36,22 +39,26 @@ import use_case.remove_category.RemoveCategoryInputBoundary;
 import use_case.remove_category.RemoveCategoryInteractor;
 import use_case.remove_category.RemoveCategoryOutputBoundary;
 import use_case.save_article.SaveArticleInputBoundary;
-import use_case.save_article.SaveArticleInteractor;
+import use_case.save_article.SaveArticleAsyncInteractor;
 import use_case.save_article.SaveArticleOutputBoundary;
 import use_case.saved_articles.SavedArticlesInputBoundary;
 import use_case.saved_articles.SavedArticlesInteractor;
 import use_case.saved_articles.SavedArticlesOutputBoundary;
 import use_case.share_article.ShareArticleInteractor;
+import use_case.share_digest.ShareDigestInputBoundary;
+import use_case.share_digest.ShareDigestInteractor;
+import use_case.share_digest.ShareDigestOutputBoundary;
 import use_case.signup.SignupInputBoundary;
 import use_case.signup.SignupInteractor;
 import use_case.signup.SignupOutputBoundary;
 import use_case.unsave_article.UnsaveArticleInputBoundary;
-import use_case.unsave_article.UnsaveArticleInteractor;
+import use_case.unsave_article.UnsaveArticleAsyncInteractor;
 import use_case.unsave_article.UnsaveArticleOutputBoundary;
 import view.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
 
 /**
  * Builder Pattern for Creating the Application.
@@ -62,11 +69,21 @@ public class AppBuilder {
     private final ViewManagerModel viewManagerModel = new ViewManagerModel();
     private final ViewManager viewManager = new ViewManager(cardPanel, cardLayout, viewManagerModel);
 
-    // DAOs
-    private final MongoDBUserDataAccessObject mongoDBUserDataAccessObject = new MongoDBUserDataAccessObject();
+    // DAOs: MongoDB with category and article changes written behind the Swing thread, or a local store
+    private final UserStore userStore = UserStore.open();
     private final NewsDataAccessObject newsDataAccessObject = new NewsDataAccessObject();
     private final CohereDataAccessObject cohereDataAccessObject = new CohereDataAccessObject();
-    private final EmailDataAccessObject emailDataAccessObject = new EmailDataAccessObject();
+    private final SingleFlightCohereDataAccessObject singleFlightCohereDataAccessObject =
+            new SingleFlightCohereDataAccessObject(cohereDataAccessObject);
+    private final ChunkedCohereDataAccessObject chunkedCohereDataAccessObject =
+            new ChunkedCohereDataAccessObject(singleFlightCohereDataAccessObject);
+    // Shares are spooled and sent in the background, so the Swing thread never waits on Gmail
+    private final EmailOutbox emailOutbox = new EmailOutbox(new EmailDataAccessObject(),
+            Path.of(EmailOutbox.DEFAULT_SPOOL_FILE));
+
+    // Keeps the digest of the logged-in user's categories up to date in the background
+    private final DigestRefresher digestRefresher = new DigestRefresher(newsDataAccessObject,
+            chunkedCohereDataAccessObject);
 
     // Views & View Models
     private LoginView loginView;
@@ -80,6 +97,14 @@ public class AppBuilder {
 
     public AppBuilder() throws Exception {
         cardPanel.setLayout(cardLayout);
+        // The views only say a mail was queued, so a mail that never goes out has to be reported later
+        emailOutbox.setFailureListener((subject, recipient) -> SwingUtilities.invokeLater(() ->
+                JOptionPane.showMessageDialog(
+                        null,
+                        "\"" + subject + "\" could not be emailed to " + recipient + ". Please try again later.",
+                        "Email Not Sent",
+                        JOptionPane.ERROR_MESSAGE
+                )));
     }
 
     /**
@@ -134,7 +159,7 @@ public class AppBuilder {
         final SignupOutputBoundary signupOutputBoundary = new SignupPresenter(viewManagerModel,
                 signupViewModel, loginViewModel);
         final SignupInputBoundary userSignupInteractor = new SignupInteractor(
-                mongoDBUserDataAccessObject, signupOutputBoundary);
+                userStore.getSignupDataAccessObject(), signupOutputBoundary);
 
         final SignupController controller = new SignupController(userSignupInteractor);
         signupView.setSignupController(controller);
@@ -148,8 +173,8 @@ public class AppBuilder {
     public AppBuilder addLoginUseCase() {
         final LoginOutputBoundary loginOutputBoundary = new LoginPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, signupViewModel);
-        final LoginInputBoundary loginInteractor = new LoginInteractor(mongoDBUserDataAccessObject,
-                loginOutputBoundary);
+        final LoginInputBoundary loginInteractor = new LoginInteractor(userStore.getLoginDataAccessObject(),
+                loginOutputBoundary, digestRefresher);
 
         final LoginController loginController = new LoginController(loginInteractor);
         loginView.setLoginController(loginController);
@@ -163,7 +188,7 @@ public class AppBuilder {
     public AppBuilder addLogoutUseCase() {
         final LogoutOutputBoundary logoutOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
-        final LogoutInputBoundary logoutInputBoundary = new LogoutInteractor(mongoDBUserDataAccessObject,
+        final LogoutInputBoundary logoutInputBoundary = new LogoutInteractor(userStore.getLogoutDataAccessObject(),
                 logoutOutputBoundary);
         final LogoutController controller = new LogoutController(logoutInputBoundary);
 
@@ -180,7 +205,7 @@ public class AppBuilder {
         // Logged In View
         final AddCategoryOutputBoundary addCategoryOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
-        final AddCategoryInputBoundary addCategoryInteractor = new AddCategoryInteractor(mongoDBUserDataAccessObject,
+        final AddCategoryInputBoundary addCategoryInteractor = new AddCategoryInteractor(userStore.getAddCategoryDataAccessObject(),
                 addCategoryOutputBoundary);
 
         final AddCategoryController controller = new AddCategoryController(addCategoryInteractor);
@@ -189,7 +214,7 @@ public class AppBuilder {
         // Saved Articles View
         final AddCategoryOutputBoundary addCategoryOutputBoundary1 = new SavedArticlesPresenter(viewManagerModel,
                 loggedInViewModel, savedArticlesViewModel);
-        final AddCategoryInputBoundary addCategoryInteractor1 = new AddCategoryInteractor(mongoDBUserDataAccessObject,
+        final AddCategoryInputBoundary addCategoryInteractor1 = new AddCategoryInteractor(userStore.getAddCategoryDataAccessObject(),
                 addCategoryOutputBoundary1);
 
         final AddCategoryController controller1 = new AddCategoryController(addCategoryInteractor1);
@@ -206,7 +231,7 @@ public class AppBuilder {
         final RemoveCategoryOutputBoundary removeCategoryOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
         final RemoveCategoryInputBoundary removeCategoryInputBoundary =
-                new RemoveCategoryInteractor(mongoDBUserDataAccessObject,
+                new RemoveCategoryInteractor(userStore.getRemoveCategoryDataAccessObject(),
                 removeCategoryOutputBoundary);
 
         final RemoveCategoryController controller = new RemoveCategoryController(removeCategoryInputBoundary);
@@ -216,7 +241,7 @@ public class AppBuilder {
         final RemoveCategoryOutputBoundary removeCategoryOutputBoundary1 = new SavedArticlesPresenter(viewManagerModel,
                 loggedInViewModel, savedArticlesViewModel);
         final RemoveCategoryInputBoundary removeCategoryInputBoundary1 =
-                new RemoveCategoryInteractor(mongoDBUserDataAccessObject,
+                new RemoveCategoryInteractor(userStore.getRemoveCategoryDataAccessObject(),
                 removeCategoryOutputBoundary1);
 
         final RemoveCategoryController controller1 = new RemoveCategoryController(removeCategoryInputBoundary1);
@@ -232,8 +257,8 @@ public class AppBuilder {
         final DigestOutputBoundary digestOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
         final DigestInputBoundary digestInputBoundary =
-                new DigestInteractor(newsDataAccessObject, cohereDataAccessObject,
-                digestOutputBoundary);
+                new DigestInteractor(newsDataAccessObject, chunkedCohereDataAccessObject,
+                digestOutputBoundary, digestRefresher);
         final DigestController controller = new DigestController(digestInputBoundary);
         loggedInView.setDigestController(controller);
         return this;
@@ -253,15 +278,16 @@ public class AppBuilder {
     }
 
     /**
-     * Adds the Save Article Use Case to the application.
+     * Adds the Save Article Use Case to the application. The article is written off the event dispatch
+     * thread, and the presenter is called back on it once the write completes.
      * @return this builder
      */
     public AppBuilder addSaveArticlesUseCase() {
         final SaveArticleOutputBoundary saveArticleOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
         final SaveArticleInputBoundary saveArticleInputBoundary =
-                new SaveArticleInteractor(mongoDBUserDataAccessObject,
-                saveArticleOutputBoundary);
+                new SaveArticleAsyncInteractor(userStore.getSaveArticleDataAccessObject(),
+                saveArticleOutputBoundary, SwingUtilities::invokeLater);
         final SaveArticleController controller = new SaveArticleController(saveArticleInputBoundary);
         loggedInView.setSaveArticleController(controller);
         return this;
@@ -276,8 +302,8 @@ public class AppBuilder {
         final UnsaveArticleOutputBoundary unsaveArticleOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
         final UnsaveArticleInputBoundary unsaveArticleInputBoundary = new
-                UnsaveArticleInteractor(mongoDBUserDataAccessObject,
-                unsaveArticleOutputBoundary);
+                UnsaveArticleAsyncInteractor(userStore.getUnsaveArticleDataAccessObject(),
+                unsaveArticleOutputBoundary, SwingUtilities::invokeLater);
         final UnsaveArticleController controller = new UnsaveArticleController(unsaveArticleInputBoundary);
         loggedInView.setUnsaveArticleController(controller);
 
@@ -285,8 +311,8 @@ public class AppBuilder {
         final UnsaveArticleOutputBoundary unsaveArticleOutputBoundary1 = new SavedArticlesPresenter(viewManagerModel,
                 loggedInViewModel, savedArticlesViewModel);
         final UnsaveArticleInputBoundary unsaveArticleInputBoundary1 =
-                new UnsaveArticleInteractor(mongoDBUserDataAccessObject,
-                unsaveArticleOutputBoundary1);
+                new UnsaveArticleAsyncInteractor(userStore.getUnsaveArticleDataAccessObject(),
+                unsaveArticleOutputBoundary1, SwingUtilities::invokeLater);
         final UnsaveArticleController controller1 = new UnsaveArticleController(unsaveArticleInputBoundary1);
         savedArticlesView.setUnsaveArticleController(controller1);
 
@@ -300,7 +326,7 @@ public class AppBuilder {
     public AppBuilder addShareArticleUseCase() {
         // Instantiate Interactor
         final ShareArticleInteractor shareArticleInteractor = new ShareArticleInteractor(
-                mongoDBUserDataAccessObject, emailDataAccessObject);
+                userStore.getShareArticleDataAccessObject(), emailOutbox);
 
         // Instantiate Controller
         final ShareArticleController shareArticleController = new ShareArticleController(shareArticleInteractor);
@@ -313,6 +339,19 @@ public class AppBuilder {
         return this;
     }
 
+    /**
+     * Adds the Share Digest Use Case to the application.
+     * @return this builder
+     */
+    public AppBuilder addShareDigestUseCase() {
+        final ShareDigestOutputBoundary shareDigestOutputBoundary = new ShareDigestPresenter(loggedInViewModel);
+        final ShareDigestInputBoundary shareDigestInteractor = new ShareDigestInteractor(emailOutbox,
+                shareDigestOutputBoundary);
+        final ShareDigestController shareDigestController = new ShareDigestController(shareDigestInteractor);
+        loggedInView.setShareDigestController(shareDigestController);
+        return this;
+    }
+
     /**
      * Adds the Saved Articles Use Case to the application.
      * @return this builder
@@ -321,10 +360,11 @@ public class AppBuilder {
         final SavedArticlesOutputBoundary savedArticlesOutputBoundary = new LoggedInPresenter(viewManagerModel,
                 loggedInViewModel, loginViewModel, savedArticlesViewModel);
         final SavedArticlesInputBoundary savedArticlesInputBoundary =
-                new SavedArticlesInteractor(mongoDBUserDataAccessObject,
+                new SavedArticlesInteractor(userStore.getSavedArticlesDataAccessObject(),
                 savedArticlesOutputBoundary);
         final SavedArticlesController controller = new SavedArticlesController(savedArticlesInputBoundary);
         loggedInView.setSavedArticlesController(controller);
+        savedArticlesView.setSavedArticlesController(controller);
         return this;
     }
 
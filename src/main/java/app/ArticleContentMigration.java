@@ -0,0 +1,31 @@
+package app;
+
+import data_access.MongoClientProvider;
+import data_access.MongoDBSavedArticleDataAccessObject;
+
+/**
+ * One-off job moving saved article bodies that are still stored inline into the content store.
+ * It can run while the application is in use, and running it again only picks up what is left.
+ */
+public class ArticleContentMigration {
+    /**
+     * Runs the migration against the configured database.
+     * @param args args
+     */
+    public static void main(String[] args) {
+        final MongoClientProvider mongoClientProvider = MongoClientProvider.getInstance();
+        try {
+            final MongoDBSavedArticleDataAccessObject savedArticleDataAccessObject =
+                    new MongoDBSavedArticleDataAccessObject(mongoClientProvider.getDatabase());
+
+            final long startTime = System.currentTimeMillis();
+            final long migrated = savedArticleDataAccessObject.migrateInlineContent();
+            // Like the batch runner, the job reports on standard error
+            System.err.println("Moved the content of " + migrated + " saved articles in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
+        }
+        finally {
+            mongoClientProvider.close();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package app;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import data_access.ChunkedCohereDataAccessObject;
+import data_access.CohereDataAccessObject;
+import data_access.MongoClientProvider;
+import data_access.MongoDBUserDataAccessObject;
+import data_access.NewsDataAccessObject;
+import data_access.SingleFlightCohereDataAccessObject;
+import interface_adapter.batch.JsonLinesDigestPresenter;
+import use_case.digest.DigestCohereDataAccessInterface;
+import use_case.digest.DigestInputData;
+import use_case.digest.DigestInteractor;
+import use_case.digest.DigestNewsDataAccessInterface;
+import use_case.digest.SharedDigestCache;
+
+/**
+ * Generates the digests of many entries from the command line, writing one line of JSON per entry as it
+ * finishes. An entry is either a username, whose categories are digested, or a comma-separated list of
+ * keywords. All entries share one {@link SharedDigestCache}, so a keyword is fetched and summarized once
+ * per run, and at most a fixed number of digests run at a time.
+ */
+public class BatchDigestRunner {
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99};
+    private static final double SECONDS_PER_MINUTE = 60.0;
+
+    private final DigestNewsDataAccessInterface newsDataAccessObject;
+    private final DigestCohereDataAccessInterface cohereDataAccessObject;
+    private final int concurrency;
+
+    public BatchDigestRunner(DigestNewsDataAccessInterface newsDataAccessObject,
+                             DigestCohereDataAccessInterface cohereDataAccessObject,
+                             int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.newsDataAccessObject = newsDataAccessObject;
+        this.cohereDataAccessObject = cohereDataAccessObject;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Runs the batch.
+     * Usage: BatchDigestRunner input-file output-file|- [--keywords] [--concurrency n]
+     * @param args the file with one entry per line, the JSON Lines file to write or - for standard output,
+     *             --keywords if the entries are keyword lists rather than usernames, and the concurrency
+     * @throws Exception if a file cannot be read or written, or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchDigestRunner input-file output-file|- [--keywords] [--concurrency n]");
+            return;
+        }
+        boolean keywordEntries = false;
+        int concurrency = DEFAULT_CONCURRENCY;
+        for (int index = 2; index < args.length; index++) {
+            if ("--keywords".equals(args[index])) {
+                keywordEntries = true;
+            }
+            else if ("--concurrency".equals(args[index]) && index + 1 < args.length) {
+                index++;
+                concurrency = Integer.parseInt(args[index]);
+            }
+        }
+
+        final KeywordSource keywordSource;
+        if (keywordEntries) {
+            keywordSource = BatchDigestRunner::splitKeywords;
+        }
+        else {
+            final MongoDBUserDataAccessObject userDataAccessObject =
+                    new MongoDBUserDataAccessObject(MongoClientProvider.getInstance().getDatabase());
+            keywordSource = username -> userDataAccessObject.getUserCategories(username).toArray(new String[0]);
+        }
+
+        final Report report;
+        try (ChunkedCohereDataAccessObject cohereDataAccessObject = new ChunkedCohereDataAccessObject(
+                new SingleFlightCohereDataAccessObject(new CohereDataAccessObject()));
+             BufferedReader input = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8);
+             Writer output = openOutput(args[1])) {
+            final BatchDigestRunner runner = new BatchDigestRunner(new NewsDataAccessObject(),
+                    cohereDataAccessObject, concurrency);
+            report = runner.run(input.lines()::iterator, keywordSource, output);
+        }
+        // The report goes to standard error so that it never mixes with JSON Lines written to standard output
+        System.err.println(report);
+    }
+
+    private static Writer openOutput(String name) throws IOException {
+        final Writer output;
+        if ("-".equals(name)) {
+            output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        else {
+            output = Files.newBufferedWriter(Path.of(name), StandardCharsets.UTF_8);
+        }
+        return output;
+    }
+
+    private static String[] splitKeywords(String entry) {
+        return Arrays.stream(entry.split(","))
+                .map(String::trim)
+                .filter(keyword -> !keyword.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Generates the digest of every entry and writes each one to the output as soon as it is ready, so
+     * lines come out in completion order rather than input order. Blank entries are skipped.
+     * @param entries the entries, read lazily
+     * @param keywordSource the keywords to digest for an entry
+     * @param output the JSON Lines output
+     * @return the throughput and latencies of the run, with failed entries counted apart from digests
+     * @throws IOException if the output cannot be flushed
+     * @throws InterruptedException if the run is interrupted
+     */
+    public Report run(Iterable<String> entries, KeywordSource keywordSource, Writer output)
+            throws IOException, InterruptedException {
+        final SharedDigestCache digestCache = new SharedDigestCache(newsDataAccessObject, cohereDataAccessObject);
+        final Queue<Long> digestLatencies = new ConcurrentLinkedQueue<>();
+        final Queue<Long> failureLatencies = new ConcurrentLinkedQueue<>();
+        final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        // Reading stops while every worker is busy, so a long input is never queued up in memory
+        final Semaphore slots = new Semaphore(concurrency);
+
+        final long startNanos = System.nanoTime();
+        try {
+            for (String entry : entries) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                slots.acquire();
+                workers.execute(() -> {
+                    try {
+                        final long entryStartNanos = System.nanoTime();
+                        final boolean succeeded =
+                                runEntry(entry.trim(), keywordSource, output, digestCache, entryStartNanos);
+                        final long latencyNanos = System.nanoTime() - entryStartNanos;
+                        // A failure is often quick, so counting it with the digests would flatter them
+                        if (succeeded) {
+                            digestLatencies.add(latencyNanos);
+                        }
+                        else {
+                            failureLatencies.add(latencyNanos);
+                        }
+                    }
+                    finally {
+                        slots.release();
+                    }
+                });
+            }
+            // Every slot is free again once the last entry has finished
+            slots.acquire(concurrency);
+        }
+        finally {
+            workers.shutdown();
+        }
+        output.flush();
+        return new Report(new ArrayList<>(digestLatencies), new ArrayList<>(failureLatencies),
+                System.nanoTime() - startNanos, digestCache.getFetchCount());
+    }
+
+    private boolean runEntry(String entry, KeywordSource keywordSource, Writer output,
+                             SharedDigestCache digestCache, long entryStartNanos) {
+        final JsonLinesDigestPresenter presenter = new JsonLinesDigestPresenter(output, entry, entryStartNanos);
+        try {
+            final String[] keywords = keywordSource.keywordsOf(entry);
+            if (keywords.length == 0) {
+                presenter.prepareFailView("No keywords to digest");
+            }
+            else {
+                new DigestInteractor(newsDataAccessObject, cohereDataAccessObject, presenter, digestCache)
+                        .execute(DigestInputData.forPastWeek(keywords));
+            }
+        }
+        catch (RuntimeException runtimeException) {
+            presenter.prepareFailView("Error generating digest: " + runtimeException.getMessage());
+        }
+        return presenter.isSucceeded();
+    }
+
+    /**
+     * Source of the keywords to digest for a batch entry.
+     */
+    public interface KeywordSource {
+        /**
+         * Returns the keywords of an entry.
+         * @param entry the entry, a username or a keyword list
+         * @return the keywords, empty if there are none
+         */
+        String[] keywordsOf(String entry);
+    }
+
+    /**
+     * Throughput and latencies of a batch run. Digests and failed entries are counted and timed apart.
+     */
+    public static final class Report {
+        private final long[] latencyNanos;
+        private final long[] failureLatencyNanos;
+        private final long elapsedNanos;
+        private final int fetchedKeywordCount;
+
+        private Report(List<Long> latencies, List<Long> failureLatencies, long elapsedNanos,
+                       int fetchedKeywordCount) {
+            this.latencyNanos = sorted(latencies);
+            this.failureLatencyNanos = sorted(failureLatencies);
+            this.elapsedNanos = elapsedNanos;
+            this.fetchedKeywordCount = fetchedKeywordCount;
+        }
+
+        /**
+         * Returns the number of entries that got their digest.
+         * @return the number of digests
+         */
+        public int getDigestCount() {
+            return latencyNanos.length;
+        }
+
+        /**
+         * Returns the number of entries that got an error instead of a digest.
+         * @return the number of failed entries
+         */
+        public int getFailedCount() {
+            return failureLatencyNanos.length;
+        }
+
+        public int getFetchedKeywordCount() {
+            return fetchedKeywordCount;
+        }
+
+        /**
+         * Returns the number of digests generated per minute of the run.
+         * @return the throughput
+         */
+        public double getDigestsPerMinute() {
+            final double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+            return latencyNanos.length / seconds * SECONDS_PER_MINUTE;
+        }
+
+        /**
+         * Returns a percentile of the latencies of the digests by the nearest-rank method.
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency in milliseconds, or 0 if there were no digests
+         */
+        public double getLatencyPercentileMillis(double percentile) {
+            return percentileMillis(latencyNanos, percentile);
+        }
+
+        /**
+         * Returns a percentile of the latencies of the failed entries by the nearest-rank method.
+         * @param percentile the percentile, between 0 and 100
+         * @return the latency in milliseconds, or 0 if no entry failed
+         */
+        public double getFailureLatencyPercentileMillis(double percentile) {
+            return percentileMillis(failureLatencyNanos, percentile);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder report = new StringBuilder(String.format(
+                    "%d digests (%d keywords fetched) at %.1f digests per minute; latency",
+                    getDigestCount(), fetchedKeywordCount, getDigestsPerMinute()));
+            for (double percentile : REPORTED_PERCENTILES) {
+                report.append(String.format(" p%.0f %.0f ms", percentile, getLatencyPercentileMillis(percentile)));
+            }
+            report.append(String.format("; %d failed", getFailedCount()));
+            if (failureLatencyNanos.length > 0) {
+                report.append(", latency");
+                for (double percentile : REPORTED_PERCENTILES) {
+                    report.append(String.format(" p%.0f %.0f ms", percentile,
+                            getFailureLatencyPercentileMillis(percentile)));
+                }
+            }
+            return report.toString();
+        }
+
+        private static long[] sorted(List<Long> latencies) {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        private static double percentileMillis(long[] sortedNanos, double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            final int rank = (int) Math.ceil(percentile / 100 * sortedNanos.length);
+            final long nanos = sortedNanos[Math.max(0, Math.min(sortedNanos.length, rank) - 1)];
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package app;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import entity.Article;
+import entity.SessionContext;
+import interface_adapter.http.HttpLoginPresenter;
+import interface_adapter.http.HttpPresenter;
+import interface_adapter.http.HttpSessions;
+import interface_adapter.http.JsonArticles;
+import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.add_category.AddCategoryInputData;
+import use_case.add_category.AddCategoryInteractor;
+import use_case.digest.DigestCacheInterface;
+import use_case.digest.DigestCohereDataAccessInterface;
+import use_case.digest.DigestInputData;
+import use_case.digest.DigestInteractor;
+import use_case.digest.DigestNewsDataAccessInterface;
+import use_case.login.LoginInputData;
+import use_case.login.LoginInteractor;
+import use_case.login.LoginUserDataAccessInterface;
+import use_case.remove_category.RemoveCategoryDataAccessInterface;
+import use_case.remove_category.RemoveCategoryInputData;
+import use_case.remove_category.RemoveCategoryInteractor;
+import use_case.save_article.SaveArticleAsyncDataAccessInterface;
+import use_case.save_article.SaveArticleAsyncInteractor;
+import use_case.save_article.SaveArticleInputData;
+import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.saved_articles.SavedArticlesInputData;
+import use_case.saved_articles.SavedArticlesInteractor;
+import use_case.share_article.ShareArticleEmailDataAccessInterface;
+import use_case.share_article.ShareArticleInputData;
+import use_case.share_article.ShareArticleInteractor;
+import use_case.share_article.ShareArticleUserDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncInteractor;
+import use_case.unsave_article.UnsaveArticleInputData;
+
+/**
+ * Builder Pattern for Creating the JSON HTTP API, the headless counterpart of {@link AppBuilder}.
+ * Every endpoint takes a POST with a JSON object, makes the interactor of its use case with an
+ * {@link HttpPresenter} for the request, and lets the presenter write the response. A client logs in at
+ * /login and sends the token it gets back as "Authorization: Bearer token" with every other request;
+ * the use cases act for the user of that session.
+ * The server listens on the loopback interface unless given another address. Tokens and passwords travel
+ * in plain text, so it should only be reached from other hosts through a proxy that terminates TLS.
+ */
+public class HeadlessAppBuilder {
+    public static final int REQUEST_THREADS = 64;
+
+    private static final int BACKLOG = 1024;
+    private static final int REQUEST_QUEUE = 1024;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String BEARER = "Bearer ";
+
+    private final HttpServer server;
+    private final HttpSessions sessions = new HttpSessions();
+
+    /**
+     * Creates a builder for a server on the loopback interface.
+     * @param port the port, or 0 for any free one
+     * @throws IOException if the server cannot listen on the port
+     */
+    public HeadlessAppBuilder(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Creates a builder for a server on the given address.
+     * @param address the address to listen on
+     * @throws IOException if the server cannot listen on the address
+     */
+    public HeadlessAppBuilder(InetSocketAddress address) throws IOException {
+        // Responses are small and written in two parts, so with Nagle's algorithm each one waits for the
+        // client's delayed ACK; the server reads this property once, when the first one is created
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(newRequestExecutor());
+    }
+
+    /**
+     * Adds the Login Use Case at /login, which takes the "username" and "password" and answers with the
+     * "token" of a new session, and /logout, which ends the session of the request.
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addLoginUseCase(LoginUserDataAccessInterface dataAccessObject) {
+        server.createContext("/login", exchange -> handle(exchange, new HttpLoginPresenter(exchange, sessions),
+                (request, presenter) -> new LoginInteractor(dataAccessObject, (HttpLoginPresenter) presenter)
+                        .execute(new LoginInputData(requiredString(request, "username"),
+                                requiredString(request, "password")))));
+        server.createContext("/logout", exchange -> handle(exchange, new HttpPresenter(exchange),
+                (request, presenter) -> {
+                    if (!sessions.close(token(exchange))) {
+                        presenter.respondWithError(HttpPresenter.UNAUTHORIZED, "Not logged in.");
+                        return;
+                    }
+                    presenter.respond(HttpPresenter.OK, new JsonObject());
+                }));
+        return this;
+    }
+
+    /**
+     * Adds the Digest Use Case at /digest, which takes the "keywords" to digest. Like the desktop app, it
+     * digests the newest articles of the past week.
+     * @param newsDataAccessObject the news DAO
+     * @param cohereDataAccessObject the summarizing DAO
+     * @param digestCache the cache of prepared digests, or null
+     * @return this builder
+     */
+    public HeadlessAppBuilder addDigestUseCase(DigestNewsDataAccessInterface newsDataAccessObject,
+                                               DigestCohereDataAccessInterface cohereDataAccessObject,
+                                               DigestCacheInterface digestCache) {
+        route("/digest", (request, session, presenter) -> {
+            final JsonArray keywordArray = request.getAsJsonArray("keywords");
+            if (keywordArray == null || keywordArray.isEmpty()) {
+                throw new IllegalArgumentException("At least one keyword is required");
+            }
+            final String[] keywords = new String[keywordArray.size()];
+            for (int index = 0; index < keywords.length; index++) {
+                keywords[index] = keywordArray.get(index).getAsString();
+            }
+            new DigestInteractor(newsDataAccessObject, cohereDataAccessObject, presenter, digestCache)
+                    .execute(DigestInputData.forLatestOfPastWeek(keywords));
+        });
+        return this;
+    }
+
+    /**
+     * Adds the Save Article Use Case at /articles/save, which takes the "article" to save. The request
+     * thread is released while the article is written, and the response is sent once the write completes.
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addSaveArticleUseCase(SaveArticleAsyncDataAccessInterface dataAccessObject) {
+        route("/articles/save", (request, session, presenter) -> new SaveArticleAsyncInteractor(dataAccessObject,
+                presenter).execute(new SaveArticleInputData(session, article(request))));
+        return this;
+    }
+
+    /**
+     * Adds the Unsave Article Use Case at /articles/unsave, which takes the "article" to remove. Like
+     * /articles/save, it responds once the removal completes.
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addUnsaveArticleUseCase(UnsaveArticleAsyncDataAccessInterface dataAccessObject) {
+        route("/articles/unsave", (request, session, presenter) -> new UnsaveArticleAsyncInteractor(
+                dataAccessObject, presenter).execute(new UnsaveArticleInputData(session, article(request))));
+        return this;
+    }
+
+    /**
+     * Adds the Saved Articles Use Case at /articles/saved, which takes an optional "pageToken".
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addSavedArticlesUseCase(SavedArticlesDataAccessInterface dataAccessObject) {
+        route("/articles/saved", (request, session, presenter) -> new SavedArticlesInteractor(dataAccessObject,
+                presenter).execute(new SavedArticlesInputData(session, JsonArticles.getString(request, "pageToken"))));
+        return this;
+    }
+
+    /**
+     * Adds the Add Category Use Case at /categories/add, which takes the "category" to add.
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addAddCategoryUseCase(AddCategoryDataAccessInterface dataAccessObject) {
+        route("/categories/add", (request, session, presenter) -> new AddCategoryInteractor(dataAccessObject,
+                presenter).execute(new AddCategoryInputData(session, requiredString(request, "category"))));
+        return this;
+    }
+
+    /**
+     * Adds the Remove Category Use Case at /categories/remove, which takes the "category" to remove.
+     * @param dataAccessObject the DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addRemoveCategoryUseCase(RemoveCategoryDataAccessInterface dataAccessObject) {
+        route("/categories/remove", (request, session, presenter) ->
+                new RemoveCategoryInteractor(dataAccessObject, presenter)
+                        .execute(new RemoveCategoryInputData(session, requiredString(request, "category"))));
+        return this;
+    }
+
+    /**
+     * Adds the Share Article Use Case at /articles/share, which takes the "article" to send to the user.
+     * @param userDataAccessObject the user DAO
+     * @param emailDataAccessObject the email DAO
+     * @return this builder
+     */
+    public HeadlessAppBuilder addShareArticleUseCase(ShareArticleUserDataAccessInterface userDataAccessObject,
+                                                     ShareArticleEmailDataAccessInterface emailDataAccessObject) {
+        route("/articles/share", (request, session, presenter) -> {
+            final ShareArticleInteractor interactor =
+                    new ShareArticleInteractor(userDataAccessObject, emailDataAccessObject);
+            final Article article = article(request);
+            try {
+                // Only ever to the user's own address, so the API cannot be used to mail anyone else
+                interactor.execute(new ShareArticleInputData(session, article));
+            }
+            catch (Exception exception) {
+                presenter.respondWithError(HttpPresenter.BAD_GATEWAY, "Could not send the email.");
+                return;
+            }
+            final JsonObject body = new JsonObject();
+            body.addProperty("link", article.getLink());
+            presenter.respond(HttpPresenter.OK, body);
+        });
+        return this;
+    }
+
+    /**
+     * Creates the server. It does not accept requests until it is started.
+     * @return the server
+     */
+    public HttpServer build() {
+        return server;
+    }
+
+    /**
+     * Adds an endpoint that only answers requests made in an open session.
+     * @param path the path of the endpoint
+     * @param handler the handler running the use case for the user of the session
+     */
+    private void route(String path, SessionRequestHandler handler) {
+        server.createContext(path, exchange -> {
+            final SessionContext session = sessions.find(token(exchange));
+            final HttpPresenter presenter = new HttpPresenter(exchange);
+            if (session == null) {
+                presenter.respondWithError(HttpPresenter.UNAUTHORIZED, "Log in first.");
+                return;
+            }
+            handle(exchange, presenter, (request, requestPresenter) ->
+                    handler.handle(request, session, requestPresenter));
+        });
+    }
+
+    private static void handle(HttpExchange exchange, HttpPresenter presenter, RequestHandler handler) {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            presenter.respondWithError(HttpPresenter.METHOD_NOT_ALLOWED, "Use POST.");
+            return;
+        }
+        try (Reader body = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            final JsonElement request = JsonParser.parseReader(body);
+            if (!request.isJsonObject()) {
+                throw new IllegalArgumentException("The request must be a JSON object");
+            }
+            handler.handle(request.getAsJsonObject(), presenter);
+        }
+        catch (JsonParseException | IllegalArgumentException | IllegalStateException
+               | ClassCastException badRequestException) {
+            presenter.respondWithError(HttpPresenter.BAD_REQUEST, badRequestException.getMessage());
+        }
+        catch (IOException | RuntimeException exception) {
+            presenter.respondWithError(HttpPresenter.INTERNAL_ERROR, "Internal error.");
+        }
+    }
+
+    private static String token(HttpExchange exchange) {
+        final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        return authorization.substring(BEARER.length()).trim();
+    }
+
+    private static Article article(JsonObject request) {
+        return JsonArticles.fromJson(request.getAsJsonObject("article"));
+    }
+
+    private static String requiredString(JsonObject request, String name) {
+        final String value = JsonArticles.getString(request, name);
+        if (value == null) {
+            throw new IllegalArgumentException("A " + name + " is required");
+        }
+        return value;
+    }
+
+    /**
+     * Returns an executor with a virtual thread per request when the runtime has virtual threads, so that
+     * requests blocked on the database or the network cost no platform thread. This project targets Java 17,
+     * which has none, so what runs there is the fallback: a pool of {@value #REQUEST_THREADS} threads with a
+     * bounded queue. When the queue is full the server's dispatcher thread runs the request itself, and it
+     * stops accepting connections until that request is done.
+     * @return the executor
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException reflectiveOperationException) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            return new ThreadPoolExecutor(REQUEST_THREADS, REQUEST_THREADS, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(REQUEST_QUEUE), runnable -> {
+                        final Thread thread = new Thread(runnable, "http-request-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    /**
+     * Handler of the JSON request of one endpoint.
+     */
+    private interface RequestHandler {
+        /**
+         * Runs the use case for a request.
+         * @param request the JSON request
+         * @param presenter the presenter answering the request
+         */
+        void handle(JsonObject request, HttpPresenter presenter);
+    }
+
+    /**
+     * Handler of the JSON request of an endpoint that acts for the user of the session.
+     */
+    private interface SessionRequestHandler {
+        /**
+         * Runs the use case for a request.
+         * @param request the JSON request
+         * @param session the session the request was made in
+         * @param presenter the presenter answering the request
+         */
+        void handle(JsonObject request, SessionContext session, HttpPresenter presenter);
+    }
+}
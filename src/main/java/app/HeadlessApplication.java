@@ -0,0 +1,59 @@
+package app;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+import com.sun.net.httpserver.HttpServer;
+import data_access.ChunkedCohereDataAccessObject;
+import data_access.CohereDataAccessObject;
+import data_access.EmailDataAccessObject;
+import data_access.EmailOutbox;
+import data_access.NewsDataAccessObject;
+import data_access.SingleFlightCohereDataAccessObject;
+
+/**
+ * Runs the use cases as a JSON HTTP API instead of the Swing application, with the same DAOs. Like the
+ * Swing application, it keeps users in a local store instead of MongoDB when the
+ * {@value UserStore#LOCAL_STORE_PROPERTY} system property names its directory.
+ */
+public class HeadlessApplication {
+    private static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Starts the HTTP API.
+     * @param args the port to listen on, 8080 if not given, and the host to listen on, the loopback interface
+     *     if not given
+     * @throws Exception if the server cannot listen on the port or a DAO cannot be set up
+     */
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT;
+        if (args.length > 0) {
+            port = Integer.parseInt(args[0]);
+        }
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        if (args.length > 1) {
+            address = new InetSocketAddress(args[1], port);
+        }
+
+        final UserStore userStore = UserStore.open();
+        final NewsDataAccessObject newsDataAccessObject = new NewsDataAccessObject();
+        final ChunkedCohereDataAccessObject cohereDataAccessObject = new ChunkedCohereDataAccessObject(
+                new SingleFlightCohereDataAccessObject(new CohereDataAccessObject()));
+
+        final HttpServer server = new HeadlessAppBuilder(address)
+                .addLoginUseCase(userStore.getLoginDataAccessObject())
+                // No refresher: logins here do not prefetch, so it would keep no categories up to date
+                .addDigestUseCase(newsDataAccessObject, cohereDataAccessObject, null)
+                .addSaveArticleUseCase(userStore.getSaveArticleDataAccessObject())
+                .addUnsaveArticleUseCase(userStore.getUnsaveArticleDataAccessObject())
+                .addSavedArticlesUseCase(userStore.getSavedArticlesDataAccessObject())
+                .addAddCategoryUseCase(userStore.getAddCategoryDataAccessObject())
+                .addRemoveCategoryUseCase(userStore.getRemoveCategoryDataAccessObject())
+                .addShareArticleUseCase(userStore.getShareArticleDataAccessObject(),
+                        new EmailOutbox(new EmailDataAccessObject(), Path.of(EmailOutbox.DEFAULT_SPOOL_FILE)))
+                .build();
+        server.start();
+        System.out.println("Listening on " + server.getAddress());
+    }
+}
@@ -28,6 +28,7 @@ public class MainApplication {
                 .addSaveArticlesUseCase()
                 .addUnsaveArticlesUseCase()
                 .addShareArticleUseCase()
+                .addShareDigestUseCase()
                 .addSavedArticlesUseCase()
                 .build();
 
@@ -0,0 +1,141 @@
+package app;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import data_access.LocalLogUserDataAccessObject;
+import data_access.MongoClientProvider;
+import data_access.MongoDBSavedArticleDataAccessObject;
+import data_access.MongoDBUserDataAccessObject;
+import data_access.ReactiveMongoDBUserDataAccessObject;
+import data_access.WriteBehindDataAccessObject;
+import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.login.LoginUserDataAccessInterface;
+import use_case.logout.LogoutUserDataAccessInterface;
+import use_case.remove_category.RemoveCategoryDataAccessInterface;
+import use_case.save_article.SaveArticleAsyncDataAccessInterface;
+import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.share_article.ShareArticleUserDataAccessInterface;
+import use_case.signup.SignupUserDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncDataAccessInterface;
+
+/**
+ * The DAOs that keep users, their categories and their saved articles, as the builders hand them to the
+ * use cases. By default they are the MongoDB DAOs, with category changes written behind and articles saved
+ * and unsaved through the reactive driver, so no thread waits on the database for them.
+ * When the {@value #LOCAL_STORE_PROPERTY} system property names a directory, they are one
+ * {@link LocalLogUserDataAccessObject} in that directory instead, and no MongoDB server is needed.
+ */
+final class UserStore {
+    static final String LOCAL_STORE_PROPERTY = "newsbuddy.localStore";
+
+    private final SignupUserDataAccessInterface signupDataAccessObject;
+    private final LoginUserDataAccessInterface loginDataAccessObject;
+    private final LogoutUserDataAccessInterface logoutDataAccessObject;
+    private final AddCategoryDataAccessInterface addCategoryDataAccessObject;
+    private final RemoveCategoryDataAccessInterface removeCategoryDataAccessObject;
+    private final SaveArticleAsyncDataAccessInterface saveArticleDataAccessObject;
+    private final UnsaveArticleAsyncDataAccessInterface unsaveArticleDataAccessObject;
+    private final SavedArticlesDataAccessInterface savedArticlesDataAccessObject;
+    private final ShareArticleUserDataAccessInterface shareArticleDataAccessObject;
+
+    private UserStore(MongoDBUserDataAccessObject userDataAccessObject,
+                      WriteBehindDataAccessObject writeBehindDataAccessObject,
+                      ReactiveMongoDBUserDataAccessObject reactiveDataAccessObject) {
+        signupDataAccessObject = userDataAccessObject;
+        loginDataAccessObject = userDataAccessObject;
+        shareArticleDataAccessObject = userDataAccessObject;
+        logoutDataAccessObject = writeBehindDataAccessObject;
+        addCategoryDataAccessObject = writeBehindDataAccessObject;
+        removeCategoryDataAccessObject = writeBehindDataAccessObject;
+        saveArticleDataAccessObject = reactiveDataAccessObject;
+        unsaveArticleDataAccessObject = reactiveDataAccessObject;
+        savedArticlesDataAccessObject = writeBehindDataAccessObject;
+    }
+
+    private UserStore(LocalLogUserDataAccessObject localDataAccessObject) {
+        signupDataAccessObject = localDataAccessObject;
+        loginDataAccessObject = localDataAccessObject;
+        shareArticleDataAccessObject = localDataAccessObject;
+        logoutDataAccessObject = localDataAccessObject;
+        addCategoryDataAccessObject = localDataAccessObject;
+        removeCategoryDataAccessObject = localDataAccessObject;
+        saveArticleDataAccessObject = localDataAccessObject;
+        unsaveArticleDataAccessObject = localDataAccessObject;
+        savedArticlesDataAccessObject = localDataAccessObject;
+    }
+
+    /**
+     * Opens the store the {@value #LOCAL_STORE_PROPERTY} system property selects.
+     * @return the store
+     * @throws IOException if the local store cannot be opened
+     */
+    static UserStore open() throws IOException {
+        final String localStoreDirectory = System.getProperty(LOCAL_STORE_PROPERTY);
+        if (localStoreDirectory != null) {
+            return openLocal(Path.of(localStoreDirectory));
+        }
+        final MongoClientProvider mongoClientProvider = MongoClientProvider.getInstance();
+        final MongoDBUserDataAccessObject userDataAccessObject =
+                new MongoDBUserDataAccessObject(mongoClientProvider.getDatabase());
+        return new UserStore(userDataAccessObject, new WriteBehindDataAccessObject(userDataAccessObject,
+                new MongoDBSavedArticleDataAccessObject(mongoClientProvider.getDatabase()), mongoClientProvider,
+                WriteBehindDataAccessObject.DEFAULT_FLUSH_INTERVAL_MILLIS),
+                new ReactiveMongoDBUserDataAccessObject(mongoClientProvider.getReactiveDatabase()));
+    }
+
+    /**
+     * Opens a local store in the given directory, which is closed when the JVM exits.
+     * @param directory the directory of the store
+     * @return the store
+     * @throws IOException if the store cannot be opened
+     */
+    static UserStore openLocal(Path directory) throws IOException {
+        final LocalLogUserDataAccessObject localDataAccessObject = new LocalLogUserDataAccessObject(directory);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                localDataAccessObject.close();
+            }
+            catch (IOException ioException) {
+                System.err.println("Could not close the local store: " + ioException.getMessage());
+            }
+        }, "local-store-close"));
+        return new UserStore(localDataAccessObject);
+    }
+
+    SignupUserDataAccessInterface getSignupDataAccessObject() {
+        return signupDataAccessObject;
+    }
+
+    LoginUserDataAccessInterface getLoginDataAccessObject() {
+        return loginDataAccessObject;
+    }
+
+    LogoutUserDataAccessInterface getLogoutDataAccessObject() {
+        return logoutDataAccessObject;
+    }
+
+    AddCategoryDataAccessInterface getAddCategoryDataAccessObject() {
+        return addCategoryDataAccessObject;
+    }
+
+    RemoveCategoryDataAccessInterface getRemoveCategoryDataAccessObject() {
+        return removeCategoryDataAccessObject;
+    }
+
+    SaveArticleAsyncDataAccessInterface getSaveArticleDataAccessObject() {
+        return saveArticleDataAccessObject;
+    }
+
+    UnsaveArticleAsyncDataAccessInterface getUnsaveArticleDataAccessObject() {
+        return unsaveArticleDataAccessObject;
+    }
+
+    SavedArticlesDataAccessInterface getSavedArticlesDataAccessObject() {
+        return savedArticlesDataAccessObject;
+    }
+
+    ShareArticleUserDataAccessInterface getShareArticleDataAccessObject() {
+        return shareArticleDataAccessObject;
+    }
+}
@@ -0,0 +1,171 @@
+package data_access;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+
+/**
+ * Keeps article bodies deflated in their own collection, keyed by the SHA-256 of the body. Saved articles
+ * refer to a body by its hash, so the same body saved by many users is stored once, and listing saved
+ * articles never reads a body.
+ */
+public class ArticleContentStore {
+    static final String COLLECTION_NAME = "ArticleContent";
+    private static final String ID = "_id";
+    private static final String DATA = "data";
+    private static final String LENGTH = "length";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final MongoCollection<Document> contentCollection;
+
+    public ArticleContentStore(MongoDatabase database) {
+        this.contentCollection = database.getCollection(COLLECTION_NAME);
+    }
+
+    /**
+     * Stores an article body unless the same body is stored already.
+     * @param content the article body
+     * @return the hash to load the body by later, or null when there is no body
+     */
+    public String put(String content) {
+        if (content == null) {
+            return null;
+        }
+        final String hash = hash(content);
+        contentCollection.updateOne(idFilter(hash), contentUpdate(content), new UpdateOptions().upsert(true));
+        return hash;
+    }
+
+    /**
+     * Stores many article bodies in one unordered bulk write.
+     * @param contentByHash the article bodies by their hash
+     */
+    public void putAll(Map<String, String> contentByHash) {
+        if (contentByHash.isEmpty()) {
+            return;
+        }
+        final List<WriteModel<Document>> upserts = new ArrayList<>(contentByHash.size());
+        for (Map.Entry<String, String> entry : contentByHash.entrySet()) {
+            upserts.add(new UpdateOneModel<>(idFilter(entry.getKey()), contentUpdate(entry.getValue()),
+                    new UpdateOptions().upsert(true)));
+        }
+        contentCollection.bulkWrite(upserts, new BulkWriteOptions().ordered(false));
+    }
+
+    /**
+     * Loads and inflates an article body.
+     * @param hash the hash returned when the body was stored
+     * @return the article body, or null when no body is stored under the hash
+     */
+    public String get(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        final Document contentDoc = contentCollection.find(idFilter(hash)).first();
+        if (contentDoc == null) {
+            return null;
+        }
+        return decompress(contentDoc.get(DATA, Binary.class).getData(), contentDoc.getInteger(LENGTH));
+    }
+
+    /**
+     * Returns the filter matching the stored body with the given hash.
+     * @param hash the hash of the body
+     * @return the filter
+     */
+    static Bson idFilter(String hash) {
+        return Filters.eq(ID, hash);
+    }
+
+    /**
+     * Returns the upsert update storing a body, shared with the reactive DAO.
+     * @param content the article body
+     * @return the update
+     */
+    static Bson contentUpdate(String content) {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        // Bodies are immutable per hash, so an existing document is never rewritten
+        return Updates.combine(Updates.setOnInsert(DATA, new Binary(compress(bytes))),
+                Updates.setOnInsert(LENGTH, bytes.length));
+    }
+
+    /**
+     * Returns the hex SHA-256 of the UTF-8 bytes of a body.
+     * @param content the article body
+     * @return the hash of the body
+     */
+    public static String hash(String content) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte digestByte : digest) {
+                hex.append(String.format("%02x", digestByte));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+    }
+
+    static byte[] compress(byte[] bytes) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2 + 1);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    static String decompress(byte[] compressed, int length) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                final int inflated = inflater.inflate(bytes, offset, length - offset);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Stored article content is truncated");
+                }
+                offset += inflated;
+            }
+            return new String(bytes, 0, offset, StandardCharsets.UTF_8);
+        }
+        catch (DataFormatException dataFormatException) {
+            throw new IllegalStateException("Stored article content is corrupt", dataFormatException);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import use_case.digest.DigestCohereDataAccessInterface;
+
+/**
+ * Summarizer that splits long content into paragraph-aligned chunks, summarizes the chunks
+ * concurrently and reduces the partial summaries the same way until they fit into one final call.
+ * Short content is passed straight through, so only long-form articles pay for the extra requests,
+ * and their latency is bounded by the slowest chunk rather than by one huge request. The chunk
+ * threads are daemon threads; {@link #close()} stops them when the summarizer is no longer needed.
+ */
+public class ChunkedCohereDataAccessObject implements DigestCohereDataAccessInterface, AutoCloseable {
+    // Content up to this many characters is summarized in a single request
+    public static final int DEFAULT_CHUNK_THRESHOLD = 8000;
+    public static final int DEFAULT_MAX_CHUNK_LENGTH = 4000;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    // The summarize endpoint rejects text shorter than this
+    private static final int MIN_SUMMARIZE_LENGTH = 250;
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+    private static final String SENTENCE_SEPARATOR = ". ";
+
+    private final DigestCohereDataAccessInterface summarizer;
+    private final int chunkThreshold;
+    private final int maxChunkLength;
+    private final ExecutorService executorService;
+
+    public ChunkedCohereDataAccessObject(DigestCohereDataAccessInterface summarizer) {
+        this(summarizer, DEFAULT_CHUNK_THRESHOLD, DEFAULT_MAX_CHUNK_LENGTH, DEFAULT_PARALLELISM);
+    }
+
+    public ChunkedCohereDataAccessObject(DigestCohereDataAccessInterface summarizer, int chunkThreshold,
+                                         int maxChunkLength, int parallelism) {
+        this.summarizer = summarizer;
+        this.chunkThreshold = chunkThreshold;
+        this.maxChunkLength = maxChunkLength;
+        this.executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "summarize-chunk");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Summarizes the given input text, using map-reduce over chunks when it is above the threshold.
+     * Partial summaries that together are still above the threshold are chunked and reduced again.
+     *
+     * @param inputText The text to summarize.
+     * @return The summarized text.
+     * @throws IOException If summarizing any chunk or the reduced text fails, or if the partial
+     *     summaries are no shorter than the text.
+     */
+    @Override
+    public String summarize(String inputText) throws IOException {
+        if (inputText == null || inputText.length() <= chunkThreshold) {
+            return summarizer.summarize(inputText);
+        }
+
+        final List<String> chunks = split(inputText);
+        if (chunks.size() == 1) {
+            return summarizer.summarize(inputText);
+        }
+
+        final List<Future<String>> partialSummaries = new ArrayList<>();
+        for (String chunk : chunks) {
+            partialSummaries.add(executorService.submit(() -> summarizer.summarize(chunk)));
+        }
+
+        final StringBuilder reduced = new StringBuilder();
+        for (Future<String> partialSummary : partialSummaries) {
+            if (reduced.length() > 0) {
+                reduced.append(PARAGRAPH_SEPARATOR);
+            }
+            reduced.append(awaitChunk(partialSummary, partialSummaries));
+        }
+
+        // Partial summaries too short to summarize again already are the summary
+        if (reduced.length() < MIN_SUMMARIZE_LENGTH) {
+            return reduced.toString();
+        }
+        if (reduced.length() >= inputText.length()) {
+            // Another round would not shrink the text either
+            throw new IOException("Summaries of the article chunks are no shorter than the article");
+        }
+        return summarize(reduced.toString());
+    }
+
+    /**
+     * Stops the chunk threads. Summaries in progress fail.
+     */
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    private String awaitChunk(Future<String> partialSummary, List<Future<String>> allPartialSummaries)
+            throws IOException {
+        try {
+            return partialSummary.get();
+        }
+        catch (InterruptedException interruptedException) {
+            cancelAll(allPartialSummaries);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while summarizing article chunks");
+        }
+        catch (ExecutionException executionException) {
+            cancelAll(allPartialSummaries);
+            throw new IOException("Error summarizing article chunk: "
+                    + executionException.getCause().getMessage(), executionException.getCause());
+        }
+    }
+
+    private void cancelAll(List<Future<String>> futures) {
+        for (Future<String> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Splits the text into chunks of at most the maximum chunk length, breaking on paragraph
+     * boundaries where possible and on sentence boundaries inside overlong paragraphs.
+     * @param text the text to split
+     * @return the chunks, in order
+     */
+    List<String> split(String text) {
+        final List<String> pieces = new ArrayList<>();
+        for (String paragraph : text.split(PARAGRAPH_SEPARATOR)) {
+            final String trimmed = paragraph.trim();
+            if (trimmed.length() > maxChunkLength) {
+                pieces.addAll(splitParagraph(trimmed));
+            }
+            else if (!trimmed.isEmpty()) {
+                pieces.add(trimmed);
+            }
+        }
+
+        final List<String> chunks = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        for (String piece : pieces) {
+            if (current.length() > 0
+                    && current.length() + PARAGRAPH_SEPARATOR.length() + piece.length() > maxChunkLength) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+            if (current.length() > 0) {
+                current.append(PARAGRAPH_SEPARATOR);
+            }
+            current.append(piece);
+        }
+        if (current.length() > 0) {
+            // A trailing fragment too short to summarize on its own is folded into the previous chunk
+            if (current.length() < MIN_SUMMARIZE_LENGTH && !chunks.isEmpty()) {
+                final int last = chunks.size() - 1;
+                chunks.set(last, chunks.get(last) + PARAGRAPH_SEPARATOR + current);
+            }
+            else {
+                chunks.add(current.toString());
+            }
+        }
+        return chunks;
+    }
+
+    private List<String> splitParagraph(String paragraph) {
+        final List<String> pieces = new ArrayList<>();
+        int start = 0;
+        while (paragraph.length() - start > maxChunkLength) {
+            int end = paragraph.lastIndexOf(SENTENCE_SEPARATOR, start + maxChunkLength - 1);
+            if (end <= start) {
+                // No sentence boundary in range, cut at the limit
+                end = start + maxChunkLength;
+            }
+            else {
+                end += 1;
+            }
+            pieces.add(paragraph.substring(start, end).trim());
+            start = end;
+        }
+        pieces.add(paragraph.substring(start).trim());
+        return pieces;
+    }
+}
@@ -0,0 +1,93 @@
+package data_access;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Connection pool listener that keeps live counts of the MongoDB connection pool, so pool exhaustion
+ * shows up as a growing wait queue instead of as unexplained slow requests.
+ */
+public class ConnectionPoolStatistics implements ConnectionPoolListener {
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waitQueueSize = new AtomicInteger();
+    private final AtomicLong checkOutFailures = new AtomicLong();
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waitQueueSize.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkedOut.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkOutFailures.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    /**
+     * Returns the number of connections currently open.
+     * @return the number of open connections
+     */
+    public int getOpenCount() {
+        return open.get();
+    }
+
+    /**
+     * Returns the number of connections currently checked out of the pool.
+     * @return the number of checked out connections
+     */
+    public int getCheckedOutCount() {
+        return checkedOut.get();
+    }
+
+    /**
+     * Returns the number of operations currently waiting for a connection.
+     * @return the wait queue size
+     */
+    public int getWaitQueueSize() {
+        return waitQueueSize.get();
+    }
+
+    /**
+     * Returns the number of check outs that failed, for example because the max wait time passed.
+     * @return the number of failed check outs
+     */
+    public long getCheckOutFailureCount() {
+        return checkOutFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "open=" + getOpenCount() + ", checkedOut=" + getCheckedOutCount()
+                + ", waitQueue=" + getWaitQueueSize() + ", checkOutFailures=" + getCheckOutFailureCount();
+    }
+}
@@ -16,6 +16,7 @@ import com.google.api.services.gmail.GmailScopes;
 import com.google.api.services.gmail.model.Message;
 import org.apache.commons.codec.binary.Base64;
 import use_case.share_article.ShareArticleEmailDataAccessInterface;
+import use_case.share_digest.ShareDigestEmailDataAccessInterface;
 
 import javax.mail.Session;
 import javax.mail.internet.InternetAddress;
@@ -30,7 +31,8 @@ import java.util.Set;
 /**
  * DAO for the email api.
  */
-public class EmailDataAccessObject implements ShareArticleEmailDataAccessInterface {
+public class EmailDataAccessObject implements ShareArticleEmailDataAccessInterface,
+        ShareDigestEmailDataAccessInterface {
 
     private static final String APP_EMAIL = "newsbuddyapp@gmail.com";
     private final Gmail service;
@@ -0,0 +1,289 @@
+package data_access;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import use_case.share_article.ShareArticleEmailDataAccessInterface;
+import use_case.share_digest.ShareDigestEmailDataAccessInterface;
+
+/**
+ * Outbox in front of a mail sender. Sending a mail only appends it to a spool file and returns its id; a
+ * pool of workers delivers it in the background, retrying failures with a doubling delay up to a number of
+ * attempts, and the outcome is recorded in the spool too. Mails still pending when the process stops are
+ * delivered after the next start, so a mail whose delivery was cut short may arrive twice.
+ * The spool is a {@link MappedAppendLog}: appending copies into the mapping and survives a crash of the
+ * process, and the spool is forced to disk every second to survive a crash of the machine, on a thread of its
+ * own so that slow sends never delay it. Only one outbox can have a spool file open at a time.
+ * The status of a mail is known from when it is queued until the spool is next compacted, which happens
+ * once nothing is pending; a {@link FailureListener} hears of every mail the outbox gives up on.
+ */
+public class EmailOutbox implements ShareArticleEmailDataAccessInterface, ShareDigestEmailDataAccessInterface,
+        AutoCloseable {
+    public static final int DEFAULT_WORKER_COUNT = 2;
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 2000;
+    public static final String DEFAULT_SPOOL_FILE = "email-outbox.log";
+
+    private static final byte QUEUED = 1;
+    private static final byte DELIVERED = 2;
+    private static final byte FAILED = 3;
+    private static final long FORCE_INTERVAL_MILLIS = 1000;
+    private static final int COMPACTION_THRESHOLD_BYTES = 1024 * 1024;
+
+    private final ShareArticleEmailDataAccessInterface mailer;
+    private final MappedAppendLog spool;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Map<Long, OutgoingMail> pending = new ConcurrentHashMap<>();
+    private final Map<Long, DeliveryStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong nextId;
+    private final ScheduledExecutorService workers;
+    private final ScheduledExecutorService spoolFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "email-outbox-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile FailureListener failureListener;
+
+    public EmailOutbox(ShareArticleEmailDataAccessInterface mailer, Path spoolFile) throws IOException {
+        this(mailer, spoolFile, DEFAULT_WORKER_COUNT, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY_MILLIS);
+    }
+
+    public EmailOutbox(ShareArticleEmailDataAccessInterface mailer, Path spoolFile, int workerCount,
+                       int maxAttempts, long retryDelayMillis) throws IOException {
+        this.mailer = mailer;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        spool = new MappedAppendLog(spoolFile, 0);
+
+        final long[] lastId = {0};
+        spool.replay((type, payload) -> {
+            final long id = payload.getLong();
+            lastId[0] = Math.max(lastId[0], id);
+            if (type == QUEUED) {
+                pending.put(id, OutgoingMail.decode(id, payload));
+                statuses.put(id, DeliveryStatus.PENDING);
+            }
+            else {
+                pending.remove(id);
+                statuses.put(id, type == DELIVERED ? DeliveryStatus.DELIVERED : DeliveryStatus.FAILED);
+            }
+        });
+        nextId = new AtomicLong(lastId[0] + 1);
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newScheduledThreadPool(workerCount, runnable -> {
+            final Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        spoolFlusher.scheduleWithFixedDelay(spool::force, FORCE_INTERVAL_MILLIS, FORCE_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        for (OutgoingMail mail : pending.values()) {
+            workers.execute(() -> deliver(mail, 1));
+        }
+    }
+
+    /**
+     * Queues the mail for delivery and returns without waiting for it.
+     * @param subject subject
+     * @param body body
+     * @param recipient recipient
+     * @throws IOException if the mail cannot be added to the spool
+     */
+    @Override
+    public void sendMail(String subject, String body, String recipient) throws IOException {
+        enqueue(subject, body, recipient);
+    }
+
+    /**
+     * Queues a mail for delivery.
+     * @param subject subject
+     * @param body body
+     * @param recipient recipient
+     * @return the id to ask for the delivery status with
+     * @throws IOException if the mail cannot be added to the spool
+     */
+    public long enqueue(String subject, String body, String recipient) throws IOException {
+        final OutgoingMail mail = new OutgoingMail(nextId.getAndIncrement(), subject, body, recipient);
+        synchronized (this) {
+            spool.append(QUEUED, mail.encode());
+            pending.put(mail.id, mail);
+            statuses.put(mail.id, DeliveryStatus.PENDING);
+        }
+        workers.execute(() -> deliver(mail, 1));
+        return mail.id;
+    }
+
+    /**
+     * Sets the listener told of every mail the outbox gives up on from now on.
+     * @param failureListener the listener, or null for none
+     */
+    public void setFailureListener(FailureListener failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * Returns the delivery status of a mail.
+     * @param id the id returned when the mail was queued
+     * @return the status, or null if no mail with that id is known or it finished before the spool was last
+     *     compacted
+     */
+    public DeliveryStatus getStatus(long id) {
+        return statuses.get(id);
+    }
+
+    /**
+     * Returns the number of mails not delivered yet and not given up on.
+     * @return the number of pending mails
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void deliver(OutgoingMail mail, int attempt) {
+        try {
+            mailer.sendMail(mail.subject, mail.body, mail.recipient);
+            finish(mail, DELIVERED, DeliveryStatus.DELIVERED);
+        }
+        catch (Exception exception) {
+            if (workers.isShutdown()) {
+                // Closed while sending: the mail stays in the spool for the next start
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                System.err.println("Giving up on the email to " + mail.recipient + " after " + attempt
+                        + " attempts: " + exception.getMessage());
+                finish(mail, FAILED, DeliveryStatus.FAILED);
+                final FailureListener listener = failureListener;
+                if (listener != null) {
+                    listener.deliveryFailed(mail.subject, mail.recipient);
+                }
+            }
+            else {
+                workers.schedule(() -> deliver(mail, attempt + 1), retryDelayMillis << (attempt - 1),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized void finish(OutgoingMail mail, byte type, DeliveryStatus status) {
+        pending.remove(mail.id);
+        statuses.put(mail.id, status);
+        try {
+            spool.append(type, ByteBuffer.allocate(Long.BYTES).putLong(mail.id).array());
+            // Once nothing is pending the spool holds no mail that still has to be read back, and the
+            // statuses only have to last as long as the records they were read back from
+            if (pending.isEmpty() && spool.size() > COMPACTION_THRESHOLD_BYTES) {
+                spool.reset(spool.getGeneration() + 1);
+                statuses.clear();
+            }
+        }
+        catch (IOException ioException) {
+            System.err.println("Could not record the delivery of the email to " + mail.recipient
+                    + "; it may be sent again after a restart");
+        }
+    }
+
+    /**
+     * Stops the workers and the flusher and closes the spool. Mails still pending are delivered after the
+     * next start.
+     * @throws IOException if the spool cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        workers.shutdownNow();
+        spoolFlusher.shutdownNow();
+        synchronized (this) {
+            spool.close();
+        }
+    }
+
+    /**
+     * Listener told of mails that could not be delivered.
+     */
+    public interface FailureListener {
+        /**
+         * Called on a worker thread once the outbox has given up on a mail.
+         * @param subject the subject of the mail
+         * @param recipient the recipient of the mail
+         */
+        void deliveryFailed(String subject, String recipient);
+    }
+
+    /**
+     * Delivery status of a queued mail.
+     */
+    public enum DeliveryStatus {
+        PENDING,
+        DELIVERED,
+        FAILED
+    }
+
+    /**
+     * A mail in the outbox.
+     */
+    private static final class OutgoingMail {
+        private final long id;
+        private final String subject;
+        private final String body;
+        private final String recipient;
+
+        private OutgoingMail(long id, String subject, String body, String recipient) {
+            this.id = id;
+            this.subject = subject;
+            this.body = body;
+            this.recipient = recipient;
+        }
+
+        private byte[] encode() {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeLong(id);
+                writeString(output, subject);
+                writeString(output, body);
+                writeString(output, recipient);
+            }
+            catch (IOException ioException) {
+                // Writing to memory does not fail
+                throw new IllegalStateException(ioException);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static OutgoingMail decode(long id, ByteBuffer payload) {
+            return new OutgoingMail(id, readString(payload), readString(payload), readString(payload));
+        }
+
+        private static void writeString(DataOutputStream output, String value) throws IOException {
+            if (value == null) {
+                output.writeInt(-1);
+                return;
+            }
+            final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(utf8.length);
+            output.write(utf8);
+        }
+
+        private static String readString(ByteBuffer payload) {
+            final int length = payload.getInt();
+            if (length < 0) {
+                return null;
+            }
+            final byte[] utf8 = new byte[length];
+            payload.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -2,56 +2,109 @@ package data_access;
 
 import entity.Article;
 import entity.User;
+import entity.UserSnapshot;
 import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.login.LoginCredentials;
 import use_case.login.LoginUserDataAccessInterface;
 import use_case.logout.LogoutUserDataAccessInterface;
 import use_case.remove_category.RemoveCategoryDataAccessInterface;
+import use_case.save_article.SaveArticleAsyncDataAccessInterface;
 import use_case.save_article.SaveArticleDataAccessInterface;
 import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.saved_articles.SavedArticlesPage;
 import use_case.share_article.ShareArticleUserDataAccessInterface;
 import use_case.signup.SignupUserDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncDataAccessInterface;
 import use_case.unsave_article.UnsaveArticleDataAccessInterface;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * In-memory implementation of the DAO for storing user data. This implementation does
  * NOT persist data between runs of the program.
+ * Each user is an immutable {@link UserSnapshot} published through an atomic reference. A change builds a new
+ * snapshot and swaps it in, so readers never lock and never see a half-applied change, and the DAO can be
+ * shared by worker threads, for example in load tests.
  */
 public class InMemoryUserDataAccessObject implements SignupUserDataAccessInterface,
         LoginUserDataAccessInterface, LogoutUserDataAccessInterface, AddCategoryDataAccessInterface,
         RemoveCategoryDataAccessInterface,
         SaveArticleDataAccessInterface, UnsaveArticleDataAccessInterface, ShareArticleUserDataAccessInterface,
-        SavedArticlesDataAccessInterface {
+        SavedArticlesDataAccessInterface, SaveArticleAsyncDataAccessInterface,
+        UnsaveArticleAsyncDataAccessInterface {
 
-    private String currentUserName;
-    private final List<User> users = new ArrayList<User>();
+    private volatile String currentUserName;
+    private final Map<String, AtomicReference<UserSnapshot>> users = new ConcurrentHashMap<>();
 
     @Override
     public boolean existsByName(String name) {
-        for (User user : users) {
-            if (user.getName().equals(name)) {
-                return true;
-            }
-        }
-        return false;
+        return users.containsKey(name);
     }
 
     @Override
     public void save(User user) {
-        users.add(user);
+        users.put(user.getName(), new AtomicReference<>(UserSnapshot.of(user)));
     }
 
+    @Override
+    public boolean create(User user) {
+        return users.putIfAbsent(user.getName(), new AtomicReference<>(UserSnapshot.of(user))) == null;
+    }
+
+    /**
+     * Returns a copy of the user. Changing the copy does not change the stored user.
+     * @param name the username
+     * @return the user, or null if there is no such user
+     */
     @Override
     public User get(String name) {
-        for (User user : users) {
-            if (user.getName().equals(name)) {
-                return user;
-            }
+        final UserSnapshot snapshot = getSnapshot(name);
+        if (snapshot == null) {
+            return null;
         }
-        return null;
+        return snapshot.toUser();
+    }
+
+    /**
+     * Returns the current snapshot of the user.
+     * @param name the username
+     * @return the snapshot, or null if there is no such user
+     */
+    public UserSnapshot getSnapshot(String name) {
+        if (name == null) {
+            return null;
+        }
+        final AtomicReference<UserSnapshot> reference = users.get(name);
+        if (reference == null) {
+            return null;
+        }
+        return reference.get();
+    }
+
+    /**
+     * Returns the names of all stored users.
+     * @return the usernames
+     */
+    public Set<String> getUsernames() {
+        return new HashSet<>(users.keySet());
+    }
+
+    @Override
+    public LoginCredentials getCredentials(String name) {
+        final UserSnapshot snapshot = getSnapshot(name);
+        if (snapshot == null) {
+            return null;
+        }
+        return new LoginCredentials(snapshot.getName(), snapshot.getPassword(), snapshot.getCategories());
     }
 
     @Override
@@ -66,45 +119,139 @@ public class InMemoryUserDataAccessObject implements SignupUserDataAccessInterfa
 
     @Override
     public String getCurrentUser() {
-        if (currentUserName == null) {
-            return null;
-        }
         return currentUserName;
     }
 
     @Override
-    public void saveCategory(String category) {
-        final User currentUser = this.get(this.getCurrentUser());
-        currentUser.addCategory(category);
+    public void saveCategory(String username, String category) {
+        update(username, snapshot -> snapshot.withCategory(category));
+    }
+
+    @Override
+    public void removeCategory(String username, String category) {
+        update(username, snapshot -> snapshot.withoutCategory(category));
+    }
+
+    @Override
+    public List<String> getUserCategories(String username) {
+        return getSnapshot(username).getCategories();
     }
 
     @Override
-    public void removeCategory(String category) {
-        final User currentUser = this.get(this.getCurrentUser());
-        currentUser.deleteCategory(category);
+    public void saveArticle(String username, Article article) {
+        addArticle(username, article);
     }
 
     @Override
-    public List<String> getUserCategories() {
-        final User currentUser = this.get(this.getCurrentUser());
-        return currentUser.getCategories();
+    public void removeArticle(String username, Article article) {
+        deleteArticle(username, article);
     }
 
     @Override
-    public void saveArticle(Article article) {
-        final User currentUser = this.get(this.getCurrentUser());
-        currentUser.addArticle(article);
+    public CompletableFuture<Boolean> saveArticleAsync(String username, Article article) {
+        return CompletableFuture.completedFuture(addArticle(username, article));
     }
 
     @Override
-    public void removeArticle(Article article) {
-        final User currentUser = this.get(this.getCurrentUser());
-        currentUser.deleteArticle(article);
+    public CompletableFuture<Boolean> removeArticleAsync(String username, Article article) {
+        return CompletableFuture.completedFuture(deleteArticle(username, article));
     }
 
     @Override
-    public Map<String, List<Article>> getUserArticles() {
-        final User currentUser = this.get(this.getCurrentUser());
-        return currentUser.getArticles();
+    public boolean containsArticle(String username, long articleKey) {
+        final UserSnapshot snapshot = getSnapshot(username);
+        return snapshot != null && snapshot.containsArticle(articleKey);
+    }
+
+    /**
+     * Saves the article to the user's articles.
+     * @param username the username
+     * @param article the article
+     * @return true if the article was saved; false if there is no such user or it was already saved
+     */
+    boolean addArticle(String username, Article article) {
+        final UserSnapshot previous = update(username, snapshot -> snapshot.withArticle(article));
+        // Of two concurrent saves of the same article, only one sees a snapshot without it
+        return previous != null && !previous.containsArticle(article.getKey());
+    }
+
+    /**
+     * Removes the article from the user's articles.
+     * @param username the username
+     * @param article the article
+     * @return true if the article was removed; false if there is no such user or it was not saved
+     */
+    boolean deleteArticle(String username, Article article) {
+        final UserSnapshot previous = update(username, snapshot -> snapshot.withoutArticle(article.getKey()));
+        return previous != null && previous.containsArticle(article.getKey());
+    }
+
+    /**
+     * Applies a change to the user's snapshot, retrying if another thread changed it in the meantime.
+     * @param username the username
+     * @param change the change
+     * @return the snapshot the change was applied to, or null if there is no such user
+     */
+    private UserSnapshot update(String username, UnaryOperator<UserSnapshot> change) {
+        if (username == null) {
+            return null;
+        }
+        final AtomicReference<UserSnapshot> reference = users.get(username);
+        if (reference == null) {
+            return null;
+        }
+        return reference.getAndUpdate(change);
+    }
+
+    /**
+     * Returns the articles of the user by category.
+     * @param username the username
+     * @return the user's articles.
+     */
+    public Map<String, List<Article>> getUserArticles(String username) {
+        return getSnapshot(username).getArticles();
+    }
+
+    /**
+     * Returns one page of the user's saved articles, newest first. The page token is the offset of the page.
+     * @throws IllegalArgumentException if the page token is not a non-negative offset
+     */
+    @Override
+    public SavedArticlesPage getSavedArticlesPage(String username, int pageSize, String pageToken) {
+        // The token is the offset of the next page
+        int offset = 0;
+        if (pageToken != null) {
+            offset = parseOffset(pageToken);
+        }
+
+        final UserSnapshot snapshot = getSnapshot(username);
+        final List<Article> articles = new ArrayList<>();
+        if (snapshot != null) {
+            for (List<Article> categoryArticles : snapshot.getArticles().values()) {
+                articles.addAll(categoryArticles);
+            }
+        }
+        articles.sort(Comparator.comparing(Article::getDate, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        final int end = Math.min(offset + pageSize, articles.size());
+        String nextPageToken = null;
+        if (end < articles.size()) {
+            nextPageToken = Integer.toString(end);
+        }
+        return new SavedArticlesPage(new ArrayList<>(articles.subList(Math.min(offset, end), end)), nextPageToken);
+    }
+
+    private static int parseOffset(String pageToken) {
+        final int offset;
+        try {
+            offset = Integer.parseInt(pageToken);
+        }
+        catch (NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken, numberFormatException);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        }
+        return offset;
     }
 }
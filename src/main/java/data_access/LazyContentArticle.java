@@ -0,0 +1,106 @@
+package data_access;
+
+import entity.Article;
+import entity.ArticleKey;
+
+/**
+ * Saved article whose body stays in the content store until it is first asked for. Lists of saved articles
+ * only show the other fields, so most of these never load their body at all.
+ */
+public class LazyContentArticle implements Article {
+    private final String title;
+    private final String author;
+    private final String category;
+    private final String link;
+    private final String date;
+    private final String contentHash;
+    private final ArticleContentStore contentStore;
+    private String description;
+    private volatile String content;
+    private final long key;
+
+    public LazyContentArticle(String title, String author, String category, String link, String date,
+                              String description, String contentHash, ArticleContentStore contentStore) {
+        this.title = title;
+        this.author = author;
+        this.category = category;
+        this.link = link;
+        this.date = date;
+        this.description = description;
+        this.contentHash = contentHash;
+        this.contentStore = contentStore;
+        this.key = ArticleKey.ofLink(link);
+    }
+
+    @Override
+    public long getKey() {
+        return key;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String getAuthor() {
+        return author;
+    }
+
+    @Override
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the content of the article, loading it from the content store on first use.
+     * @return the content of the article.
+     */
+    @Override
+    public String getContent() {
+        String loaded = content;
+        if (loaded == null && contentHash != null) {
+            loaded = contentStore.get(contentHash);
+            content = loaded;
+        }
+        return loaded;
+    }
+
+    @Override
+    public String getLink() {
+        return link;
+    }
+
+    @Override
+    public String getDate() {
+        return date;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns the hash the body is stored under in the content store.
+     * @return the content hash, or null when the article has no body
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Article && key == ((Article) other).getKey();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+}
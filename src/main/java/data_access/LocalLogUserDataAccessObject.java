@@ -0,0 +1,406 @@
+package data_access;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import entity.Article;
+import entity.CommonArticle;
+import entity.CommonUser;
+import entity.User;
+import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.login.LoginCredentials;
+import use_case.login.LoginUserDataAccessInterface;
+import use_case.logout.LogoutUserDataAccessInterface;
+import use_case.remove_category.RemoveCategoryDataAccessInterface;
+import use_case.save_article.SaveArticleAsyncDataAccessInterface;
+import use_case.save_article.SaveArticleDataAccessInterface;
+import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.saved_articles.SavedArticlesPage;
+import use_case.share_article.ShareArticleUserDataAccessInterface;
+import use_case.signup.SignupUserDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleDataAccessInterface;
+
+/**
+ * DAO that needs no database server. All users live in memory, and every change is appended to a
+ * memory-mapped log in the given directory before the call returns. On a background thread the log is
+ * forced to disk every second and, once it has grown past a threshold, compacted: the whole state is
+ * written to a snapshot and the log starts over. Startup reads the snapshot and replays the log after it,
+ * so it takes time in proportion to the snapshot plus the changes since.
+ */
+public class LocalLogUserDataAccessObject implements AddCategoryDataAccessInterface,
+                                                     LoginUserDataAccessInterface,
+                                                     LogoutUserDataAccessInterface,
+                                                     RemoveCategoryDataAccessInterface,
+                                                     SignupUserDataAccessInterface,
+                                                     SaveArticleDataAccessInterface,
+                                                     UnsaveArticleDataAccessInterface,
+                                                     ShareArticleUserDataAccessInterface,
+                                                     SavedArticlesDataAccessInterface,
+                                                     SaveArticleAsyncDataAccessInterface,
+                                                     UnsaveArticleAsyncDataAccessInterface,
+                                                     AutoCloseable {
+    public static final int DEFAULT_COMPACTION_THRESHOLD_BYTES = 64 * 1024 * 1024;
+
+    private static final String LOG_FILE = "users.log";
+    private static final String SNAPSHOT_FILE = "users.snapshot";
+    private static final long FORCE_INTERVAL_MILLIS = 1000;
+
+    private static final byte PUT_USER = 1;
+    private static final byte ADD_CATEGORY = 2;
+    private static final byte REMOVE_CATEGORY = 3;
+    private static final byte SAVE_ARTICLE = 4;
+    private static final byte REMOVE_ARTICLE = 5;
+
+    private final InMemoryUserDataAccessObject state = new InMemoryUserDataAccessObject();
+    private final Path directory;
+    private final MappedAppendLog log;
+    private final int compactionThresholdBytes;
+    private final ScheduledExecutorService maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "local-log-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Opens the store in the given directory, recovering the state left by the previous run.
+     * @param directory the directory holding the snapshot and the log
+     * @param compactionThresholdBytes the log size after which the log is compacted
+     * @throws IOException if the files cannot be read or created
+     */
+    public LocalLogUserDataAccessObject(Path directory, int compactionThresholdBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+
+        final long snapshotGeneration = readSnapshot();
+        log = new MappedAppendLog(directory.resolve(LOG_FILE), snapshotGeneration);
+        if (log.getGeneration() == snapshotGeneration) {
+            log.replay(this::apply);
+        }
+        else {
+            // A crash between writing a snapshot and emptying the log leaves a log the snapshot already holds
+            log.reset(snapshotGeneration);
+        }
+
+        maintenance.scheduleWithFixedDelay(this::maintain, FORCE_INTERVAL_MILLIS, FORCE_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public LocalLogUserDataAccessObject(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    @Override
+    public boolean existsByName(String username) {
+        return state.existsByName(username);
+    }
+
+    @Override
+    public synchronized void save(User user) {
+        state.save(user);
+        append(PUT_USER, encodeUser(user));
+    }
+
+    @Override
+    public synchronized boolean create(User user) {
+        if (!state.create(user)) {
+            return false;
+        }
+        append(PUT_USER, encodeUser(user));
+        return true;
+    }
+
+    @Override
+    public User get(String username) {
+        return state.get(username);
+    }
+
+    @Override
+    public LoginCredentials getCredentials(String username) {
+        return state.getCredentials(username);
+    }
+
+    @Override
+    public void setCurrentUsername(String username) {
+        state.setCurrentUsername(username);
+    }
+
+    @Override
+    public String getCurrentUsername() {
+        return state.getCurrentUsername();
+    }
+
+    @Override
+    public String getCurrentUser() {
+        return state.getCurrentUser();
+    }
+
+    @Override
+    public synchronized void saveCategory(String username, String category) {
+        state.saveCategory(username, category);
+        append(ADD_CATEGORY, encode(username, category));
+    }
+
+    @Override
+    public synchronized void removeCategory(String username, String category) {
+        state.removeCategory(username, category);
+        append(REMOVE_CATEGORY, encode(username, category));
+    }
+
+    @Override
+    public List<String> getUserCategories(String username) {
+        return state.getUserCategories(username);
+    }
+
+    @Override
+    public void saveArticle(String username, Article article) {
+        saveArticleAsync(username, article);
+    }
+
+    @Override
+    public void removeArticle(String username, Article article) {
+        removeArticleAsync(username, article);
+    }
+
+    /**
+     * Saves the article. Appending to the mapped log needs no system call, so the returned future is
+     * already complete.
+     */
+    @Override
+    public synchronized CompletableFuture<Boolean> saveArticleAsync(String username, Article article) {
+        final boolean saved = state.addArticle(username, article);
+        if (saved) {
+            append(SAVE_ARTICLE, encodeArticle(username, article));
+        }
+        return CompletableFuture.completedFuture(saved);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> removeArticleAsync(String username, Article article) {
+        final boolean removed = state.deleteArticle(username, article);
+        if (removed) {
+            append(REMOVE_ARTICLE, encode(username, article.getLink()));
+        }
+        return CompletableFuture.completedFuture(removed);
+    }
+
+    @Override
+    public boolean containsArticle(String username, long articleKey) {
+        return state.containsArticle(username, articleKey);
+    }
+
+    @Override
+    public SavedArticlesPage getSavedArticlesPage(String username, int pageSize, String pageToken) {
+        return state.getSavedArticlesPage(username, pageSize, pageToken);
+    }
+
+    /**
+     * Writes the whole state to a new snapshot and empties the log. Changes wait while it runs.
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized void compact() throws IOException {
+        final long generation = log.getGeneration() + 1;
+        final Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(Long.BYTES).putLong(0, generation);
+            writeFully(snapshot, header);
+            for (String username : state.getUsernames()) {
+                final User user = state.get(username);
+                writeFully(snapshot, ByteBuffer.wrap(MappedAppendLog.frame(PUT_USER, encodeUser(user))));
+            }
+            snapshot.force(true);
+        }
+        // The rename is atomic, so a crash leaves either the old snapshot and log or the new snapshot
+        Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        log.reset(generation);
+    }
+
+    /**
+     * Returns the number of bytes in the log since the last compaction.
+     * @return the size of the log
+     */
+    public int getLogSize() {
+        return log.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        maintenance.shutdownNow();
+        log.close();
+    }
+
+    private void maintain() {
+        try {
+            log.force();
+            if (log.size() > compactionThresholdBytes) {
+                compact();
+            }
+        }
+        catch (IOException ioException) {
+            System.err.println("Could not maintain the local store: " + ioException.getMessage());
+        }
+    }
+
+    private void append(byte type, byte[] payload) {
+        try {
+            log.append(type, payload);
+        }
+        catch (IOException ioException) {
+            throw new UncheckedIOException("Could not write to the local store", ioException);
+        }
+    }
+
+    /**
+     * Loads the snapshot, if there is one.
+     * @return the generation of the log that continues the snapshot
+     * @throws IOException if the snapshot cannot be read
+     */
+    private long readSnapshot() throws IOException {
+        final Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshotFile)) {
+            return 0;
+        }
+        final ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        final long generation = snapshot.getLong();
+        MappedAppendLog.readRecords(snapshot, this::apply);
+        return generation;
+    }
+
+    private void apply(byte type, ByteBuffer payload) {
+        final String username = readString(payload);
+        switch (type) {
+            case PUT_USER:
+                state.save(decodeUser(username, payload));
+                break;
+            case ADD_CATEGORY:
+                state.saveCategory(username, readString(payload));
+                break;
+            case REMOVE_CATEGORY:
+                state.removeCategory(username, readString(payload));
+                break;
+            case SAVE_ARTICLE:
+                state.addArticle(username, readArticle(payload));
+                break;
+            case REMOVE_ARTICLE:
+                state.deleteArticle(username, new CommonArticle(null, null, null, null,
+                        readString(payload), null, null));
+                break;
+            default:
+                throw new IllegalStateException("Unknown record type " + type);
+        }
+    }
+
+    private static byte[] encode(String... values) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (String value : values) {
+            writeString(bytes, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeArticle(String username, Article article) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeString(bytes, username);
+        writeArticle(bytes, article);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeUser(User user) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeString(bytes, user.getName());
+        writeString(bytes, user.getPassword());
+        writeInt(bytes, user.getCategories().size());
+        for (String category : user.getCategories()) {
+            writeString(bytes, category);
+        }
+        final List<Article> articles = new ArrayList<>();
+        for (List<Article> categoryArticles : user.getArticles().values()) {
+            articles.addAll(categoryArticles);
+        }
+        writeInt(bytes, articles.size());
+        for (Article article : articles) {
+            writeArticle(bytes, article);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static User decodeUser(String username, ByteBuffer payload) {
+        final String password = readString(payload);
+        final int categoryCount = payload.getInt();
+        final List<String> categories = new ArrayList<>(categoryCount);
+        for (int index = 0; index < categoryCount; index++) {
+            categories.add(readString(payload));
+        }
+        final int articleCount = payload.getInt();
+        final Map<String, List<Article>> articles = new HashMap<>();
+        for (int index = 0; index < articleCount; index++) {
+            final Article article = readArticle(payload);
+            articles.computeIfAbsent(article.getCategory(), category -> new ArrayList<>()).add(article);
+        }
+        return new CommonUser(username, password, categories, articles);
+    }
+
+    private static void writeArticle(ByteArrayOutputStream bytes, Article article) {
+        writeString(bytes, article.getTitle());
+        writeString(bytes, article.getAuthor());
+        writeString(bytes, article.getCategory());
+        writeString(bytes, article.getContent());
+        writeString(bytes, article.getLink());
+        writeString(bytes, article.getDate());
+        writeString(bytes, article.getDescription());
+    }
+
+    private static Article readArticle(ByteBuffer payload) {
+        return new CommonArticle(readString(payload), readString(payload), readString(payload),
+                readString(payload), readString(payload), readString(payload), readString(payload));
+    }
+
+    private static void writeString(ByteArrayOutputStream bytes, String value) {
+        if (value == null) {
+            writeInt(bytes, -1);
+            return;
+        }
+        final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes, encoded.length);
+        bytes.writeBytes(encoded);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        final int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+                StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    private static void writeInt(ByteArrayOutputStream bytes, int value) {
+        bytes.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
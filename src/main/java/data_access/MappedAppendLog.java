@@ -0,0 +1,222 @@
+package data_access;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of typed records in a memory-mapped file. Appending copies the record into the mapping,
+ * so it costs no system call; the operating system writes the pages back, and {@link #force()} waits for
+ * that. A record is stored as its payload length, its type, the payload and a CRC-32 of type and payload.
+ * Reading stops at the first record that is incomplete or fails its checksum, which is where a crash
+ * in the middle of an append leaves the log. Payloads must not be empty.
+ * An existing log must be replayed before anything is appended to it. The file is locked while the log is
+ * open, so a second process, or a second log in the same process, cannot open it and overwrite its records.
+ */
+public final class MappedAppendLog implements AutoCloseable {
+    private static final int MAGIC = 0x4e4c4f47;
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    // Length, type and checksum around each payload
+    private static final int RECORD_OVERHEAD = Integer.BYTES + 1 + Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 4 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private int position;
+    private boolean replayed;
+
+    /**
+     * Opens the log, creating an empty one of the given generation if the file does not exist.
+     * @param file the log file
+     * @param generation the generation of a newly created log
+     * @throws IOException if the file cannot be opened or mapped, or another log has it open
+     */
+    public MappedAppendLog(Path file, long generation) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        lock(file);
+        final boolean created = channel.size() < HEADER_SIZE;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), INITIAL_CAPACITY));
+        if (created || buffer.getInt(0) != MAGIC) {
+            reset(generation);
+        }
+        else {
+            this.generation = buffer.getLong(Integer.BYTES);
+            position = HEADER_SIZE;
+        }
+    }
+
+    private void lock(Path file) throws IOException {
+        FileLock lock = null;
+        try {
+            lock = channel.tryLock();
+        }
+        catch (OverlappingFileLockException overlappingFileLockException) {
+            // Held by another log in this process; handled below like a lock held by another process
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException(file + " is in use by another log");
+        }
+        // Closing the channel releases the lock
+    }
+
+    /**
+     * Returns the generation written in the header, which tells a log apart from the logs before and after
+     * a compaction.
+     * @return the generation of the log
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of bytes in use, header included.
+     * @return the size of the log
+     */
+    public synchronized int size() {
+        return position;
+    }
+
+    /**
+     * Passes every intact record to the handler, in the order they were appended, and positions the log
+     * after the last of them. Anything after that is a torn append, and the file is cut off before it.
+     * @param handler the handler of the records
+     * @throws IOException if the file cannot be truncated
+     */
+    public synchronized void replay(RecordHandler handler) throws IOException {
+        position = readRecords(buffer.duplicate().position(HEADER_SIZE), handler);
+        // Truncating takes the same time however large the mapping is, and mapping the file again
+        // extends it with zeros, so appends overwrite no old bytes
+        final int capacity = buffer.capacity();
+        channel.truncate(position);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        replayed = true;
+    }
+
+    /**
+     * Appends a record.
+     * @param type the type of the record
+     * @param payload the payload of the record
+     * @throws IOException if the log cannot grow
+     */
+    public synchronized void append(byte type, byte[] payload) throws IOException {
+        if (!replayed) {
+            throw new IllegalStateException("The log must be replayed before appending to it");
+        }
+        final int recordSize = RECORD_OVERHEAD + payload.length;
+        ensureCapacity(position + recordSize);
+        // The length goes in last, so a reader never sees a length before its record is complete
+        buffer.put(position + Integer.BYTES, type);
+        buffer.put(position + Integer.BYTES + 1, payload);
+        buffer.putInt(position + Integer.BYTES + 1 + payload.length, checksum(type, payload));
+        buffer.putInt(position, payload.length);
+        position += recordSize;
+    }
+
+    /**
+     * Empties the log and starts a new generation.
+     * @param newGeneration the generation of the emptied log
+     * @throws IOException if the file cannot be truncated
+     */
+    public synchronized void reset(long newGeneration) throws IOException {
+        // Truncating drops the old records, so none of them can be read back after the new ones
+        channel.truncate(0);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+        buffer.putInt(0, MAGIC);
+        buffer.putLong(Integer.BYTES, newGeneration);
+        generation = newGeneration;
+        position = HEADER_SIZE;
+        replayed = true;
+    }
+
+    /**
+     * Waits until every appended record is on disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (required > buffer.capacity()) {
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity *= 2;
+            }
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("Log is full");
+            }
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    /**
+     * Reads records from a buffer positioned at the first record until the first one that is not intact.
+     * @param records the buffer
+     * @param handler the handler of the records
+     * @return the position after the last intact record
+     */
+    static int readRecords(ByteBuffer records, RecordHandler handler) {
+        int position = records.position();
+        while (records.limit() - position >= RECORD_OVERHEAD) {
+            final int length = records.getInt(position);
+            if (length <= 0 || length > records.limit() - position - RECORD_OVERHEAD) {
+                break;
+            }
+            final byte type = records.get(position + Integer.BYTES);
+            final byte[] payload = new byte[length];
+            records.get(position + Integer.BYTES + 1, payload);
+            if (records.getInt(position + Integer.BYTES + 1 + length) != checksum(type, payload)) {
+                break;
+            }
+            handler.handle(type, ByteBuffer.wrap(payload));
+            position += RECORD_OVERHEAD + length;
+        }
+        return position;
+    }
+
+    /**
+     * Writes the record framing around a payload, as used in the log, into a plain buffer.
+     * @param type the type of the record
+     * @param payload the payload of the record
+     * @return the framed record
+     */
+    static byte[] frame(byte type, byte[] payload) {
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length);
+        record.putInt(payload.length).put(type).put(payload).putInt(checksum(type, payload));
+        return record.array();
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Handler of the records read from a log.
+     */
+    public interface RecordHandler {
+        /**
+         * Handles one record.
+         * @param type the type of the record
+         * @param payload the payload of the record
+         */
+        void handle(byte type, ByteBuffer payload);
+    }
+}
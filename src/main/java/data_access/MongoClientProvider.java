@@ -0,0 +1,163 @@
+package data_access;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.ServerApi;
+import com.mongodb.ServerApiVersion;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+
+/**
+ * Owns the one MongoClient shared by every MongoDB DAO in the application. The client is created with
+ * explicit pool and socket limits, connects in the background, and is closed when the JVM exits.
+ * DAOs built on the reactive-streams driver share a second client with the same settings, created on
+ * first use.
+ */
+public final class MongoClientProvider {
+    public static final String DATABASE_NAME = "Project";
+
+    private static final int MAX_POOL_SIZE = 20;
+    private static final int MIN_POOL_SIZE = 2;
+    private static final long MAX_WAIT_TIME_SECONDS = 5;
+    private static final long MAX_CONNECTION_IDLE_SECONDS = 60;
+    private static final long CONNECT_TIMEOUT_SECONDS = 5;
+    private static final long READ_TIMEOUT_SECONDS = 15;
+    private static final long SERVER_SELECTION_TIMEOUT_SECONDS = 10;
+
+    private static MongoClientProvider instance;
+
+    private final MongoClientSettings settings;
+    private final MongoClient mongoClient;
+    private com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient;
+    private final ConnectionPoolStatistics statistics = new ConnectionPoolStatistics();
+    private final List<Runnable> closeTasks = new CopyOnWriteArrayList<>();
+
+    private MongoClientProvider(String connectionString) {
+        final ServerApi serverApi = ServerApi.builder()
+                .version(ServerApiVersion.V1)
+                .build();
+
+        settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString))
+                .serverApi(serverApi)
+                .applyToConnectionPoolSettings(builder -> builder
+                        .maxSize(MAX_POOL_SIZE)
+                        .minSize(MIN_POOL_SIZE)
+                        .maxWaitTime(MAX_WAIT_TIME_SECONDS, TimeUnit.SECONDS)
+                        .maxConnectionIdleTime(MAX_CONNECTION_IDLE_SECONDS, TimeUnit.SECONDS)
+                        .addConnectionPoolListener(statistics))
+                .applyToSocketSettings(builder -> builder
+                        .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                        .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .applyToClusterSettings(builder -> builder
+                        .serverSelectionTimeout(SERVER_SELECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .build();
+
+        // Creating the client does not block; connections are opened by the driver in the background
+        mongoClient = MongoClients.create(settings);
+    }
+
+    /**
+     * Returns the shared provider, creating the client and starting its warm-up on first use.
+     * @return the shared provider
+     */
+    public static synchronized MongoClientProvider getInstance() {
+        if (instance == null) {
+            instance = new MongoClientProvider(loadConnectionString());
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "mongo-client-shutdown"));
+            instance.warmUp();
+        }
+        return instance;
+    }
+
+    private static String loadConnectionString() {
+        final Properties properties = new Properties();
+        try (BufferedReader reader = new BufferedReader(new FileReader(".env"))) {
+            properties.load(reader);
+            return properties.getProperty("MONGO_API_KEY");
+        }
+        catch (IOException ioException) {
+            ioException.printStackTrace();
+            throw new RuntimeException("Failed to load API key from .env file");
+        }
+    }
+
+    /**
+     * Returns the application database.
+     * @return the application database
+     */
+    public MongoDatabase getDatabase() {
+        return mongoClient.getDatabase(DATABASE_NAME);
+    }
+
+    /**
+     * Returns the application database on the reactive-streams client, creating that client on first use.
+     * @return the application database for non-blocking access
+     */
+    public synchronized com.mongodb.reactivestreams.client.MongoDatabase getReactiveDatabase() {
+        if (reactiveMongoClient == null) {
+            reactiveMongoClient = com.mongodb.reactivestreams.client.MongoClients.create(settings);
+        }
+        return reactiveMongoClient.getDatabase(DATABASE_NAME);
+    }
+
+    /**
+     * Returns the live statistics of the connection pool.
+     * @return the connection pool statistics
+     */
+    public ConnectionPoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Pings the deployment on a background thread, so the first request does not pay for server
+     * selection and the TLS handshake.
+     * @return a future that completes once the ping returned or failed
+     */
+    public CompletableFuture<Void> warmUp() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                getDatabase().runCommand(new Document("ping", 1));
+                System.out.println("Pinged your deployment. You successfully connected to MongoDB!");
+            }
+            catch (MongoException mongoException) {
+                System.err.println("Could not reach MongoDB during warm-up: " + mongoException.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Registers a task to run before the client is closed, such as flushing buffered writes.
+     * @param task the task to run
+     */
+    public void beforeClose(Runnable task) {
+        closeTasks.add(task);
+    }
+
+    /**
+     * Runs the registered close tasks, then closes the clients and all pooled connections.
+     */
+    public void close() {
+        for (Runnable task : closeTasks) {
+            task.run();
+        }
+        mongoClient.close();
+        synchronized (this) {
+            if (reactiveMongoClient != null) {
+                reactiveMongoClient.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package data_access;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import entity.Article;
+import entity.CommonArticle;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import use_case.save_article.SaveArticleDataAccessInterface;
+import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.saved_articles.SavedArticlesPage;
+import use_case.unsave_article.UnsaveArticleDataAccessInterface;
+
+/**
+ * DAO keeping saved articles in their own MongoDB collection, one document per saved article, instead of
+ * in arrays embedded in the user document. Reading a user's categories or password no longer loads their
+ * whole library, and the size of a library is no longer bounded by the 16 MB document limit.
+ * Article bodies are kept in an {@link ArticleContentStore} and only loaded when one is read.
+ * Every operation names the user it is for, so one instance serves all users.
+ */
+public class MongoDBSavedArticleDataAccessObject implements SaveArticleDataAccessInterface,
+                                                            UnsaveArticleDataAccessInterface,
+                                                            SavedArticlesDataAccessInterface {
+    static final String COLLECTION_NAME = "SavedArticle";
+    static final String USER = "user";
+    private static final String CATEGORY = "category";
+    private static final String DATE = "date";
+    static final String LINK_HASH = "linkHash";
+    private static final String CONTENT = "content";
+    private static final String CONTENT_HASH = "contentHash";
+    private static final String EMBEDDED_ARTICLES = "articles";
+    private static final String TOKEN_SEPARATOR = ":";
+
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private final MongoCollection<Document> savedArticleCollection;
+    private final MongoCollection<Document> userCollection;
+    private final ArticleContentStore contentStore;
+    private final Set<String> migratedUsers = ConcurrentHashMap.newKeySet();
+
+    public MongoDBSavedArticleDataAccessObject(MongoDatabase database) {
+        this(database, new ArticleContentStore(database));
+    }
+
+    public MongoDBSavedArticleDataAccessObject(MongoDatabase database, ArticleContentStore contentStore) {
+        this.savedArticleCollection = database.getCollection(COLLECTION_NAME);
+        this.userCollection = database.getCollection("User");
+        this.contentStore = contentStore;
+
+        // Creating an index that already exists is a no-op, but still a round trip, so keep it off startup
+        CompletableFuture.runAsync(this::createIndexes).exceptionally(throwable -> {
+            System.err.println("Could not create saved article indexes: " + throwable.getMessage());
+            return null;
+        });
+    }
+
+    private void createIndexes() {
+        // Listing a user's library by category and date, and finding one saved article of a user
+        savedArticleCollection.createIndex(Indexes.compoundIndex(Indexes.ascending(USER, CATEGORY),
+                Indexes.descending(DATE)));
+        savedArticleCollection.createIndex(Indexes.ascending(USER, LINK_HASH), new IndexOptions().unique(true));
+        // Paging through a user's library newest first
+        savedArticleCollection.createIndex(Indexes.compoundIndex(Indexes.ascending(USER),
+                Indexes.descending(DATE, LINK_HASH)));
+    }
+
+    /**
+     * Saves the article to the user's articles. Saving an article that is already saved does nothing.
+     *
+     * @param username the user saving the article
+     * @param article the article to save
+     */
+    @Override
+    public void saveArticle(String username, Article article) {
+        migrateEmbeddedArticles(username);
+        try {
+            savedArticleCollection.insertOne(toDocument(username, article, storeContent(article)));
+        }
+        catch (MongoWriteException mongoWriteException) {
+            if (mongoWriteException.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw mongoWriteException;
+            }
+        }
+    }
+
+    /**
+     * Removes the article from the user's articles.
+     *
+     * @param username the user removing the article
+     * @param article the article to remove
+     */
+    @Override
+    public void removeArticle(String username, Article article) {
+        migrateEmbeddedArticles(username);
+        savedArticleCollection.deleteOne(Filters.and(Filters.eq(USER, username),
+                Filters.eq(LINK_HASH, article.getKey())));
+    }
+
+    /**
+     * Applies queued article changes of one user in a single unordered bulk write. Articles that are
+     * already saved are skipped.
+     *
+     * @param username the user whose articles change
+     * @param saved the articles to save
+     * @param removed the articles to remove
+     */
+    public void applyArticleChanges(String username, Collection<Article> saved, Collection<Article> removed) {
+        migrateEmbeddedArticles(username);
+        final List<WriteModel<Document>> writes = new ArrayList<>();
+        final Map<String, String> contentByHash = new HashMap<>();
+        for (Article article : saved) {
+            writes.add(new InsertOneModel<>(toDocument(username, article, contentHash(article, contentByHash))));
+        }
+        for (Article article : removed) {
+            writes.add(new DeleteOneModel<>(Filters.and(Filters.eq(USER, username),
+                    Filters.eq(LINK_HASH, article.getKey()))));
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+        // Bodies go first, so a saved article never refers to a body that is not stored
+        contentStore.putAll(contentByHash);
+
+        try {
+            savedArticleCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        }
+        catch (MongoBulkWriteException mongoBulkWriteException) {
+            for (BulkWriteError error : mongoBulkWriteException.getWriteErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw mongoBulkWriteException;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the user saved the article with the given key. This is one lookup on the
+     * unique (user, linkHash) index, however many articles the user has saved.
+     *
+     * @param username the user to check
+     * @param articleKey the key of the article
+     * @return whether the article is saved
+     */
+    @Override
+    public boolean containsArticle(String username, long articleKey) {
+        migrateEmbeddedArticles(username);
+        return savedArticleCollection.find(Filters.and(Filters.eq(USER, username),
+                        Filters.eq(LINK_HASH, articleKey)))
+                .projection(Projections.include("_id"))
+                .first() != null;
+    }
+
+    /**
+     * Returns one page of the user's saved articles, newest first, with articles without a date last. Pages
+     * are read by key from the index on (user, date, linkHash), so every page costs the same however many
+     * articles the user has saved.
+     *
+     * @param username the user whose articles to get
+     * @param pageSize the maximum number of articles on the page
+     * @param pageToken the continuation token of a previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the page token was not handed out by this DAO
+     */
+    @Override
+    public SavedArticlesPage getSavedArticlesPage(String username, int pageSize, String pageToken) {
+        Bson filter = Filters.eq(USER, username);
+        if (pageToken != null) {
+            filter = Filters.and(filter, startAfter(pageToken));
+        }
+        migrateEmbeddedArticles(username);
+
+        final List<Document> articleDocs = savedArticleCollection.find(filter)
+                .sort(Sorts.descending(DATE, LINK_HASH))
+                .limit(pageSize + 1)
+                .into(new ArrayList<>());
+
+        String nextPageToken = null;
+        if (articleDocs.size() > pageSize) {
+            articleDocs.remove(pageSize);
+            final Document last = articleDocs.get(pageSize - 1);
+            nextPageToken = pageToken(last.getLong(LINK_HASH), last.getString(DATE));
+        }
+
+        final List<Article> articles = new ArrayList<>();
+        for (Document articleDoc : articleDocs) {
+            articles.add(toArticle(articleDoc));
+        }
+        return new SavedArticlesPage(articles, nextPageToken);
+    }
+
+    /**
+     * Encodes the position of an article as a page token. An article without a date has no date part.
+     * @param linkHash the link hash of the article
+     * @param date the date of the article, or null
+     * @return the page token
+     */
+    static String pageToken(long linkHash, String date) {
+        String position = Long.toString(linkHash);
+        if (date != null) {
+            position += TOKEN_SEPARATOR + date;
+        }
+        return Base64.getUrlEncoder().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a page token into the filter for the articles strictly after its position. A descending sort
+     * puts missing dates last, and range filters never match them, so they are added explicitly.
+     * @param pageToken the page token
+     * @return the filter
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    private static Bson startAfter(String pageToken) {
+        final String[] position;
+        final long lastLinkHash;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8)
+                    .split(TOKEN_SEPARATOR, 2);
+            lastLinkHash = Long.parseLong(position[0]);
+        }
+        catch (IllegalArgumentException illegalArgumentException) {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken, illegalArgumentException);
+        }
+
+        if (position.length == 1) {
+            return Filters.and(Filters.eq(DATE, null), Filters.lt(LINK_HASH, lastLinkHash));
+        }
+        final String lastDate = position[1];
+        return Filters.or(Filters.lt(DATE, lastDate),
+                Filters.and(Filters.eq(DATE, lastDate), Filters.lt(LINK_HASH, lastLinkHash)),
+                Filters.eq(DATE, null));
+    }
+
+    /**
+     * Moves articles still embedded in the user document into the saved article collection, once per user.
+     * Re-running it is harmless since articles are upserted by their link.
+     * @param username the user whose articles to move
+     */
+    @SuppressWarnings("unchecked")
+    private void migrateEmbeddedArticles(String username) {
+        if (username == null || username.isEmpty() || migratedUsers.contains(username)) {
+            return;
+        }
+
+        final Document userDoc = userCollection.find(Filters.eq("name", username))
+                .projection(Projections.include(EMBEDDED_ARTICLES)).first();
+        if (userDoc != null && userDoc.get(EMBEDDED_ARTICLES) instanceof Map) {
+            final Map<String, List<Document>> embedded = userDoc.get(EMBEDDED_ARTICLES, Map.class);
+            final List<WriteModel<Document>> upserts = new ArrayList<>();
+            final Map<String, String> contentByHash = new HashMap<>();
+            for (List<Document> articleDocs : embedded.values()) {
+                for (Document articleDoc : articleDocs) {
+                    final Article article = toArticle(articleDoc);
+                    final Document document = toDocument(username, article, contentHash(article, contentByHash));
+                    upserts.add(new ReplaceOneModel<>(Filters.and(Filters.eq(USER, username),
+                            Filters.eq(LINK_HASH, document.getLong(LINK_HASH))), document,
+                            new ReplaceOptions().upsert(true)));
+                }
+            }
+            if (!upserts.isEmpty()) {
+                contentStore.putAll(contentByHash);
+                savedArticleCollection.bulkWrite(upserts);
+                // Keep an empty map so readers of the user document still find the field
+                final Bson update = Updates.set(EMBEDDED_ARTICLES, new Document());
+                userCollection.updateOne(Filters.eq("name", username), update);
+            }
+        }
+        migratedUsers.add(username);
+    }
+
+    /**
+     * Moves bodies still stored inline in saved article documents into the content store. The documents
+     * are streamed through a cursor and rewritten in batches, so the job runs in constant memory however
+     * large the collection is, and it can be stopped and started again at any point.
+     * @return the number of saved articles whose body was moved
+     */
+    public long migrateInlineContent() {
+        long migrated = 0;
+        final Map<String, String> contentByHash = new HashMap<>();
+        final List<WriteModel<Document>> updates = new ArrayList<>();
+        try (MongoCursor<Document> cursor = savedArticleCollection.find(Filters.exists(CONTENT))
+                .projection(Projections.include(CONTENT))
+                .batchSize(MIGRATION_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                final Document articleDoc = cursor.next();
+                final String content = articleDoc.getString(CONTENT);
+                String hash = null;
+                if (content != null) {
+                    hash = ArticleContentStore.hash(content);
+                    contentByHash.put(hash, content);
+                }
+                updates.add(new UpdateOneModel<>(Filters.eq("_id", articleDoc.get("_id")),
+                        Updates.combine(Updates.set(CONTENT_HASH, hash), Updates.unset(CONTENT))));
+                if (updates.size() == MIGRATION_BATCH_SIZE) {
+                    migrated += writeMigrationBatch(contentByHash, updates);
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            migrated += writeMigrationBatch(contentByHash, updates);
+        }
+        return migrated;
+    }
+
+    private int writeMigrationBatch(Map<String, String> contentByHash, List<WriteModel<Document>> updates) {
+        contentStore.putAll(contentByHash);
+        savedArticleCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        final int written = updates.size();
+        contentByHash.clear();
+        updates.clear();
+        return written;
+    }
+
+    private String storeContent(Article article) {
+        if (article instanceof LazyContentArticle) {
+            return ((LazyContentArticle) article).getContentHash();
+        }
+        return contentStore.put(article.getContent());
+    }
+
+    /**
+     * Returns the hash the article body is stored under, collecting bodies that still need storing.
+     * @param article the article
+     * @param contentByHash the bodies to store, by hash
+     * @return the content hash, or null when the article has no body
+     */
+    private static String contentHash(Article article, Map<String, String> contentByHash) {
+        // A lazily loaded body is stored already; reading it just to hash it again would defeat the point
+        if (article instanceof LazyContentArticle) {
+            return ((LazyContentArticle) article).getContentHash();
+        }
+        final String content = article.getContent();
+        if (content == null) {
+            return null;
+        }
+        final String hash = ArticleContentStore.hash(content);
+        contentByHash.put(hash, content);
+        return hash;
+    }
+
+    static Document toDocument(String username, Article article, String contentHash) {
+        return new Document()
+                .append(USER, username)
+                .append(CATEGORY, article.getCategory())
+                .append(DATE, article.getDate())
+                .append(LINK_HASH, article.getKey())
+                .append("title", article.getTitle())
+                .append("author", article.getAuthor())
+                .append(CONTENT_HASH, contentHash)
+                .append("link", article.getLink())
+                .append("description", article.getDescription());
+    }
+
+    private Article toArticle(Document articleDoc) {
+        // Documents the migration has not reached yet still carry their body inline
+        if (articleDoc.containsKey(CONTENT)) {
+            return new CommonArticle(articleDoc.get("title", String.class),
+                    articleDoc.get("author", String.class),
+                    articleDoc.get(CATEGORY, String.class),
+                    articleDoc.get(CONTENT, String.class),
+                    articleDoc.get("link", String.class),
+                    articleDoc.get(DATE, String.class),
+                    articleDoc.get("description", String.class));
+        }
+        return new LazyContentArticle(articleDoc.get("title", String.class),
+                articleDoc.get("author", String.class),
+                articleDoc.get(CATEGORY, String.class),
+                articleDoc.get("link", String.class),
+                articleDoc.get(DATE, String.class),
+                articleDoc.get("description", String.class),
+                articleDoc.get(CONTENT_HASH, String.class),
+                contentStore);
+    }
+}
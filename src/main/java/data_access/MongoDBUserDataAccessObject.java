@@ -1,36 +1,39 @@
 package data_access;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import entity.Article;
 import entity.CommonArticle;
 import entity.CommonUser;
 import entity.User;
 import org.bson.conversions.Bson;
 import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.login.LoginCredentials;
 import use_case.login.LoginUserDataAccessInterface;
 import use_case.logout.LogoutUserDataAccessInterface;
 import use_case.remove_category.RemoveCategoryDataAccessInterface;
 import use_case.save_article.SaveArticleDataAccessInterface;
-import use_case.saved_articles.SavedArticlesDataAccessInterface;
 import use_case.share_article.ShareArticleUserDataAccessInterface;
 import use_case.signup.SignupUserDataAccessInterface;
 
-import com.mongodb.ConnectionString;
-import com.mongodb.MongoClientSettings;
-import com.mongodb.ServerApi;
-import com.mongodb.ServerApiVersion;
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
 import org.bson.Document;
 import use_case.unsave_article.UnsaveArticleDataAccessInterface;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * DAO using the MongoDB API.
@@ -42,47 +45,97 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
                                                     SignupUserDataAccessInterface,
                                                     SaveArticleDataAccessInterface,
                                                     UnsaveArticleDataAccessInterface,
-                                                    ShareArticleUserDataAccessInterface,
-                                                    SavedArticlesDataAccessInterface {
-    private static String connectionString;
+                                                    ShareArticleUserDataAccessInterface {
+    // Reads that only need part of the user document should not transfer the saved articles
+    private static final Bson ID_ONLY = Projections.include("_id");
+    private static final Bson NAME_ONLY = Projections.fields(Projections.include("name"), Projections.excludeId());
+    private static final Bson CATEGORIES_ONLY = Projections.fields(Projections.include("categories"),
+            Projections.excludeId());
+    private static final Bson CREDENTIALS_ONLY = Projections.fields(
+            Projections.include("name", "password", "categories"), Projections.excludeId());
+    private static final Bson WITHOUT_ARTICLES = Projections.exclude("articles");
+    private static final long EXPECTED_USERNAMES = 100_000;
+    private static final double USERNAME_FALSE_POSITIVE_RATE = 0.01;
+    private static final long USERNAME_RELOAD_NANOS = TimeUnit.MINUTES.toNanos(5);
+
     private String currentUsername;
     private final MongoCollection<Document> userCollection;
+    private final CompletableFuture<Void> nameIndex;
+    // Null until the registered names have been loaded; replaced by a fresh filter on every reload
+    private volatile UsernameBloomFilter usernameFilter;
+    // The filter being filled by a reload, which names created in the meantime go into as well
+    private volatile UsernameBloomFilter loadingUsernameFilter;
+    private volatile long usernamesLoadedAtNanos;
+    private final AtomicBoolean usernamesLoading = new AtomicBoolean();
+    private final AtomicLong filteredNegativeCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
 
-    static {
-        connectionString = loadApiKey();
+    public MongoDBUserDataAccessObject() {
+        this(MongoClientProvider.getInstance().getDatabase());
     }
 
-    public MongoDBUserDataAccessObject() {
+    public MongoDBUserDataAccessObject(MongoDatabase database) {
         currentUsername = "";
+        userCollection = database.getCollection("User");
 
-        // Connection String to connect to database
+        // Created in the background at startup; the first signup waits for it
+        nameIndex = CompletableFuture.runAsync(() -> userCollection.createIndex(Indexes.ascending("name"),
+                new IndexOptions().unique(true)));
+        nameIndex.exceptionally(throwable -> {
+            System.err.println("Could not create the unique index on user name: " + throwable.getMessage());
+            return null;
+        });
 
-        final ServerApi serverApi = ServerApi.builder()
-                .version(ServerApiVersion.V1)
-                .build();
+        // Until every registered name is in the filter, name lookups go to the database
+        reloadUsernames();
+    }
 
-        final MongoClientSettings settings = MongoClientSettings.builder()
-                .applyConnectionString(new ConnectionString(connectionString))
-                .serverApi(serverApi)
-                .build();
+    /**
+     * Fills a new username filter from the database in the background, unless a reload is running already.
+     * Other processes create users too, and the filter only learns of those names from a reload or a read.
+     */
+    private void reloadUsernames() {
+        if (!usernamesLoading.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(this::loadUsernames).whenComplete((ignored, throwable) -> {
+            loadingUsernameFilter = null;
+            usernamesLoading.set(false);
+            if (throwable != null) {
+                System.err.println("Could not load the usernames into the filter: " + throwable.getMessage());
+            }
+        });
+    }
 
-        // Create a new client and connect to the server
-        final MongoClient mongoClient = MongoClients.create(settings);
-        final MongoDatabase database = mongoClient.getDatabase("Project");
-        database.runCommand(new Document("ping", 1));
-        System.out.println("Pinged your deployment. You successfully connected to MongoDB!");
-        userCollection = database.getCollection("User");
+    private void loadUsernames() {
+        final long startNanos = System.nanoTime();
+        final UsernameBloomFilter filter = new UsernameBloomFilter(EXPECTED_USERNAMES, USERNAME_FALSE_POSITIVE_RATE);
+        loadingUsernameFilter = filter;
+        long loaded = 0;
+        for (Document userDoc : userCollection.find().projection(NAME_ONLY)) {
+            final String name = userDoc.getString("name");
+            if (name != null) {
+                filter.put(name);
+                loaded++;
+            }
+        }
+        usernameFilter = filter;
+        usernamesLoadedAtNanos = startNanos;
+        System.err.println("Loaded " + loaded + " usernames into the filter");
     }
 
-    private static String loadApiKey() {
-        final Properties properties = new Properties();
-        try (BufferedReader reader = new BufferedReader(new FileReader(".env"))) {
-            properties.load(reader);
-            return properties.getProperty("MONGO_API_KEY");
+    /**
+     * Adds a name known to be registered to the username filter, and to the one being loaded if any.
+     * @param username the registered name
+     */
+    private void rememberUsername(String username) {
+        final UsernameBloomFilter filter = usernameFilter;
+        if (filter != null) {
+            filter.put(username);
         }
-        catch (IOException ioException) {
-            ioException.printStackTrace();
-            throw new RuntimeException("Failed to load API key from .env file");
+        final UsernameBloomFilter loadingFilter = loadingUsernameFilter;
+        if (loadingFilter != null) {
+            loadingFilter.put(username);
         }
     }
 
@@ -107,49 +160,74 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
                 "tempDate",
                 "tempDescription");
 
+        final String username = tempUser.getName();
         db.save(tempUser);
-        db.setCurrentUsername(tempUser.getName());
-        db.saveCategory("tech");
-        db.saveCategory("tech2");
-        System.out.println(db.getUserCategories());
-        db.saveArticle(tempArticle);
-        db.removeCategory("tech");
-        System.out.println(db.getUserCategories());
-        db.removeArticle(tempArticle);
+        db.saveCategory(username, "tech");
+        db.saveCategory(username, "tech2");
+        System.out.println(db.getUserCategories(username));
+        db.saveArticle(username, tempArticle);
+        db.removeCategory(username, "tech");
+        System.out.println(db.getUserCategories(username));
+        db.removeArticle(username, tempArticle);
 
     }
 
     /**
      * Saves the category to the user's categories. Will not add duplicate categories.
      *
+     * @param username the user saving the category
      * @param category the category to save
      */
     @Override
-    public void saveCategory(String category) {
-        final Bson query = Filters.eq("name", currentUsername);
+    public void saveCategory(String username, String category) {
+        final Bson query = Filters.eq("name", username);
         final Bson update = Updates.addToSet("categories", category);
         userCollection.updateOne(query, update);
     }
 
     /**
-     * Removes the category to the user's categories.
+     * Removes the category from the user's categories.
      *
-     * @param category the category to save
+     * @param username the user removing the category
+     * @param category the category to remove
      */
     @Override
-    public void removeCategory(String category) {
-        final Bson query = Filters.eq("name", currentUsername);
+    public void removeCategory(String username, String category) {
+        final Bson query = Filters.eq("name", username);
         final Bson update = Updates.pull("categories", category);
         userCollection.updateOne(query, update);
     }
 
+    /**
+     * Applies queued category changes of one user in a single bulk write.
+     *
+     * @param username the user whose categories change
+     * @param added the categories to add
+     * @param removed the categories to remove
+     */
+    public void applyCategoryChanges(String username, Collection<String> added, Collection<String> removed) {
+        final Bson query = Filters.eq("name", username);
+        final List<WriteModel<Document>> updates = new ArrayList<>();
+        // Adding and removing on the same field cannot share one update document
+        if (!added.isEmpty()) {
+            updates.add(new UpdateOneModel<>(query, Updates.addEachToSet("categories", new ArrayList<>(added))));
+        }
+        if (!removed.isEmpty()) {
+            updates.add(new UpdateOneModel<>(query, Updates.pullAll("categories", new ArrayList<>(removed))));
+        }
+        if (!updates.isEmpty()) {
+            userCollection.bulkWrite(updates);
+        }
+    }
+
     /**
      * Saves the article to the user's articles.
      *
+     * @param username the user saving the article
      * @param article the article to save
      */
     @Override
-    public void saveArticle(Article article) {
+    public void saveArticle(String username, Article article) {
         final Document articleDoc = new Document()
                 .append("title", article.getTitle())
                 .append("author", article.getAuthor())
@@ -159,19 +237,44 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
                 .append("date", article.getDate())
                 .append("description", article.getDescription());
 
-        final Bson query = Filters.eq("name", currentUsername);
+        final Bson query = Filters.eq("name", username);
         final Bson update = Updates.addToSet("articles." + article.getCategory(), articleDoc);
         userCollection.updateOne(query, update);
     }
 
     /**
-     * Returns the map of articles for the current user.
+     * Checks whether the user saved the article with the given key. Articles embedded in the user
+     * document have no index on their key, so this scans them; {@link MongoDBSavedArticleDataAccessObject}
+     * answers the same question with one indexed lookup.
      *
-     * @return the given user's articles.
+     * @param username the user to check
+     * @param articleKey the key of the article
+     * @return whether the article is saved
      */
     @Override
-    public Map<String, List<Article>> getUserArticles() {
-        final Document userDoc = userCollection.find(Filters.eq("name", currentUsername)).first();
+    public boolean containsArticle(String username, long articleKey) {
+        final Map<String, List<Article>> articles = getUserArticles(username);
+        if (articles == null) {
+            return false;
+        }
+        for (List<Article> categoryArticles : articles.values()) {
+            for (Article article : categoryArticles) {
+                if (article.getKey() == articleKey) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the map of articles for the given user.
+     *
+     * @param username the user whose articles to get
+     * @return the given user's articles.
+     */
+    public Map<String, List<Article>> getUserArticles(String username) {
+        final Document userDoc = userCollection.find(Filters.eq("name", username)).first();
         if (userDoc == null) {
             return null;
         }
@@ -199,11 +302,12 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
     /**
      * Remove the article from the user's articles.
      *
-     * @param article the article to save
+     * @param username the user removing the article
+     * @param article the article to remove
      */
     @Override
-    public void removeArticle(Article article) {
-        final Bson query = Filters.eq("name", currentUsername);
+    public void removeArticle(String username, Article article) {
+        final Bson query = Filters.eq("name", username);
         final Bson update = Updates.pull("articles." + article.getCategory(), new Document("title",
                 article.getTitle()));
         userCollection.updateOne(query, update);
@@ -212,12 +316,13 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
     /**
      * Gets the given user's category list.
      *
+     * @param username the user whose categories to get
      * @return the given user's category list.
      */
     @Override
-    public List<String> getUserCategories() {
-        final Bson query = Filters.eq("name", currentUsername);
-        final Document result = userCollection.find(query).first();
+    public List<String> getUserCategories(String username) {
+        final Bson query = Filters.eq("name", username);
+        final Document result = userCollection.find(query).projection(CATEGORIES_ONLY).first();
 
         if (result == null) {
             return new ArrayList<>();
@@ -227,27 +332,151 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
     }
 
     /**
-     * Checks if the given username exists.
+     * Checks if the given username exists. Always asks the database, since the answer may decide whether an
+     * account is still there.
      *
      * @param username the username to look for
      * @return true if a user with the given username exists; false otherwise
      */
     @Override
     public boolean existsByName(String username) {
-        final Document existsDoc = userCollection.find(Filters.eq("name", username)).first();
+        final Document existsDoc = userCollection.find(Filters.eq("name", username)).projection(ID_ONLY).first();
+        if (existsDoc != null) {
+            rememberUsername(username);
+        }
         return existsDoc != null;
     }
 
     /**
-     * Saves the user.
+     * Checks if the given username exists, answering from the username filter without a database read when
+     * the filter has never seen the name. A user created by another process since the filter was last loaded
+     * may be reported absent, so this is only for checks that {@link #create(User)} backs up.
+     *
+     * @param username the username to look for
+     * @return true if a user with the given username exists; false if not, or if it was created elsewhere
+     *     since the last reload
+     */
+    @Override
+    public boolean probablyExistsByName(String username) {
+        final UsernameBloomFilter filter = usernameFilter;
+        if (filter == null) {
+            return existsByName(username);
+        }
+        if (System.nanoTime() - usernamesLoadedAtNanos > USERNAME_RELOAD_NANOS) {
+            reloadUsernames();
+        }
+        if (!filter.mightContain(username)) {
+            filteredNegativeCount.incrementAndGet();
+            return false;
+        }
+
+        final boolean exists = existsByName(username);
+        if (!exists) {
+            falsePositiveCount.incrementAndGet();
+        }
+        return exists;
+    }
+
+    /**
+     * Returns the number of name lookups answered by the username filter without a database read.
+     * @return the number of definite negatives
+     */
+    public long getFilteredNegativeCount() {
+        return filteredNegativeCount.get();
+    }
+
+    /**
+     * Returns the number of name lookups the username filter let through for a name that does not exist.
+     * @return the number of false positives
+     */
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.get();
+    }
+
+    /**
+     * Returns the share of lookups of names that do not exist that still went to the database.
+     * @return the observed false positive rate, or 0 if no such name has been checked
+     */
+    public double getObservedFalsePositiveRate() {
+        final long falsePositives = falsePositiveCount.get();
+        final long absent = falsePositives + filteredNegativeCount.get();
+        if (absent == 0) {
+            return 0;
+        }
+        return (double) falsePositives / absent;
+    }
+
+    /**
+     * Returns the false positive rate the username filter is expected to have at its current fill.
+     * @return the expected false positive rate, or 0 if the usernames have not been loaded yet
+     */
+    public double getExpectedFalsePositiveRate() {
+        final UsernameBloomFilter filter = usernameFilter;
+        if (filter == null) {
+            return 0;
+        }
+        return filter.getExpectedFalsePositiveRate();
+    }
+
+    /**
+     * Returns the name, password and categories of the user with the given username in one projected read,
+     * so logging in costs the same however many articles the user has saved.
+     *
+     * @param username the username to look up
+     * @return the credentials, or null if there is no such user
+     */
+    @Override
+    public LoginCredentials getCredentials(String username) {
+        final Document userDoc = userCollection.find(Filters.eq("name", username)).projection(CREDENTIALS_ONLY)
+                .first();
+        if (userDoc == null) {
+            return null;
+        }
+        rememberUsername(username);
+        return new LoginCredentials(userDoc.get("name", String.class), userDoc.get("password", String.class),
+                userDoc.getList("categories", String.class));
+    }
+
+    /**
+     * Returns the user with the given username without their saved articles, for callers that keep
+     * saved articles elsewhere.
+     *
+     * @param username the username to look up
+     * @return the user with an empty article map, or null if there is no such user
+     */
+    public User getWithoutArticles(String username) {
+        final Document userDoc = userCollection.find(Filters.eq("name", username)).projection(WITHOUT_ARTICLES)
+                .first();
+        if (userDoc == null) {
+            return null;
+        }
+        return new CommonUser(userDoc.get("name", String.class),
+                userDoc.get("password", String.class),
+                userDoc.getList("categories", String.class),
+                new HashMap<>());
+    }
+
+    /**
+     * Saves the user. Will not overwrite an existing user with the same name.
      *
      * @param user the user to save
      */
     @Override
     public void save(User user) {
-        final Document existsDoc = userCollection.find(Filters.eq("name", user.getName())).first();
-        if (existsDoc != null) {
-            return;
+        create(user);
+    }
+
+    /**
+     * Creates the user in a single insert, relying on the unique index on name to reject existing users.
+     *
+     * @param user the user to create
+     * @return true if the user was created; false if a user with the same name already exists
+     */
+    @Override
+    public boolean create(User user) {
+        if (!isNameIndexReady() && existsByName(user.getName())) {
+            // Without the index a duplicate would not be rejected, so check first
+            return false;
         }
 
         final Document userDocument = new Document()
@@ -256,7 +485,28 @@ public class MongoDBUserDataAccessObject implements AddCategoryDataAccessInterfa
                 .append("categories", user.getCategories())
                 .append("articles", user.getArticles());
 
-        userCollection.insertOne(userDocument);
+        // Added before the insert so that no check can miss a user who is already in the database
+        rememberUsername(user.getName());
+        try {
+            userCollection.insertOne(userDocument);
+            return true;
+        }
+        catch (MongoWriteException mongoWriteException) {
+            if (mongoWriteException.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw mongoWriteException;
+            }
+            return false;
+        }
+    }
+
+    private boolean isNameIndexReady() {
+        try {
+            nameIndex.join();
+            return true;
+        }
+        catch (CompletionException completionException) {
+            return false;
+        }
     }
 
     /**
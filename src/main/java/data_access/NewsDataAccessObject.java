@@ -14,6 +14,7 @@ import java.util.concurrent.TimeUnit;
 // Third-party imports
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 // Ungrouped imports
@@ -39,6 +40,7 @@ public class NewsDataAccessObject implements DigestNewsDataAccessInterface {
     private static final String BASE_URL = "https://newsapi.org/v2/";
     private static final String API_KEY;
     private static final OkHttpClient CLIENT = new OkHttpClient();
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
 
     static {
         API_KEY = loadApiKey();
@@ -293,16 +295,36 @@ public class NewsDataAccessObject implements DigestNewsDataAccessInterface {
             articleElements = doc.select("[class*=content], [class*=article], [id*=content], [id*=article]");
         }
 
-        String textContent = articleElements.text();
+        String textContent = paragraphText(articleElements);
 
         // If still empty, fallback to body text
         if (textContent.isEmpty()) {
-            textContent = doc.body().text();
+            textContent = paragraphText(new Elements(doc.body()));
         }
 
         return textContent;
     }
 
+    // Keep paragraph boundaries as blank lines so long articles can later be split into chunks
+    private String paragraphText(Elements elements) {
+        final StringBuilder textContent = new StringBuilder();
+        for (Element paragraph : elements.select("p")) {
+            final String paragraphText = paragraph.text();
+            if (!paragraphText.isEmpty()) {
+                if (textContent.length() > 0) {
+                    textContent.append(PARAGRAPH_SEPARATOR);
+                }
+                textContent.append(paragraphText);
+            }
+        }
+
+        // Pages without paragraph markup fall back to their flattened text
+        if (textContent.length() == 0) {
+            return elements.text();
+        }
+        return textContent.toString();
+    }
+
     /**
      * Fetch first article.
      * @param keyword keyword
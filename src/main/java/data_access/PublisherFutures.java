@@ -0,0 +1,53 @@
+package data_access;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapts the publishers of the reactive-streams driver to futures. The futures complete on the driver's
+ * threads, so callers must not block inside their callbacks.
+ */
+public final class PublisherFutures {
+    private PublisherFutures() {
+    }
+
+    /**
+     * Returns a future of the first item a publisher emits. The rest of the stream is cancelled.
+     * @param publisher the publisher
+     * @param <T> the type of the items
+     * @return a future of the first item, or of null when the publisher completes without one
+     */
+    public static <T> CompletableFuture<T> first(Publisher<T> publisher) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<T>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (future.complete(item)) {
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+}
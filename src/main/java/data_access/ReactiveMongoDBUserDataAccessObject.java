@@ -0,0 +1,89 @@
+package data_access;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import entity.Article;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import use_case.save_article.SaveArticleAsyncDataAccessInterface;
+import use_case.unsave_article.UnsaveArticleAsyncDataAccessInterface;
+
+/**
+ * DAO using the MongoDB reactive-streams driver for saving and unsaving articles. It writes the same
+ * documents as {@link MongoDBSavedArticleDataAccessObject}, but every call returns at once with a future, and
+ * no thread waits on the network while a request is in flight. Users are passed explicitly, so one instance
+ * can serve many sessions.
+ */
+public class ReactiveMongoDBUserDataAccessObject implements SaveArticleAsyncDataAccessInterface,
+                                                            UnsaveArticleAsyncDataAccessInterface {
+    private final MongoCollection<Document> savedArticleCollection;
+    private final MongoCollection<Document> contentCollection;
+
+    public ReactiveMongoDBUserDataAccessObject(MongoDatabase database) {
+        this.savedArticleCollection = database.getCollection(MongoDBSavedArticleDataAccessObject.COLLECTION_NAME);
+        this.contentCollection = database.getCollection(ArticleContentStore.COLLECTION_NAME);
+    }
+
+    /**
+     * Saves an article for a user. The body is stored first, so the saved article never refers to a body
+     * that is missing, and the unique index on the link decides whether the article was saved already.
+     */
+    @Override
+    public CompletableFuture<Boolean> saveArticleAsync(String username, Article article) {
+        return storeContent(article)
+                .thenCompose(hash -> PublisherFutures.first(savedArticleCollection.insertOne(
+                        MongoDBSavedArticleDataAccessObject.toDocument(username, article, hash))))
+                .thenApply(result -> true)
+                .exceptionally(throwable -> {
+                    if (isDuplicateKey(throwable)) {
+                        return false;
+                    }
+                    throw wrap(throwable);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> removeArticleAsync(String username, Article article) {
+        final Bson filter = Filters.and(Filters.eq(MongoDBSavedArticleDataAccessObject.USER, username),
+                Filters.eq(MongoDBSavedArticleDataAccessObject.LINK_HASH, article.getKey()));
+        return PublisherFutures.first(savedArticleCollection.deleteOne(filter))
+                .thenApply(result -> result.getDeletedCount() > 0);
+    }
+
+    private CompletableFuture<String> storeContent(Article article) {
+        if (article instanceof LazyContentArticle) {
+            return CompletableFuture.completedFuture(((LazyContentArticle) article).getContentHash());
+        }
+        if (article.getContent() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final String hash = ArticleContentStore.hash(article.getContent());
+        return PublisherFutures.first(contentCollection.updateOne(ArticleContentStore.idFilter(hash),
+                        ArticleContentStore.contentUpdate(article.getContent()), new UpdateOptions().upsert(true)))
+                .thenApply(result -> hash);
+    }
+
+    private static boolean isDuplicateKey(Throwable throwable) {
+        final Throwable cause = unwrap(throwable);
+        return cause instanceof MongoWriteException
+                && ((MongoWriteException) cause).getError().getCategory() == ErrorCategory.DUPLICATE_KEY;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static CompletionException wrap(Throwable throwable) {
+        return new CompletionException(unwrap(throwable));
+    }
+}
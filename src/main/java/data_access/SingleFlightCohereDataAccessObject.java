@@ -0,0 +1,104 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import use_case.digest.DigestCohereDataAccessInterface;
+
+/**
+ * Summarizer that collapses concurrent summarize calls for the same content into a single request.
+ * Callers that arrive while an identical request is in flight wait for it and share its result
+ * instead of sending their own request to the wrapped summarizer.
+ */
+public class SingleFlightCohereDataAccessObject implements DigestCohereDataAccessInterface {
+    private final DigestCohereDataAccessInterface summarizer;
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong callCount = new AtomicLong();
+    private final AtomicLong collapsedCallCount = new AtomicLong();
+
+    public SingleFlightCohereDataAccessObject(DigestCohereDataAccessInterface summarizer) {
+        this.summarizer = summarizer;
+    }
+
+    /**
+     * Summarizes the given input text, joining an identical request if one is already in flight.
+     *
+     * @param inputText The text to summarize.
+     * @return The summarized text.
+     * @throws IOException If the shared request fails.
+     */
+    @Override
+    public String summarize(String inputText) throws IOException {
+        callCount.incrementAndGet();
+        if (inputText == null) {
+            return summarizer.summarize(null);
+        }
+
+        final CompletableFuture<String> ownFlight = new CompletableFuture<>();
+        final CompletableFuture<String> existingFlight = inFlight.putIfAbsent(inputText, ownFlight);
+        if (existingFlight != null) {
+            collapsedCallCount.incrementAndGet();
+            return awaitFlight(existingFlight);
+        }
+
+        try {
+            final String summary = summarizer.summarize(inputText);
+            ownFlight.complete(summary);
+            return summary;
+        }
+        catch (IOException ioException) {
+            ownFlight.completeExceptionally(ioException);
+            throw ioException;
+        }
+        finally {
+            // Never leave joiners waiting on a flight that ended with an unchecked exception.
+            if (!ownFlight.isDone()) {
+                ownFlight.completeExceptionally(new IOException("Summarize request failed"));
+            }
+            inFlight.remove(inputText, ownFlight);
+        }
+    }
+
+    private String awaitFlight(CompletableFuture<String> flight) throws IOException {
+        try {
+            return flight.get();
+        }
+        catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a shared summarize request");
+        }
+        catch (ExecutionException executionException) {
+            throw new IOException("Shared summarize request failed: "
+                    + executionException.getCause().getMessage(), executionException.getCause());
+        }
+    }
+
+    /**
+     * Returns the total number of summarize calls received.
+     * @return the number of calls
+     */
+    public long getCallCount() {
+        return callCount.get();
+    }
+
+    /**
+     * Returns the number of summarize calls that joined an in-flight request instead of sending their own.
+     * @return the number of collapsed calls
+     */
+    public long getCollapsedCallCount() {
+        return collapsedCallCount.get();
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     * @return the number of in-flight requests
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,112 @@
+package data_access;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of usernames. A name that was never put is usually reported absent, and a name that was put
+ * is always reported present, so an absent answer is definite and a present one has to be confirmed.
+ * Names can be added from any thread while others query it; they cannot be removed.
+ */
+public class UsernameBloomFilter {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+    private static final int MIX_SHIFT_1 = 30;
+    private static final int MIX_SHIFT_2 = 27;
+    private static final int MIX_SHIFT_3 = 31;
+    private static final int HALF_HASH_BITS = 32;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = 63;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the expected number of names at the target false positive rate.
+     * @param expectedNames the number of names the filter is expected to hold
+     * @param falsePositiveRate the target rate of absent names reported present, between 0 and 1
+     */
+    public UsernameBloomFilter(long expectedNames, double falsePositiveRate) {
+        if (expectedNames < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Need at least one expected name and a rate between 0 and 1");
+        }
+        final double ln2 = Math.log(2);
+        final long wordCount = (long) Math.ceil(-expectedNames * Math.log(falsePositiveRate) / (ln2 * ln2)
+                / Long.SIZE);
+        words = new AtomicLongArray(Math.toIntExact(Math.max(1, wordCount)));
+        bitCount = (long) words.length() * Long.SIZE;
+        hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedNames * ln2));
+    }
+
+    /**
+     * Adds a name.
+     * @param username the name
+     */
+    public void put(String username) {
+        final long hash = hash(username);
+        for (int index = 0; index < hashCount; index++) {
+            final long bit = bitIndex(hash, index);
+            final long mask = 1L << (bit & WORD_MASK);
+            final int word = (int) (bit >>> WORD_SHIFT);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a name may have been added.
+     * @param username the name
+     * @return false if the name was definitely never added
+     */
+    public boolean mightContain(String username) {
+        final long hash = hash(username);
+        for (int index = 0; index < hashCount; index++) {
+            final long bit = bitIndex(hash, index);
+            if ((words.get((int) (bit >>> WORD_SHIFT)) & (1L << (bit & WORD_MASK))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the false positive rate expected from the bits set so far, which rises as names are added.
+     * @return the probability that an absent name is reported present
+     */
+    public double getExpectedFalsePositiveRate() {
+        long setBits = 0;
+        for (int word = 0; word < words.length(); word++) {
+            setBits += Long.bitCount(words.get(word));
+        }
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long bitIndex(long hash, int index) {
+        // Double hashing: the two halves of one 64-bit hash stand in for independent hash functions
+        final long combined = (int) hash + (long) index * (int) (hash >>> HALF_HASH_BITS);
+        return Math.floorMod(combined, bitCount);
+    }
+
+    private static long hash(String username) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < username.length(); index++) {
+            hash ^= username.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        // FNV-1a leaves similar names with similar hashes, so spread every input bit over the whole hash
+        hash = (hash ^ (hash >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        hash = (hash ^ (hash >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return hash ^ (hash >>> MIX_SHIFT_3);
+    }
+}
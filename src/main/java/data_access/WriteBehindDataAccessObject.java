@@ -0,0 +1,217 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import entity.Article;
+import entity.User;
+import use_case.add_category.AddCategoryDataAccessInterface;
+import use_case.logout.LogoutUserDataAccessInterface;
+import use_case.remove_category.RemoveCategoryDataAccessInterface;
+import use_case.save_article.SaveArticleDataAccessInterface;
+import use_case.saved_articles.SavedArticlesDataAccessInterface;
+import use_case.saved_articles.SavedArticlesPage;
+import use_case.unsave_article.UnsaveArticleDataAccessInterface;
+
+/**
+ * Write-behind front for the MongoDB DAOs. Category and article mutations are queued and return at once
+ * instead of each running its own update on the Swing thread. Queued mutations are coalesced and written
+ * as one bulk write per user and collection on a short interval, when the user logs out, and before the
+ * shared client is closed at shutdown. Reads see the queued mutations on top of the stored data.
+ */
+public class WriteBehindDataAccessObject implements AddCategoryDataAccessInterface,
+                                                    RemoveCategoryDataAccessInterface,
+                                                    SaveArticleDataAccessInterface,
+                                                    UnsaveArticleDataAccessInterface,
+                                                    SavedArticlesDataAccessInterface,
+                                                    LogoutUserDataAccessInterface {
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 2000;
+
+    private final MongoDBUserDataAccessObject userDataAccessObject;
+    private final MongoDBSavedArticleDataAccessObject savedArticleDataAccessObject;
+    private final WriteBehindQueue<String> categoryQueue = new WriteBehindQueue<>();
+    private final WriteBehindQueue<Article> articleQueue = new WriteBehindQueue<>();
+    // Flushes of the interval, logout and shutdown must not write the same snapshot twice
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "write-behind-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WriteBehindDataAccessObject(MongoDBUserDataAccessObject userDataAccessObject,
+                                       MongoDBSavedArticleDataAccessObject savedArticleDataAccessObject,
+                                       MongoClientProvider mongoClientProvider,
+                                       long flushIntervalMillis) {
+        this.userDataAccessObject = userDataAccessObject;
+        this.savedArticleDataAccessObject = savedArticleDataAccessObject;
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        mongoClientProvider.beforeClose(this::flushAll);
+    }
+
+    @Override
+    public void saveCategory(String username, String category) {
+        categoryQueue.add(username, category, category);
+    }
+
+    @Override
+    public void removeCategory(String username, String category) {
+        categoryQueue.remove(username, category, category);
+    }
+
+    @Override
+    public List<String> getUserCategories(String username) {
+        return withPendingCategories(username, userDataAccessObject.getUserCategories(username));
+    }
+
+    @Override
+    public void saveArticle(String username, Article article) {
+        articleQueue.add(username, articleKey(article), article);
+    }
+
+    @Override
+    public void removeArticle(String username, Article article) {
+        articleQueue.remove(username, articleKey(article), article);
+    }
+
+    @Override
+    public boolean containsArticle(String username, long articleKey) {
+        final WriteBehindQueue.Mutation<Article> pending = articleQueue.snapshot(username)
+                .get(Long.toString(articleKey));
+        if (pending != null) {
+            return pending.isAdd();
+        }
+        return savedArticleDataAccessObject.containsArticle(username, articleKey);
+    }
+
+    /**
+     * Returns one page of the user's saved articles. Opening the first page writes the user's queued
+     * changes first, so that the pages reflect them.
+     */
+    @Override
+    public SavedArticlesPage getSavedArticlesPage(String username, int pageSize, String pageToken) {
+        if (pageToken == null) {
+            flush(username);
+        }
+        return savedArticleDataAccessObject.getSavedArticlesPage(username, pageSize, pageToken);
+    }
+
+    @Override
+    public String getCurrentUsername() {
+        return userDataAccessObject.getCurrentUsername();
+    }
+
+    @Override
+    public void save(User user) {
+        userDataAccessObject.save(user);
+    }
+
+    @Override
+    public boolean existsByName(String username) {
+        return userDataAccessObject.existsByName(username);
+    }
+
+    /**
+     * Sets the current user, writing everything queued for the previous user first.
+     *
+     * @param username the new current username
+     */
+    @Override
+    public void setCurrentUsername(String username) {
+        final String previousUsername = userDataAccessObject.getCurrentUsername();
+        userDataAccessObject.setCurrentUsername(username);
+        if (previousUsername != null && !previousUsername.equals(username)) {
+            flush(previousUsername);
+        }
+    }
+
+    /**
+     * Returns the number of queued mutations that have not been written yet.
+     * @return the queue depth
+     */
+    public int getPendingWriteCount() {
+        return categoryQueue.size() + articleQueue.size();
+    }
+
+    /**
+     * Writes everything that is queued for every user.
+     */
+    public void flushAll() {
+        final Set<String> usernames = new HashSet<>(categoryQueue.getUsers());
+        usernames.addAll(articleQueue.getUsers());
+        for (String username : usernames) {
+            flush(username);
+        }
+    }
+
+    /**
+     * Writes everything that is queued for one user. Failed writes, whatever the cause, stay queued and are
+     * retried on the next flush, so a failure never ends the scheduled flushing.
+     * @param username the user whose mutations to write
+     */
+    public void flush(String username) {
+        synchronized (flushLock) {
+            final Map<String, WriteBehindQueue.Mutation<String>> categories = categoryQueue.beginWrite(username);
+            try {
+                if (!categories.isEmpty()) {
+                    userDataAccessObject.applyCategoryChanges(username, values(categories, true),
+                            values(categories, false));
+                }
+                categoryQueue.acknowledge(username, categories);
+            }
+            catch (RuntimeException runtimeException) {
+                categoryQueue.release(categories);
+                System.err.println("Could not write queued categories of " + username + ": "
+                        + runtimeException.getMessage());
+            }
+
+            final Map<String, WriteBehindQueue.Mutation<Article>> articles = articleQueue.beginWrite(username);
+            try {
+                if (!articles.isEmpty()) {
+                    savedArticleDataAccessObject.applyArticleChanges(username, values(articles, true),
+                            values(articles, false));
+                }
+                articleQueue.acknowledge(username, articles);
+            }
+            catch (RuntimeException runtimeException) {
+                articleQueue.release(articles);
+                System.err.println("Could not write queued articles of " + username + ": "
+                        + runtimeException.getMessage());
+            }
+        }
+    }
+
+    private List<String> withPendingCategories(String username, List<String> storedCategories) {
+        final List<String> categories = new ArrayList<>(storedCategories);
+        for (WriteBehindQueue.Mutation<String> mutation : categoryQueue.snapshot(username).values()) {
+            if (!mutation.isAdd()) {
+                categories.remove(mutation.getValue());
+            }
+            else if (!categories.contains(mutation.getValue())) {
+                categories.add(mutation.getValue());
+            }
+        }
+        return categories;
+    }
+
+    private static <T> List<T> values(Map<String, WriteBehindQueue.Mutation<T>> mutations, boolean add) {
+        final List<T> values = new ArrayList<>();
+        for (WriteBehindQueue.Mutation<T> mutation : mutations.values()) {
+            if (mutation.isAdd() == add) {
+                values.add(mutation.getValue());
+            }
+        }
+        return values;
+    }
+
+    private static String articleKey(Article article) {
+        return Long.toString(article.getKey());
+    }
+}
@@ -0,0 +1,149 @@
+package data_access;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-user queue of pending add and remove mutations that have not been written yet. Mutations are
+ * coalesced by key: an add followed by a remove of the same key, or the other way round, cancels out.
+ * That is safe because the use cases only add items a user does not have and only remove items they do,
+ * so the first of the two mutations always undoes a state the store is already in.
+ *
+ * @param <T> the type of the mutated items
+ */
+public class WriteBehindQueue<T> {
+    private final Map<String, Map<String, Mutation<T>>> pendingByUser = new HashMap<>();
+    // Mutations being written right now can no longer be cancelled, only superseded
+    private final Set<Mutation<T>> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Queues adding an item.
+     * @param username the user the item belongs to
+     * @param key the key identifying the item
+     * @param value the item
+     */
+    public synchronized void add(String username, String key, T value) {
+        record(username, key, new Mutation<>(value, true));
+    }
+
+    /**
+     * Queues removing an item.
+     * @param username the user the item belongs to
+     * @param key the key identifying the item
+     * @param value the item
+     */
+    public synchronized void remove(String username, String key, T value) {
+        record(username, key, new Mutation<>(value, false));
+    }
+
+    private void record(String username, String key, Mutation<T> mutation) {
+        final Map<String, Mutation<T>> pending = pendingByUser.computeIfAbsent(username,
+                user -> new LinkedHashMap<>());
+        final Mutation<T> previous = pending.get(key);
+        if (previous != null && previous.isAdd() != mutation.isAdd() && !inFlight.contains(previous)) {
+            pending.remove(key);
+            if (pending.isEmpty()) {
+                pendingByUser.remove(username);
+            }
+        }
+        else {
+            pending.put(key, mutation);
+        }
+    }
+
+    /**
+     * Returns the pending mutations of a user, in the order they were queued.
+     * @param username the user
+     * @return a copy of the pending mutations by key
+     */
+    public synchronized Map<String, Mutation<T>> snapshot(String username) {
+        return new LinkedHashMap<>(pendingByUser.getOrDefault(username, Map.of()));
+    }
+
+    /**
+     * Returns the pending mutations of a user for writing. Until they are acknowledged or released, later
+     * mutations of the same keys replace them instead of cancelling them.
+     * @param username the user
+     * @return a copy of the pending mutations by key
+     */
+    public synchronized Map<String, Mutation<T>> beginWrite(String username) {
+        final Map<String, Mutation<T>> batch = snapshot(username);
+        inFlight.addAll(batch.values());
+        return batch;
+    }
+
+    /**
+     * Drops the given mutations once they are written. Mutations queued for the same keys after the
+     * batch was taken stay queued.
+     * @param username the user
+     * @param written the mutations that were written
+     */
+    public synchronized void acknowledge(String username, Map<String, Mutation<T>> written) {
+        inFlight.removeAll(written.values());
+        final Map<String, Mutation<T>> pending = pendingByUser.get(username);
+        if (pending != null) {
+            for (Map.Entry<String, Mutation<T>> entry : written.entrySet()) {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            if (pending.isEmpty()) {
+                pendingByUser.remove(username);
+            }
+        }
+    }
+
+    /**
+     * Keeps the given mutations queued after writing them failed.
+     * @param batch the mutations that were not written
+     */
+    public synchronized void release(Map<String, Mutation<T>> batch) {
+        inFlight.removeAll(batch.values());
+    }
+
+    /**
+     * Returns the users that have pending mutations.
+     * @return the users
+     */
+    public synchronized Set<String> getUsers() {
+        return new HashSet<>(pendingByUser.keySet());
+    }
+
+    /**
+     * Returns the number of pending mutations over all users.
+     * @return the queue depth
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (Map<String, Mutation<T>> pending : pendingByUser.values()) {
+            size += pending.size();
+        }
+        return size;
+    }
+
+    /**
+     * A pending add or remove of one item.
+     *
+     * @param <T> the type of the item
+     */
+    public static final class Mutation<T> {
+        private final T value;
+        private final boolean add;
+
+        private Mutation(T value, boolean add) {
+            this.value = value;
+            this.add = add;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isAdd() {
+            return add;
+        }
+    }
+}
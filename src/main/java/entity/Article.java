@@ -2,8 +2,17 @@ package entity;
 
 /**
  * The representation of an article in our program.
+ * Two articles are equal when their keys are equal; implementations base equals and hashCode on the key.
  */
 public interface Article {
+    /**
+     * Returns the key identifying the article, see {@link ArticleKey}.
+     * @return the key of the article.
+     */
+    default long getKey() {
+        return ArticleKey.ofLink(getLink());
+    }
+
     /**
      * Returns the title of the article.
      * @return the title of the article.
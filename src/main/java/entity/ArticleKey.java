@@ -0,0 +1,54 @@
+package entity;
+
+import java.util.Locale;
+
+/**
+ * The stable key identifying an article: a 64-bit FNV-1a hash of its normalized link. Two articles with the
+ * same key are the same article, regardless of the case of the host, a fragment or a trailing slash.
+ */
+public final class ArticleKey {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ArticleKey() {
+    }
+
+    /**
+     * Returns the key of the article with the given link.
+     * @param link the article link
+     * @return the key of the article
+     */
+    public static long ofLink(String link) {
+        long hash = FNV_OFFSET_BASIS;
+        for (char character : normalizeLink(link).toCharArray()) {
+            hash ^= character;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String normalizeLink(String link) {
+        if (link == null) {
+            return "";
+        }
+        String normalized = link.trim();
+        final int fragment = normalized.indexOf('#');
+        if (fragment >= 0) {
+            normalized = normalized.substring(0, fragment);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        // Scheme and host are case-insensitive, the path is not
+        final int hostStart = normalized.indexOf("://");
+        if (hostStart >= 0) {
+            int pathStart = normalized.indexOf('/', hostStart + "://".length());
+            if (pathStart < 0) {
+                pathStart = normalized.length();
+            }
+            normalized = normalized.substring(0, pathStart).toLowerCase(Locale.ROOT) + normalized.substring(pathStart);
+        }
+        return normalized;
+    }
+}
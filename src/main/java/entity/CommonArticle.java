@@ -1,26 +1,45 @@
 package entity;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * CommonArticle implementation of the Article Interface.
+ * The content is kept as UTF-8 bytes and only decoded when asked for: views render the other fields, and a
+ * single curly quote would make the JVM store the whole text as UTF-16, two bytes per character. Author and
+ * category repeat across many articles, so each distinct value is kept once, in a table of at most
+ * {@value #MAX_SHARED_VALUES} values that starts over when full, since the values come from the news API.
  */
 public class CommonArticle implements Article {
+    static final int MAX_SHARED_VALUES = 4096;
+
+    private static final Map<String, String> SHARED_VALUES = new ConcurrentHashMap<>();
+
     private final String title;
     private final String author;
     private final String category;
-    private final String content;
+    private final byte[] content;
     private final String link;
     private final String date;
     private String description;
+    private final long key;
 
     public CommonArticle(String title, String author, String category, String content, String link,
                          String date, String description) {
         this.title = title;
-        this.author = author;
-        this.category = category;
-        this.content = content;
+        this.author = share(author);
+        this.category = share(category);
+        this.content = encode(content);
         this.link = link;
         this.date = date;
         this.description = description;
+        this.key = ArticleKey.ofLink(link);
+    }
+
+    @Override
+    public long getKey() {
+        return key;
     }
 
     @Override
@@ -40,7 +59,10 @@ public class CommonArticle implements Article {
 
     @Override
     public String getContent() {
-        return content;
+        if (content == null) {
+            return null;
+        }
+        return new String(content, StandardCharsets.UTF_8);
     }
 
     @Override
@@ -62,4 +84,39 @@ public class CommonArticle implements Article {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Article && key == ((Article) other).getKey();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    private static String share(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (SHARED_VALUES.size() >= MAX_SHARED_VALUES) {
+            SHARED_VALUES.clear();
+        }
+        final String shared = SHARED_VALUES.putIfAbsent(value, value);
+        if (shared == null) {
+            return value;
+        }
+        return shared;
+    }
+
+    static int sharedValueCount() {
+        return SHARED_VALUES.size();
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 }
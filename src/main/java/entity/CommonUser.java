@@ -71,6 +71,10 @@ public class CommonUser implements User {
 
     @Override
     public void deleteArticle(Article article) {
-        articles.get(article.getCategory()).remove(article);
+        // Articles are equal by key, so any instance of the saved article removes it
+        final List<Article> categoryArticles = articles.get(article.getCategory());
+        if (categoryArticles != null) {
+            categoryArticles.remove(article);
+        }
     }
 }
@@ -0,0 +1,25 @@
+package entity;
+
+/**
+ * The session a request is made in, which names the user it is made for. Input data carries it through the
+ * interactors to the data access objects, so one set of data access objects can serve many users at once.
+ */
+public final class SessionContext {
+    private final String username;
+
+    public SessionContext(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns whether a user is logged in to the session.
+     * @return true if the session has a username
+     */
+    public boolean isLoggedIn() {
+        return username != null && !username.isEmpty();
+    }
+}
@@ -0,0 +1,176 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of a user at one point in time. Every change returns a new snapshot and leaves this one as
+ * it was, so a snapshot can be handed to any thread and read without locks. Saved articles are shared
+ * between snapshots; their description is only set before they are saved.
+ */
+public final class UserSnapshot {
+    private final String name;
+    private final String password;
+    private final List<String> categories;
+    private final Map<String, List<Article>> articles;
+    private final Map<Long, Article> articlesByKey;
+
+    private UserSnapshot(String name, String password, List<String> categories,
+                         Map<String, List<Article>> articles, Map<Long, Article> articlesByKey) {
+        this.name = name;
+        this.password = password;
+        this.categories = categories;
+        this.articles = articles;
+        this.articlesByKey = articlesByKey;
+    }
+
+    /**
+     * Takes a snapshot of a user. Later changes to the user do not show in the snapshot.
+     * @param user the user
+     * @return the snapshot
+     */
+    public static UserSnapshot of(User user) {
+        final List<String> categories = new ArrayList<>();
+        if (user.getCategories() != null) {
+            categories.addAll(user.getCategories());
+        }
+        final Map<String, List<Article>> articles = new LinkedHashMap<>();
+        final Map<Long, Article> articlesByKey = new HashMap<>();
+        if (user.getArticles() != null) {
+            for (Map.Entry<String, List<Article>> entry : user.getArticles().entrySet()) {
+                articles.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+                for (Article article : entry.getValue()) {
+                    articlesByKey.put(article.getKey(), article);
+                }
+            }
+        }
+        return new UserSnapshot(user.getName(), user.getPassword(), Collections.unmodifiableList(categories),
+                Collections.unmodifiableMap(articles), Collections.unmodifiableMap(articlesByKey));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Returns the categories of the user, which cannot be modified.
+     * @return the categories of the user.
+     */
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Returns the articles of the user by category, which cannot be modified.
+     * @return the articles of the user.
+     */
+    public Map<String, List<Article>> getArticles() {
+        return articles;
+    }
+
+    /**
+     * Returns whether the user has saved the article with the given key.
+     * @param articleKey the key of the article
+     * @return true if the article is saved
+     */
+    public boolean containsArticle(long articleKey) {
+        return articlesByKey.containsKey(articleKey);
+    }
+
+    /**
+     * Returns the saved article with the given key.
+     * @param articleKey the key of the article
+     * @return the article, or null if it is not saved
+     */
+    public Article getArticle(long articleKey) {
+        return articlesByKey.get(articleKey);
+    }
+
+    /**
+     * Returns a snapshot with the category added.
+     * @param category the category
+     * @return the new snapshot
+     */
+    public UserSnapshot withCategory(String category) {
+        final List<String> newCategories = new ArrayList<>(categories);
+        newCategories.add(category);
+        return new UserSnapshot(name, password, Collections.unmodifiableList(newCategories), articles,
+                articlesByKey);
+    }
+
+    /**
+     * Returns a snapshot with the first occurrence of the category removed.
+     * @param category the category
+     * @return the new snapshot, or this one if the user does not have the category
+     */
+    public UserSnapshot withoutCategory(String category) {
+        if (!categories.contains(category)) {
+            return this;
+        }
+        final List<String> newCategories = new ArrayList<>(categories);
+        newCategories.remove(category);
+        return new UserSnapshot(name, password, Collections.unmodifiableList(newCategories), articles,
+                articlesByKey);
+    }
+
+    /**
+     * Returns a snapshot with the article saved under its category.
+     * @param article the article
+     * @return the new snapshot, or this one if the article is already saved
+     */
+    public UserSnapshot withArticle(Article article) {
+        if (articlesByKey.containsKey(article.getKey())) {
+            return this;
+        }
+        final Map<String, List<Article>> newArticles = new LinkedHashMap<>(articles);
+        final List<Article> categoryArticles = new ArrayList<>(
+                articles.getOrDefault(article.getCategory(), Collections.emptyList()));
+        categoryArticles.add(article);
+        newArticles.put(article.getCategory(), Collections.unmodifiableList(categoryArticles));
+        final Map<Long, Article> newArticlesByKey = new HashMap<>(articlesByKey);
+        newArticlesByKey.put(article.getKey(), article);
+        return new UserSnapshot(name, password, categories, Collections.unmodifiableMap(newArticles),
+                Collections.unmodifiableMap(newArticlesByKey));
+    }
+
+    /**
+     * Returns a snapshot without the article with the given key.
+     * @param articleKey the key of the article
+     * @return the new snapshot, or this one if the article is not saved
+     */
+    public UserSnapshot withoutArticle(long articleKey) {
+        final Article saved = articlesByKey.get(articleKey);
+        if (saved == null) {
+            return this;
+        }
+        final Map<String, List<Article>> newArticles = new LinkedHashMap<>(articles);
+        final List<Article> categoryArticles = new ArrayList<>(articles.get(saved.getCategory()));
+        categoryArticles.remove(saved);
+        newArticles.put(saved.getCategory(), Collections.unmodifiableList(categoryArticles));
+        final Map<Long, Article> newArticlesByKey = new HashMap<>(articlesByKey);
+        newArticlesByKey.remove(articleKey);
+        return new UserSnapshot(name, password, categories, Collections.unmodifiableMap(newArticles),
+                Collections.unmodifiableMap(newArticlesByKey));
+    }
+
+    /**
+     * Returns a user with copies of this snapshot's categories and articles, which the caller may change
+     * without affecting the snapshot.
+     * @return the user
+     */
+    public User toUser() {
+        final Map<String, List<Article>> articlesCopy = new HashMap<>();
+        for (Map.Entry<String, List<Article>> entry : articles.entrySet()) {
+            articlesCopy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return new CommonUser(name, password, new ArrayList<>(categories), articlesCopy);
+    }
+}
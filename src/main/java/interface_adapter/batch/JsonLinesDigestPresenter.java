@@ -0,0 +1,77 @@
+package interface_adapter.batch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import entity.Article;
+import interface_adapter.http.JsonArticles;
+import use_case.digest.DigestOutputBoundary;
+import use_case.digest.DigestOutputData;
+
+/**
+ * Presenter that writes the digest of one batch entry as a line of JSON. A new one is made for every entry,
+ * and all of them share the output, which they lock while writing their line.
+ */
+public class JsonLinesDigestPresenter implements DigestOutputBoundary {
+    private final Writer output;
+    private final String id;
+    private final long startNanos;
+    private boolean succeeded;
+
+    public JsonLinesDigestPresenter(Writer output, String id, long startNanos) {
+        this.output = output;
+        this.id = id;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public void prepareSuccessView(DigestOutputData outputData) {
+        final JsonArray articles = new JsonArray();
+        for (Article article : outputData.getArticles()) {
+            articles.add(JsonArticles.toJson(article, false));
+        }
+        final JsonObject line = newLine();
+        line.add("articles", articles);
+        write(line);
+        succeeded = true;
+    }
+
+    @Override
+    public void prepareFailView(String errorMessage) {
+        final JsonObject line = newLine();
+        line.addProperty("error", errorMessage);
+        write(line);
+    }
+
+    /**
+     * Returns whether the entry got its digest.
+     * @return true if the success view was prepared
+     */
+    public boolean isSucceeded() {
+        return succeeded;
+    }
+
+    private JsonObject newLine() {
+        final JsonObject line = new JsonObject();
+        line.addProperty("id", id);
+        line.addProperty("latencyMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return line;
+    }
+
+    private void write(JsonObject line) {
+        final String text = line.toString();
+        synchronized (output) {
+            try {
+                output.write(text);
+                output.write('\n');
+            }
+            catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+}
@@ -29,15 +29,10 @@ public class DigestController {
     }
 
     /**
-     * Execute the Digest Use Case.
+     * Execute the Digest Use Case for the latest news of the past week.
      * @param keywords keyword
      */
     public void execute(String[] keywords) {
-        final String oneWeekAgo = java.time.LocalDate.now().minusWeeks(1).toString();
-        final String today = java.time.LocalDate.now().toString();
-        final String english = "en";
-        final String relevancy = "relevancy";
-
-        this.execute(keywords, oneWeekAgo, today, english, relevancy);
+        digestUseCaseInteractor.execute(DigestInputData.forLatestOfPastWeek(keywords));
     }
 }
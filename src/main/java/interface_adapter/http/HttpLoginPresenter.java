@@ -0,0 +1,43 @@
+package interface_adapter.http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import use_case.login.LoginOutputBoundary;
+import use_case.login.LoginOutputData;
+
+/**
+ * Presenter that answers a login request over HTTP. A successful login opens a session and answers with
+ * its token; a failed one is answered as unauthorized.
+ */
+public class HttpLoginPresenter extends HttpPresenter implements LoginOutputBoundary {
+    private final HttpSessions sessions;
+
+    public HttpLoginPresenter(HttpExchange exchange, HttpSessions sessions) {
+        super(exchange);
+        this.sessions = sessions;
+    }
+
+    @Override
+    public void prepareSuccessView(LoginOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("username", outputData.getUsername());
+        body.addProperty("token", sessions.open(outputData.getUsername()));
+        final JsonArray categories = new JsonArray();
+        for (String category : outputData.getCategories()) {
+            categories.add(category);
+        }
+        body.add("categories", categories);
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareFailView(String errorMessage) {
+        respondWithError(UNAUTHORIZED, errorMessage);
+    }
+
+    @Override
+    public void switchToSignupView() {
+        // There are no views to switch between
+    }
+}
@@ -0,0 +1,139 @@
+package interface_adapter.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import entity.Article;
+import use_case.add_category.AddCategoryOutputBoundary;
+import use_case.add_category.AddCategoryOutputData;
+import use_case.digest.DigestOutputBoundary;
+import use_case.digest.DigestOutputData;
+import use_case.remove_category.RemoveCategoryOutputBoundary;
+import use_case.remove_category.RemoveCategoryOutputData;
+import use_case.save_article.SaveArticleOutputBoundary;
+import use_case.save_article.SaveArticleOutputData;
+import use_case.saved_articles.SavedArticleOutputData;
+import use_case.saved_articles.SavedArticlesOutputBoundary;
+import use_case.unsave_article.UnsaveArticleOutputBoundary;
+import use_case.unsave_article.UnsaveArticleOutputData;
+
+/**
+ * Presenter that answers one HTTP request with JSON. A new one is made for every request, and the first
+ * response it writes is the only one; it may be written from any thread, for example by an interactor that
+ * completes asynchronously.
+ */
+public class HttpPresenter implements AddCategoryOutputBoundary,
+        RemoveCategoryOutputBoundary,
+        DigestOutputBoundary,
+        SaveArticleOutputBoundary,
+        UnsaveArticleOutputBoundary,
+        SavedArticlesOutputBoundary {
+    public static final int OK = 200;
+    public static final int BAD_REQUEST = 400;
+    public static final int UNAUTHORIZED = 401;
+    public static final int METHOD_NOT_ALLOWED = 405;
+    public static final int INTERNAL_ERROR = 500;
+    public static final int BAD_GATEWAY = 502;
+
+    private final HttpExchange exchange;
+    private final AtomicBoolean responded = new AtomicBoolean();
+
+    public HttpPresenter(HttpExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    @Override
+    public void prepareSuccessView(AddCategoryOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("category", outputData.getCategory());
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareSuccessView(RemoveCategoryOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("category", outputData.getCategory());
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareSuccessView(DigestOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.add("articles", toJson(outputData.getArticles(), true));
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareSuccessView(SaveArticleOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("link", outputData.getArticle().getLink());
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareSuccessView(UnsaveArticleOutputData outputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("link", outputData.getArticle().getLink());
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareSuccessView(SavedArticleOutputData savedArticleOutputData) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("username", savedArticleOutputData.getUsername());
+        body.add("articles", toJson(savedArticleOutputData.getArticles(), false));
+        body.addProperty("nextPageToken", savedArticleOutputData.getNextPageToken());
+        respond(OK, body);
+    }
+
+    @Override
+    public void prepareFailView(String errorMessage) {
+        respondWithError(BAD_REQUEST, errorMessage);
+    }
+
+    /**
+     * Answers the request with an error.
+     * @param status the HTTP status code
+     * @param errorMessage the message of the error
+     */
+    public void respondWithError(int status, String errorMessage) {
+        final JsonObject body = new JsonObject();
+        body.addProperty("error", errorMessage);
+        respond(status, body);
+    }
+
+    /**
+     * Answers the request, unless it has been answered already.
+     * @param status the HTTP status code
+     * @param body the JSON body
+     */
+    public void respond(int status, JsonObject body) {
+        if (!responded.compareAndSet(false, true)) {
+            return;
+        }
+        final byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            responseBody.write(bytes);
+        }
+        catch (IOException ioException) {
+            // The client went away; there is nobody left to tell
+            exchange.close();
+        }
+    }
+
+    private static JsonArray toJson(List<Article> articles, boolean withContent) {
+        final JsonArray array = new JsonArray();
+        for (Article article : articles) {
+            array.add(JsonArticles.toJson(article, withContent));
+        }
+        return array;
+    }
+}
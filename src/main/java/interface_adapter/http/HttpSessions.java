@@ -0,0 +1,93 @@
+package interface_adapter.http;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import entity.SessionContext;
+
+/**
+ * The sessions of the users logged in to the HTTP API. Logging in opens a session under a random token,
+ * which the client sends with every further request; a session ends when the user logs out or after it
+ * has not been used for a while.
+ */
+public class HttpSessions {
+    public static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 30;
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+
+    public HttpSessions() {
+        this(DEFAULT_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public HttpSessions(long idleTimeout, TimeUnit unit) {
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    }
+
+    /**
+     * Opens a session for a user who has logged in.
+     * @param username the user
+     * @return the token of the session
+     */
+    public String open(String username) {
+        final long now = System.nanoTime();
+        // Logins are rare next to other requests, so they clear out the sessions that have expired
+        sessions.values().removeIf(session -> session.isExpired(now));
+
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(username, now + idleTimeoutNanos));
+        return token;
+    }
+
+    /**
+     * Returns the session with the given token and keeps it open for another idle timeout.
+     * @param token the token, or null
+     * @return the session, or null if there is no open session with that token
+     */
+    public SessionContext find(String token) {
+        if (token == null) {
+            return null;
+        }
+        final Session session = sessions.get(token);
+        final long now = System.nanoTime();
+        if (session == null || session.isExpired(now)) {
+            return null;
+        }
+        session.expiresAtNanos = now + idleTimeoutNanos;
+        return new SessionContext(session.username);
+    }
+
+    /**
+     * Ends the session with the given token.
+     * @param token the token
+     * @return whether there was an open session with that token
+     */
+    public boolean close(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * A logged-in user and when their session expires.
+     */
+    private static final class Session {
+        private final String username;
+        private volatile long expiresAtNanos;
+
+        private Session(String username, long expiresAtNanos) {
+            this.username = username;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package interface_adapter.http;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import entity.Article;
+import entity.CommonArticle;
+
+/**
+ * Converts articles to and from the JSON objects of the HTTP API.
+ */
+public final class JsonArticles {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private static final String CATEGORY = "category";
+    private static final String CONTENT = "content";
+    private static final String LINK = "link";
+    private static final String DATE = "date";
+    private static final String DESCRIPTION = "description";
+
+    private JsonArticles() {
+    }
+
+    /**
+     * Returns the JSON object of an article.
+     * @param article the article
+     * @param withContent whether to include the body, which lists of articles leave out
+     * @return the JSON object
+     */
+    public static JsonObject toJson(Article article, boolean withContent) {
+        final JsonObject json = new JsonObject();
+        json.addProperty(TITLE, article.getTitle());
+        json.addProperty(AUTHOR, article.getAuthor());
+        json.addProperty(CATEGORY, article.getCategory());
+        if (withContent) {
+            json.addProperty(CONTENT, article.getContent());
+        }
+        json.addProperty(LINK, article.getLink());
+        json.addProperty(DATE, article.getDate());
+        json.addProperty(DESCRIPTION, article.getDescription());
+        return json;
+    }
+
+    /**
+     * Reads an article from its JSON object.
+     * @param json the JSON object
+     * @return the article
+     * @throws IllegalArgumentException if the article has no link or category
+     */
+    public static Article fromJson(JsonObject json) {
+        if (json == null || getString(json, LINK) == null || getString(json, CATEGORY) == null) {
+            throw new IllegalArgumentException("An article needs a link and a category");
+        }
+        return new CommonArticle(getString(json, TITLE), getString(json, AUTHOR), getString(json, CATEGORY),
+                getString(json, CONTENT), getString(json, LINK), getString(json, DATE),
+                getString(json, DESCRIPTION));
+    }
+
+    /**
+     * Returns a string member of a JSON object.
+     * @param json the JSON object
+     * @param name the name of the member
+     * @return the string, or null if the member is missing or null
+     */
+    public static String getString(JsonObject json, String name) {
+        final JsonElement element = json.get(name);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        return element.getAsString();
+    }
+}
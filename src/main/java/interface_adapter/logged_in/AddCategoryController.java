@@ -1,5 +1,6 @@
 package interface_adapter.logged_in;
 
+import entity.SessionContext;
 import use_case.add_category.AddCategoryInputBoundary;
 import use_case.add_category.AddCategoryInputData;
 
@@ -16,10 +17,12 @@ public class AddCategoryController {
 
     /**
      * Executes the AddCategory Use Case.
+     * @param username the username of the logged-in user
      * @param category the category to add
      */
-    public void execute(String category) {
-        final AddCategoryInputData addCategoryInputData = new AddCategoryInputData(category);
+    public void execute(String username, String category) {
+        final AddCategoryInputData addCategoryInputData =
+                new AddCategoryInputData(new SessionContext(username), category);
         addCategoryUseCaseInteractor.execute(addCategoryInputData);
     }
 
@@ -93,10 +93,20 @@ public class LoggedInPresenter implements LogoutOutputBoundary,
     @Override
     public void prepareSuccessView(SavedArticleOutputData savedArticleOutputData) {
         final SavedArticlesState savedArticlesState = savedArticlesViewModel.getState();
-        savedArticlesState.setArticleMap(savedArticleOutputData.getUser().getArticles());
-        this.viewManagerModel.setState(savedArticlesViewModel.getViewName());
+        savedArticlesState.setUsername(savedArticleOutputData.getUsername());
+        if (savedArticleOutputData.isFirstPage()) {
+            savedArticlesState.setArticleList(savedArticleOutputData.getArticles());
+        }
+        else {
+            savedArticlesState.addArticles(savedArticleOutputData.getArticles());
+        }
+        savedArticlesState.setNextPageToken(savedArticleOutputData.getNextPageToken());
         this.savedArticlesViewModel.firePropertyChanged("articles");
-        this.viewManagerModel.firePropertyChanged();
+
+        if (savedArticleOutputData.isFirstPage()) {
+            this.viewManagerModel.setState(savedArticlesViewModel.getViewName());
+            this.viewManagerModel.firePropertyChanged();
+        }
     }
 
     @Override
@@ -32,11 +32,12 @@ public class LoggedInState {
     }
 
     public void setCategoriesList(List<String> categoriesList) {
-        this.categoriesList = categoriesList;
+        // The state changes its own list, so it must not hold on to one the data access layer publishes
+        this.categoriesList = new ArrayList<>(categoriesList);
     }
 
     public void setArticleList(List<Article> articleList) {
-        this.articleList = articleList;
+        this.articleList = new ArrayList<>(articleList);
     }
 
     public void setUsername(String username) {
@@ -1,5 +1,6 @@
 package interface_adapter.logged_in;
 
+import entity.SessionContext;
 import use_case.remove_category.RemoveCategoryInputBoundary;
 import use_case.remove_category.RemoveCategoryInputData;
 
@@ -15,10 +16,12 @@ public class RemoveCategoryController {
 
     /**
      * Executes the RemoveCategory Use Case.
+     * @param username the username of the logged-in user
      * @param category the category to remove
      */
-    public void execute(String category) {
-        final RemoveCategoryInputData removeCategoryInputData = new RemoveCategoryInputData(category);
+    public void execute(String username, String category) {
+        final RemoveCategoryInputData removeCategoryInputData =
+                new RemoveCategoryInputData(new SessionContext(username), category);
         removeCategoryUseCaseInteractor.execute(removeCategoryInputData);
     }
 
@@ -1,6 +1,7 @@
 package interface_adapter.logged_in;
 
 import entity.Article;
+import entity.SessionContext;
 import use_case.save_article.SaveArticleInputBoundary;
 import use_case.save_article.SaveArticleInputData;
 
@@ -16,10 +17,12 @@ public class SaveArticleController {
 
     /**
      * Executes the SaveArticle Use Case.
+     * @param username the username of the logged-in user
      * @param article the article to add
      */
-    public void execute(Article article) {
-        final SaveArticleInputData saveArticleInputData = new SaveArticleInputData(article);
+    public void execute(String username, Article article) {
+        final SaveArticleInputData saveArticleInputData =
+                new SaveArticleInputData(new SessionContext(username), article);
         saveArticleUseCaseInteractor.execute(saveArticleInputData);
     }
 }
@@ -1,6 +1,8 @@
 package interface_adapter.logged_in;
 
+import entity.SessionContext;
 import use_case.saved_articles.SavedArticlesInputBoundary;
+import use_case.saved_articles.SavedArticlesInputData;
 
 /**
  * Saved articles controller.
@@ -14,8 +16,18 @@ public class SavedArticlesController {
 
     /**
      * Execute the use case.
+     * @param username the username of the logged-in user
      */
-    public void execute() {
-        savedArticlesInputBoundary.execute();
+    public void execute(String username) {
+        savedArticlesInputBoundary.execute(new SavedArticlesInputData(new SessionContext(username), null));
+    }
+
+    /**
+     * Execute the use case for the next page of articles.
+     * @param username the username of the logged-in user
+     * @param pageToken the continuation token of the page
+     */
+    public void loadMore(String username, String pageToken) {
+        savedArticlesInputBoundary.execute(new SavedArticlesInputData(new SessionContext(username), pageToken));
     }
 }
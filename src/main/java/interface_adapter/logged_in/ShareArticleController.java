@@ -1,6 +1,7 @@
 package interface_adapter.logged_in;
 
 import entity.Article;
+import entity.SessionContext;
 import use_case.share_article.ShareArticleInputBoundary;
 import use_case.share_article.ShareArticleInputData;
 import use_case.share_article.ShareArticleInputData2;
@@ -17,11 +18,13 @@ public class ShareArticleController {
 
     /**
      * Executes the ShareArticleToMyself  Use Case.
+     * @param username the username of the logged-in user, which is their email
      * @param article the article to add
      * @throws Exception exception
      */
-    public void execute(Article article) throws Exception {
-        final ShareArticleInputData shareArticleInputData = new ShareArticleInputData(article);
+    public void execute(String username, Article article) throws Exception {
+        final ShareArticleInputData shareArticleInputData =
+                new ShareArticleInputData(new SessionContext(username), article);
         shareArticleInputBoundary.execute(shareArticleInputData);
     }
 
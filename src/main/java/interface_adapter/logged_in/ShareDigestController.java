@@ -0,0 +1,28 @@
+package interface_adapter.logged_in;
+
+import java.util.List;
+
+import entity.Article;
+import entity.SessionContext;
+import use_case.share_digest.ShareDigestInputBoundary;
+import use_case.share_digest.ShareDigestInputData;
+
+/**
+ * Controller for the Share Digest Use Case.
+ */
+public class ShareDigestController {
+    private final ShareDigestInputBoundary shareDigestInputBoundary;
+
+    public ShareDigestController(ShareDigestInputBoundary shareDigestInputBoundary) {
+        this.shareDigestInputBoundary = shareDigestInputBoundary;
+    }
+
+    /**
+     * Executes the Share Digest Use Case, sending the digest to the user's own email.
+     * @param username the username of the logged-in user, which is their email
+     * @param articles the articles of the digest
+     */
+    public void execute(String username, List<Article> articles) {
+        shareDigestInputBoundary.execute(new ShareDigestInputData(new SessionContext(username), articles));
+    }
+}
@@ -0,0 +1,32 @@
+package interface_adapter.logged_in;
+
+import use_case.share_digest.ShareDigestOutputBoundary;
+import use_case.share_digest.ShareDigestOutputData;
+
+/**
+ * The Presenter for the Share Digest Use Case. Failures get a property of their own, so the logged in view
+ * shows every one of them, whatever the message.
+ */
+public class ShareDigestPresenter implements ShareDigestOutputBoundary {
+    public static final String SHARED_PROPERTY_PREFIX = "digest shared: ";
+    public static final String ERROR_PROPERTY = "share digest error";
+
+    private final LoggedInViewModel loggedInViewModel;
+
+    public ShareDigestPresenter(LoggedInViewModel loggedInViewModel) {
+        this.loggedInViewModel = loggedInViewModel;
+    }
+
+    // Tell the user how many emails the digest went out in
+    @Override
+    public void prepareSuccessView(ShareDigestOutputData response) {
+        loggedInViewModel.firePropertyChanged(SHARED_PROPERTY_PREFIX + response.getMessageCount());
+    }
+
+    @Override
+    public void prepareFailView(String error) {
+        final LoggedInState loggedInState = loggedInViewModel.getState();
+        loggedInState.setLoggedInError(error);
+        loggedInViewModel.firePropertyChanged(ERROR_PROPERTY);
+    }
+}
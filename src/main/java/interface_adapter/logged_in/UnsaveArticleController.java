@@ -1,6 +1,7 @@
 package interface_adapter.logged_in;
 
 import entity.Article;
+import entity.SessionContext;
 import use_case.unsave_article.UnsaveArticleInputBoundary;
 import use_case.unsave_article.UnsaveArticleInputData;
 
@@ -16,10 +17,12 @@ public class UnsaveArticleController {
 
     /**
      * Executes the SaveArticle Use Case.
+     * @param username the username of the logged-in user
      * @param article the article to remove
      */
-    public void execute(Article article) {
-        final UnsaveArticleInputData unsaveArticleInputData = new UnsaveArticleInputData(article);
+    public void execute(String username, Article article) {
+        final UnsaveArticleInputData unsaveArticleInputData =
+                new UnsaveArticleInputData(new SessionContext(username), article);
         unsaveArticleUseCaseInteractor.execute(unsaveArticleInputData);
     }
 }
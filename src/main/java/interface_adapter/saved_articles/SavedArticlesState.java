@@ -3,9 +3,9 @@ package interface_adapter.saved_articles;
 import entity.Article;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * State for the saved articles view.
@@ -13,14 +13,17 @@ import java.util.Map;
 public class SavedArticlesState {
     private String username = "";
     private String savedArticlesError;
-    private Map<String, List<Article>> articleMap = new HashMap<>();
+    // Loaded articles, newest first
+    private List<Article> articleList = new ArrayList<>();
+    private String nextPageToken;
     private List<String> categoriesFilterList = new ArrayList<>();
 
     public SavedArticlesState(SavedArticlesState copy) {
         this.username = copy.username;
         this.savedArticlesError = copy.savedArticlesError;
-        this.articleMap = copy.articleMap;
-        this.categoriesFilterList = copy.categoriesFilterList;
+        this.articleList = new ArrayList<>(copy.articleList);
+        this.nextPageToken = copy.nextPageToken;
+        this.categoriesFilterList = new ArrayList<>(copy.categoriesFilterList);
     }
 
     public SavedArticlesState() {
@@ -48,7 +51,13 @@ public class SavedArticlesState {
      * @return list of aticles
      */
     public List<Article> getArticlesByCategory(String category) {
-        return articleMap.get(category);
+        final List<Article> articles = new ArrayList<>();
+        for (Article article : articleList) {
+            if (article.getCategory().equals(category)) {
+                articles.add(article);
+            }
+        }
+        return articles;
     }
 
     /**
@@ -56,11 +65,19 @@ public class SavedArticlesState {
      * @return list of articles
      */
     public List<Article> getArticleList() {
-        final List<Article> articles = new ArrayList<>();
-        for (String key : articleMap.keySet()) {
-            articles.addAll(articleMap.get(key));
-        }
-        return articles;
+        return articleList;
+    }
+
+    /**
+     * Gets the token for loading the next page of articles.
+     * @return the token, or null if every article is loaded
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
     }
 
     public List<String> getCategoriesFilterList() {
@@ -68,7 +85,7 @@ public class SavedArticlesState {
     }
 
     public void setCategoriesFilterList(List<String> categoriesFilterList) {
-        this.categoriesFilterList = categoriesFilterList;
+        this.categoriesFilterList = new ArrayList<>(categoriesFilterList);
     }
 
     /**
@@ -92,14 +109,28 @@ public class SavedArticlesState {
      * @param article artilce
      */
     public void removeArticle(Article article) {
-        articleMap.get(article.getCategory()).remove(article);
+        articleList.remove(article);
+    }
+
+    /**
+     * Set the article list.
+     * @param articleList article list
+     */
+    public void setArticleList(List<Article> articleList) {
+        this.articleList = new ArrayList<>(articleList);
     }
 
     /**
-     * Set the article map.
-     * @param articleMap article map
+     * Add the next page of articles to the list.
+     * @param articles articles
      */
-    public void setArticleMap(Map<String, List<Article>> articleMap) {
-        this.articleMap = articleMap;
+    public void addArticles(List<Article> articles) {
+        // Skip articles already loaded, such as one saved again while paging
+        final Set<Article> loaded = new HashSet<>(articleList);
+        for (Article article : articles) {
+            if (loaded.add(article)) {
+                articleList.add(article);
+            }
+        }
     }
 }
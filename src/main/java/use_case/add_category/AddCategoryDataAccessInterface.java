@@ -8,13 +8,15 @@ import java.util.List;
 public interface AddCategoryDataAccessInterface {
     /**
      * Saves the category to the user's categories.
+     * @param username the user saving the category
      * @param category the category to save
      */
-    void saveCategory(String category);
+    void saveCategory(String username, String category);
 
     /**
-     * Gets the current user's category list.
-     * @return the current user's category list.
+     * Gets the user's category list.
+     * @param username the user whose categories to get
+     * @return the user's category list.
      */
-    List<String> getUserCategories();
+    List<String> getUserCategories(String username);
 }
@@ -1,15 +1,23 @@
 package use_case.add_category;
 
+import entity.SessionContext;
+
 /**
  * The Input Data for the AddCategory Use Case.
  */
 public class AddCategoryInputData {
+    private final SessionContext session;
     private final String category;
 
-    public AddCategoryInputData(String inputCategory) {
+    public AddCategoryInputData(SessionContext session, String inputCategory) {
+        this.session = session;
         this.category = inputCategory;
     }
 
+    public SessionContext getSession() {
+        return session;
+    }
+
     public String getCategory() {
         return category;
     }
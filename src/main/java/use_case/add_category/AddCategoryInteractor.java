@@ -18,7 +18,8 @@ public class AddCategoryInteractor implements AddCategoryInputBoundary {
     @Override
     public void execute(AddCategoryInputData addCategoryInputData) {
         final String inputCategory = addCategoryInputData.getCategory();
-        final List<String> categories = addCategoryDataAccessObject.getUserCategories();
+        final String username = addCategoryInputData.getSession().getUsername();
+        final List<String> categories = addCategoryDataAccessObject.getUserCategories(username);
 
         if (categories.contains(inputCategory)) {
             addCategoryPresenter.prepareFailView("Category already exists.");
@@ -27,7 +28,7 @@ public class AddCategoryInteractor implements AddCategoryInputBoundary {
             addCategoryPresenter.prepareFailView("Please enter a valid category.");
         }
         else {
-            addCategoryDataAccessObject.saveCategory(inputCategory);
+            addCategoryDataAccessObject.saveCategory(username, inputCategory);
             final AddCategoryOutputData addCategoryOutputData =
                     new AddCategoryOutputData(inputCategory, false);
             addCategoryPresenter.prepareSuccessView(addCategoryOutputData);
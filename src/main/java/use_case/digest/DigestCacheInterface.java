@@ -0,0 +1,24 @@
+package use_case.digest;
+
+import java.util.concurrent.CompletableFuture;
+
+import entity.Article;
+
+/**
+ * Source of digest articles that were prepared ahead of time for the Digest Use Case.
+ */
+public interface DigestCacheInterface {
+    /**
+     * Looks up the prepared article for a keyword. The returned future may still be running; it completes
+     * with the summarized article, or with null if no article was found for the keyword. It completes
+     * exceptionally if preparing the article failed.
+     * @param keyword keyword
+     * @param fromDate from date
+     * @param toDate to date
+     * @param language language
+     * @param sortBy sort by
+     * @return the prepared article, or null if nothing was prepared for the keyword
+     */
+    CompletableFuture<Article> lookup(String keyword, String fromDate, String toDate, String language,
+                                      String sortBy);
+}
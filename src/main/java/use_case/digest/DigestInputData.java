@@ -4,6 +4,9 @@ package use_case.digest;
  * Input Data object for the digest use case.
  */
 public class DigestInputData {
+    static final String DEFAULT_LANGUAGE = "en";
+    static final String SORT_BY_NEWEST = "publishedAt";
+    private static final String DEFAULT_SORT_BY = "relevancy";
 
     private final String[] keywords;
     private final String fromDate;
@@ -19,6 +22,28 @@ public class DigestInputData {
         this.sortBy = sortBy;
     }
 
+    /**
+     * Creates the input data for the default digest: English articles from the past week, sorted by relevancy.
+     * @param keywords keywords
+     * @return the input data
+     */
+    public static DigestInputData forPastWeek(String[] keywords) {
+        final String oneWeekAgo = java.time.LocalDate.now().minusWeeks(1).toString();
+        final String today = java.time.LocalDate.now().toString();
+        return new DigestInputData(keywords, oneWeekAgo, today, DEFAULT_LANGUAGE, DEFAULT_SORT_BY);
+    }
+
+    /**
+     * Creates the input data for the digest of the latest news: English articles from the past week, newest first.
+     * @param keywords keywords
+     * @return the input data
+     */
+    public static DigestInputData forLatestOfPastWeek(String[] keywords) {
+        final String oneWeekAgo = java.time.LocalDate.now().minusWeeks(1).toString();
+        final String today = java.time.LocalDate.now().toString();
+        return new DigestInputData(keywords, oneWeekAgo, today, DEFAULT_LANGUAGE, SORT_BY_NEWEST);
+    }
+
     String[] getKeywords() {
         return keywords;
     }
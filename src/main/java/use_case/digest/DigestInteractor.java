@@ -2,7 +2,11 @@ package use_case.digest;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import entity.Article;
 
@@ -13,13 +17,22 @@ public class DigestInteractor implements DigestInputBoundary {
     private final DigestNewsDataAccessInterface digestNewsDataAccessInterface;
     private final DigestCohereDataAccessInterface digestCohereDataAccessInterface;
     private final DigestOutputBoundary digestPresenter;
+    private final DigestCacheInterface digestCache;
 
     public DigestInteractor(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
                             DigestCohereDataAccessInterface digestCohereDataAccessInterface,
                             DigestOutputBoundary digestPresenter) {
+        this(digestNewsDataAccessInterface, digestCohereDataAccessInterface, digestPresenter, null);
+    }
+
+    public DigestInteractor(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
+                            DigestCohereDataAccessInterface digestCohereDataAccessInterface,
+                            DigestOutputBoundary digestPresenter,
+                            DigestCacheInterface digestCache) {
         this.digestNewsDataAccessInterface = digestNewsDataAccessInterface;
         this.digestCohereDataAccessInterface = digestCohereDataAccessInterface;
         this.digestPresenter = digestPresenter;
+        this.digestCache = digestCache;
     }
 
     @Override
@@ -30,16 +43,35 @@ public class DigestInteractor implements DigestInputBoundary {
         final String language = digestInputData.getLanguage();
         final String sortBy = digestInputData.getSortBy();
 
+        // Keywords that were prepared ahead of time are taken from the cache, the rest are fetched now
+        final Map<String, CompletableFuture<Article>> preparedArticles = new LinkedHashMap<>();
+        final List<String> remainingKeywords = new ArrayList<>();
+        for (String keyword : keywords) {
+            CompletableFuture<Article> preparedArticle = null;
+            if (digestCache != null) {
+                preparedArticle = digestCache.lookup(keyword, fromDate, toDate, language, sortBy);
+            }
+            if (preparedArticle != null) {
+                preparedArticles.put(keyword, preparedArticle);
+            }
+            else {
+                remainingKeywords.add(keyword);
+            }
+        }
+
         List<Article> articles = new ArrayList<>();
 
         Boolean fail = false;
 
-        try {
-            articles = digestNewsDataAccessInterface.fetchFirstMultiple(keywords, fromDate, toDate, language, sortBy);
-        }
-        catch (IOException ioException) {
-            digestPresenter.prepareFailView("Error in fetching articles");
-            fail = true;
+        if (!remainingKeywords.isEmpty() || preparedArticles.isEmpty()) {
+            try {
+                articles = digestNewsDataAccessInterface.fetchFirstMultiple(remainingKeywords.toArray(new String[0]),
+                        fromDate, toDate, language, sortBy);
+            }
+            catch (IOException ioException) {
+                digestPresenter.prepareFailView("Error in fetching articles");
+                fail = true;
+            }
         }
 
         if (!fail) {
@@ -53,8 +85,50 @@ public class DigestInteractor implements DigestInputBoundary {
                 }
             }
 
+            if (!preparedArticles.isEmpty()) {
+                try {
+                    articles = mergeInKeywordOrder(keywords, preparedArticles, articles);
+                }
+                catch (CompletionException completionException) {
+                    // A prepared article that failed is missing from the digest, which is reported as failed
+                    digestPresenter.prepareFailView("Error in fetching articles");
+                    fail = true;
+                }
+            }
+        }
+
+        if (!fail) {
             final DigestOutputData digestOutputData = new DigestOutputData(articles);
             digestPresenter.prepareSuccessView(digestOutputData);
         }
     }
+
+    private List<Article> mergeInKeywordOrder(String[] keywords, Map<String, CompletableFuture<Article>> prepared,
+                                              List<Article> fetched) {
+        final Map<String, Article> fetchedByKeyword = new LinkedHashMap<>();
+        final List<Article> unmatched = new ArrayList<>();
+        for (Article article : fetched) {
+            if (fetchedByKeyword.putIfAbsent(article.getCategory(), article) != null) {
+                unmatched.add(article);
+            }
+        }
+
+        final List<Article> merged = new ArrayList<>();
+        for (String keyword : keywords) {
+            final Article article;
+            if (prepared.containsKey(keyword)) {
+                // Waits only if the prefetch for this keyword is still running
+                article = prepared.get(keyword).join();
+            }
+            else {
+                article = fetchedByKeyword.remove(keyword);
+            }
+            if (article != null) {
+                merged.add(article);
+            }
+        }
+        merged.addAll(fetchedByKeyword.values());
+        merged.addAll(unmatched);
+        return merged;
+    }
 }
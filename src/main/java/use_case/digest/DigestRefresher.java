@@ -0,0 +1,210 @@
+package use_case.digest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import entity.Article;
+import use_case.login.LoginDigestPrefetchInterface;
+
+/**
+ * Keeps the digest article of every category of the users who logged in recently up to date on a schedule.
+ * Each category remembers the publishedAt timestamp of the newest article it has seen, and every refresh only
+ * asks the News API for articles published after it, so only new articles are summarized. Generating the
+ * digest then reads the latest article of each category instead of fetching and summarizing it on demand.
+ * A category nobody has logged in with or looked up for {@value #IDLE_REFRESHES} refresh intervals is dropped.
+ */
+public class DigestRefresher implements LoginDigestPrefetchInterface, DigestCacheInterface {
+    public static final long DEFAULT_REFRESH_INTERVAL_MINUTES = 15;
+    public static final int IDLE_REFRESHES = 4;
+
+    private static final int PAGE_SIZE = 5;
+    // publishedAt values start with an ISO-8601 date, e.g. 2024-11-20T12:34:56Z
+    private static final int DATE_LENGTH = 10;
+
+    private final DigestNewsDataAccessInterface digestNewsDataAccessInterface;
+    private final DigestCohereDataAccessInterface digestCohereDataAccessInterface;
+    private final long idleTimeoutNanos;
+    private final Map<String, CategoryDigest> digests = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "digest-refresh");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public DigestRefresher(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
+                           DigestCohereDataAccessInterface digestCohereDataAccessInterface) {
+        this(digestNewsDataAccessInterface, digestCohereDataAccessInterface, DEFAULT_REFRESH_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    public DigestRefresher(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
+                           DigestCohereDataAccessInterface digestCohereDataAccessInterface,
+                           long refreshInterval, TimeUnit unit) {
+        this(digestNewsDataAccessInterface, digestCohereDataAccessInterface, refreshInterval,
+                refreshInterval * IDLE_REFRESHES, unit);
+    }
+
+    DigestRefresher(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
+                    DigestCohereDataAccessInterface digestCohereDataAccessInterface,
+                    long refreshInterval, long idleTimeout, TimeUnit unit) {
+        this.digestNewsDataAccessInterface = digestNewsDataAccessInterface;
+        this.digestCohereDataAccessInterface = digestCohereDataAccessInterface;
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        scheduler.scheduleWithFixedDelay(this::refreshAll, refreshInterval, refreshInterval, unit);
+    }
+
+    /**
+     * Adds the given categories to the ones kept up to date and refreshes the new ones right away.
+     * Categories of other users stay until they go idle.
+     * @param categories the categories of the user who logged in
+     */
+    @Override
+    public void prefetch(List<String> categories) {
+        for (String category : categories) {
+            final CategoryDigest existing = digests.putIfAbsent(category, new CategoryDigest());
+            if (existing == null) {
+                scheduler.execute(() -> refresh(category));
+            }
+            else {
+                existing.touch();
+            }
+        }
+    }
+
+    /**
+     * Returns the latest article of a kept-up-to-date category for a newest-first digest, as long as it was
+     * published inside the requested window. Digests in any other order or language are not served from here.
+     */
+    @Override
+    public CompletableFuture<Article> lookup(String keyword, String fromDate, String toDate, String language,
+                                             String sortBy) {
+        final CategoryDigest digest = digests.get(keyword);
+        CompletableFuture<Article> result = null;
+        if (digest != null && DigestInputData.DEFAULT_LANGUAGE.equals(language)
+                && DigestInputData.SORT_BY_NEWEST.equals(sortBy)) {
+            digest.touch();
+            final CompletableFuture<Article> article = digest.article;
+            if (!article.isDone()) {
+                // The first refresh of this category is still running
+                result = article;
+            }
+            else if (article.join() != null && isWithin(article.join(), fromDate, toDate)) {
+                result = article;
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWithin(Article article, String fromDate, String toDate) {
+        final String date = article.getDate();
+        if (date == null || date.length() < DATE_LENGTH) {
+            return false;
+        }
+        final String publishedOn = date.substring(0, DATE_LENGTH);
+        return (fromDate == null || publishedOn.compareTo(fromDate) >= 0)
+                && (toDate == null || publishedOn.compareTo(toDate) <= 0);
+    }
+
+    void refreshAll() {
+        final long now = System.nanoTime();
+        digests.values().removeIf(digest -> now - digest.lastUsedNanos >= idleTimeoutNanos);
+        for (String category : digests.keySet()) {
+            refresh(category);
+        }
+    }
+
+    /**
+     * Refreshes one category. A failure is reported and leaves the previous article in place, so neither
+     * a lookup waiting on the first refresh nor the scheduled refresh of the other categories gets stuck.
+     * @param category the category to refresh
+     */
+    void refresh(String category) {
+        final CategoryDigest digest = digests.get(category);
+        if (digest == null) {
+            return;
+        }
+
+        try {
+            update(category, digest);
+        }
+        catch (IOException | RuntimeException exception) {
+            System.err.println("Could not refresh the digest of " + category + ": " + exception.getMessage());
+            // Lets lookups fall back if there never was an article
+            digest.article.complete(null);
+        }
+    }
+
+    /**
+     * Fetches the articles of one category published since its watermark and summarizes the newest one.
+     * @param category the category
+     * @param digest the digest of the category
+     * @throws IOException if the articles cannot be fetched
+     */
+    private void update(String category, CategoryDigest digest) throws IOException {
+        final Article newest = fetchNewest(category, digest.watermark);
+        if (newest != null) {
+            try {
+                newest.setDescription(digestCohereDataAccessInterface.summarize(newest.getContent()));
+            }
+            catch (IOException ioException) {
+                newest.setDescription("Error in summarizing article");
+                System.err.println("Could not summarize the digest of " + category + ": "
+                        + ioException.getMessage());
+            }
+            digest.watermark = newest.getDate();
+            if (!digest.article.complete(newest)) {
+                digest.article = CompletableFuture.completedFuture(newest);
+            }
+        }
+        else {
+            // Nothing new: keep the previous article, or let lookups fall back if there never was one
+            digest.article.complete(null);
+        }
+    }
+
+    private Article fetchNewest(String category, String watermark) throws IOException {
+        final String fromDate;
+        if (watermark == null) {
+            fromDate = LocalDate.now().minusWeeks(1).toString();
+        }
+        else {
+            fromDate = watermark;
+        }
+
+        final List<Article> articles = digestNewsDataAccessInterface.fetchArticlesByKeyword(category, fromDate,
+                null, DigestInputData.DEFAULT_LANGUAGE, DigestInputData.SORT_BY_NEWEST, 1, PAGE_SIZE);
+
+        Article newest = null;
+        for (Article article : articles) {
+            final String date = article.getDate();
+            // The News API treats the from date as inclusive, so the watermark article itself comes back
+            if (date != null && (watermark == null || date.compareTo(watermark) > 0)
+                    && (newest == null || date.compareTo(newest.getDate()) > 0)) {
+                newest = article;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * The latest digest article of one category, the publishedAt of the newest article seen and when the
+     * category was last asked for.
+     */
+    private static final class CategoryDigest {
+        private volatile String watermark;
+        private volatile CompletableFuture<Article> article = new CompletableFuture<>();
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+    }
+}
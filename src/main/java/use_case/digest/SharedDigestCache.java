@@ -0,0 +1,84 @@
+package use_case.digest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import entity.Article;
+
+/**
+ * Digest cache shared by many digests generated together, such as a batch run. The first digest that needs
+ * a keyword fetches and summarizes its article on its own thread; every later digest asking for the same
+ * keyword and window gets that article, waiting for it if it is still being prepared. Nothing expires, so
+ * one cache should live no longer than the run it serves. A fetch that fails is not kept: the digests
+ * already waiting on it fail with it, and the next digest that needs the keyword fetches it again.
+ */
+public class SharedDigestCache implements DigestCacheInterface {
+    private final DigestNewsDataAccessInterface digestNewsDataAccessInterface;
+    private final DigestCohereDataAccessInterface digestCohereDataAccessInterface;
+    private final Map<String, CompletableFuture<Article>> articles = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+
+    public SharedDigestCache(DigestNewsDataAccessInterface digestNewsDataAccessInterface,
+                             DigestCohereDataAccessInterface digestCohereDataAccessInterface) {
+        this.digestNewsDataAccessInterface = digestNewsDataAccessInterface;
+        this.digestCohereDataAccessInterface = digestCohereDataAccessInterface;
+    }
+
+    @Override
+    public CompletableFuture<Article> lookup(String keyword, String fromDate, String toDate, String language,
+                                             String sortBy) {
+        final String key = String.join("|", keyword, fromDate, toDate, language, sortBy);
+        final CompletableFuture<Article> ownArticle = new CompletableFuture<>();
+        final CompletableFuture<Article> existingArticle = articles.putIfAbsent(key, ownArticle);
+        if (existingArticle != null) {
+            hitCount.incrementAndGet();
+            return existingArticle;
+        }
+
+        try {
+            ownArticle.complete(fetchAndSummarize(keyword, fromDate, toDate, language, sortBy));
+        }
+        catch (IOException | RuntimeException exception) {
+            // Other digests may be waiting on this article, so fail them too rather than leave them waiting,
+            // and forget the fetch so that a later digest tries again
+            articles.remove(key, ownArticle);
+            ownArticle.completeExceptionally(exception);
+        }
+        return ownArticle;
+    }
+
+    private Article fetchAndSummarize(String keyword, String fromDate, String toDate, String language,
+                                      String sortBy) throws IOException {
+        final Article article =
+                digestNewsDataAccessInterface.fetchFirstArticle(keyword, fromDate, toDate, language, sortBy);
+        if (article != null) {
+            try {
+                article.setDescription(digestCohereDataAccessInterface.summarize(article.getContent()));
+            }
+            catch (IOException ioException) {
+                article.setDescription("Error in summarizing article");
+                ioException.printStackTrace();
+            }
+        }
+        return article;
+    }
+
+    /**
+     * Returns the number of lookups answered with an article another digest prepared.
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of distinct keywords and windows fetched, not counting fetches that failed.
+     * @return the number of fetched keywords
+     */
+    public int getFetchCount() {
+        return articles.size();
+    }
+}
@@ -0,0 +1,32 @@
+package use_case.login;
+
+import java.util.List;
+
+/**
+ * The part of a user that logging in needs: the name, the password and the categories, without the saved
+ * articles.
+ */
+public class LoginCredentials {
+
+    private final String username;
+    private final String password;
+    private final List<String> categories;
+
+    public LoginCredentials(String username, String password, List<String> categories) {
+        this.username = username;
+        this.password = password;
+        this.categories = categories;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+}
@@ -0,0 +1,14 @@
+package use_case.login;
+
+import java.util.List;
+
+/**
+ * Hook used by the Login Use Case to start preparing the digest of a user who has just logged in.
+ */
+public interface LoginDigestPrefetchInterface {
+    /**
+     * Starts preparing the digest for the given categories in the background. Must not block.
+     * @param categories the categories of the user who logged in
+     */
+    void prefetch(List<String> categories);
+}
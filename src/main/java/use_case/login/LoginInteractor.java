@@ -3,19 +3,25 @@ package use_case.login;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import entity.User;
-
 /**
  * The Login Interactor.
  */
 public class LoginInteractor implements LoginInputBoundary {
     private final LoginUserDataAccessInterface userDataAccessObject;
     private final LoginOutputBoundary loginPresenter;
+    private final LoginDigestPrefetchInterface digestPrefetcher;
 
     public LoginInteractor(LoginUserDataAccessInterface userDataAccessInterface,
                            LoginOutputBoundary loginOutputBoundary) {
+        this(userDataAccessInterface, loginOutputBoundary, null);
+    }
+
+    public LoginInteractor(LoginUserDataAccessInterface userDataAccessInterface,
+                           LoginOutputBoundary loginOutputBoundary,
+                           LoginDigestPrefetchInterface digestPrefetcher) {
         this.userDataAccessObject = userDataAccessInterface;
         this.loginPresenter = loginOutputBoundary;
+        this.digestPrefetcher = digestPrefetcher;
     }
 
     @Override
@@ -31,19 +37,23 @@ public class LoginInteractor implements LoginInputBoundary {
         else if (!matchFound) {
             loginPresenter.prepareFailView("This has to be a valid email address.");
         }
-        else if (!userDataAccessObject.existsByName(username)) {
-            loginPresenter.prepareFailView(username + ": Account does not exist.");
-        }
         else {
-            final String pwd = userDataAccessObject.get(username).getPassword();
-            if (!password.equals(pwd)) {
+            // One read answers whether the account exists, checks the password and gives the categories
+            final LoginCredentials credentials = userDataAccessObject.getCredentials(username);
+            if (credentials == null) {
+                loginPresenter.prepareFailView(username + ": Account does not exist.");
+            }
+            else if (!password.equals(credentials.getPassword())) {
                 loginPresenter.prepareFailView("Incorrect password for \"" + username + "\".");
             }
             else {
-                final User user = userDataAccessObject.get(loginInputData.getUsername());
-                userDataAccessObject.setCurrentUsername(user.getName());
-                final LoginOutputData loginOutputData = new LoginOutputData(user.getName(), user.getCategories(),
-                        false);
+                userDataAccessObject.setCurrentUsername(credentials.getUsername());
+                if (digestPrefetcher != null) {
+                    // Start warming the digest while the logged in view is shown
+                    digestPrefetcher.prefetch(credentials.getCategories());
+                }
+                final LoginOutputData loginOutputData = new LoginOutputData(credentials.getUsername(),
+                        credentials.getCategories(), false);
                 loginPresenter.prepareSuccessView(loginOutputData);
             }
         }
@@ -27,6 +27,14 @@ public interface LoginUserDataAccessInterface {
      */
     User get(String username);
 
+    /**
+     * Returns the name, password and categories of the user with the given username in one read, without
+     * loading their saved articles.
+     * @param username the username to look up
+     * @return the credentials, or null if there is no such user
+     */
+    LoginCredentials getCredentials(String username);
+
     /**
      * Sets the current user to the name given.
      * @param name the username to look up
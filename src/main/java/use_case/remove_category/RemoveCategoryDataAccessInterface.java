@@ -7,14 +7,16 @@ import java.util.List;
  */
 public interface RemoveCategoryDataAccessInterface {
     /**
-     * Saves the category to the current user's categories.
-     * @param category the category to save
+     * Removes the category from the user's categories.
+     * @param username the user removing the category
+     * @param category the category to remove
      */
-    void removeCategory(String category);
+    void removeCategory(String username, String category);
 
     /**
-     * Gets the current user's category list.
-     * @return the current user's category list.
+     * Gets the user's category list.
+     * @param username the user whose categories to get
+     * @return the user's category list.
      */
-    List<String> getUserCategories();
+    List<String> getUserCategories(String username);
 }
@@ -1,15 +1,23 @@
 package use_case.remove_category;
 
+import entity.SessionContext;
+
 /**
  * The Input Data for the RemoveCategory Use Case.
  */
 public class RemoveCategoryInputData {
+    private final SessionContext session;
     private final String category;
 
-    public RemoveCategoryInputData(String inputCategory) {
+    public RemoveCategoryInputData(SessionContext session, String inputCategory) {
+        this.session = session;
         this.category = inputCategory;
     }
 
+    public SessionContext getSession() {
+        return session;
+    }
+
     public String getCategory() {
         return category;
     }
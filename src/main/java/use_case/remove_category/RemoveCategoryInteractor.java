@@ -18,13 +18,14 @@ public class RemoveCategoryInteractor implements RemoveCategoryInputBoundary {
     @Override
     public void execute(RemoveCategoryInputData removeCategoryInputData) {
         final String inputCategory = removeCategoryInputData.getCategory();
-        final List<String> categories = removecategoryDataAccessObject.getUserCategories();
+        final String username = removeCategoryInputData.getSession().getUsername();
+        final List<String> categories = removecategoryDataAccessObject.getUserCategories(username);
 
         if (!categories.contains(inputCategory)) {
             removeCategoryPresenter.prepareFailView("Category does not exist.");
         }
         else {
-            removecategoryDataAccessObject.removeCategory(inputCategory);
+            removecategoryDataAccessObject.removeCategory(username, inputCategory);
             final RemoveCategoryOutputData removeCategoryOutputData =
                     new RemoveCategoryOutputData(inputCategory, false);
             removeCategoryPresenter.prepareSuccessView(removeCategoryOutputData);
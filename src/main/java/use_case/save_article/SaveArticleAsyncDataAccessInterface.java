@@ -0,0 +1,18 @@
+package use_case.save_article;
+
+import java.util.concurrent.CompletableFuture;
+
+import entity.Article;
+
+/**
+ * Non-blocking Save Article DAI.
+ */
+public interface SaveArticleAsyncDataAccessInterface {
+    /**
+     * Saves the article to the user's articles without blocking the calling thread.
+     * @param username the user saving the article
+     * @param article the article to save
+     * @return a future of whether the article was saved, false when it was saved already
+     */
+    CompletableFuture<Boolean> saveArticleAsync(String username, Article article);
+}
@@ -0,0 +1,52 @@
+package use_case.save_article;
+
+import java.util.concurrent.Executor;
+
+import entity.Article;
+
+/**
+ * Save Article Interactor that does not block the calling thread. The save is checked and written in one
+ * step by the data access object, and the presenter is called once it completes, possibly on another thread.
+ */
+public class SaveArticleAsyncInteractor implements SaveArticleInputBoundary {
+    private final SaveArticleAsyncDataAccessInterface saveArticleDataAccessObject;
+    private final SaveArticleOutputBoundary saveArticlePresenter;
+    private final Executor presenterExecutor;
+
+    public SaveArticleAsyncInteractor(SaveArticleAsyncDataAccessInterface saveArticleAsyncDataAccessInterface,
+                                      SaveArticleOutputBoundary saveArticleOutputBoundary) {
+        this(saveArticleAsyncDataAccessInterface, saveArticleOutputBoundary, Runnable::run);
+    }
+
+    /**
+     * Creates the interactor.
+     * @param saveArticleAsyncDataAccessInterface the DAO
+     * @param saveArticleOutputBoundary the presenter
+     * @param presenterExecutor runs the presenter calls, for example on the thread of the user interface
+     */
+    public SaveArticleAsyncInteractor(SaveArticleAsyncDataAccessInterface saveArticleAsyncDataAccessInterface,
+                                      SaveArticleOutputBoundary saveArticleOutputBoundary,
+                                      Executor presenterExecutor) {
+        this.saveArticleDataAccessObject = saveArticleAsyncDataAccessInterface;
+        this.saveArticlePresenter = saveArticleOutputBoundary;
+        this.presenterExecutor = presenterExecutor;
+    }
+
+    @Override
+    public void execute(SaveArticleInputData saveArticleInputData) {
+        final String username = saveArticleInputData.getSession().getUsername();
+        final Article article = saveArticleInputData.getArticle();
+        saveArticleDataAccessObject.saveArticleAsync(username, article)
+                .whenCompleteAsync((saved, throwable) -> {
+                    if (throwable != null) {
+                        saveArticlePresenter.prepareFailView("Could not save article.");
+                    }
+                    else if (saved) {
+                        saveArticlePresenter.prepareSuccessView(new SaveArticleOutputData(article, false));
+                    }
+                    else {
+                        saveArticlePresenter.prepareFailView("Article already saved.");
+                    }
+                }, presenterExecutor);
+    }
+}
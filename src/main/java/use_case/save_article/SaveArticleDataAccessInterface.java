@@ -1,8 +1,5 @@
 package use_case.save_article;
 
-import java.util.List;
-import java.util.Map;
-
 import entity.Article;
 
 /**
@@ -11,13 +8,16 @@ import entity.Article;
 public interface SaveArticleDataAccessInterface {
     /**
      * Saves the article to the user's articles.
+     * @param username the user saving the article
      * @param article the article to save
      */
-    void saveArticle(Article article);
+    void saveArticle(String username, Article article);
 
     /**
-     * Gets the given user's articles.
-     * @return the given user's articles.
+     * Checks whether the user saved the article with the given key.
+     * @param username the user to check
+     * @param articleKey the key of the article, see {@link entity.ArticleKey}
+     * @return whether the article is saved
      */
-    Map<String, List<Article>> getUserArticles();
+    boolean containsArticle(String username, long articleKey);
 }
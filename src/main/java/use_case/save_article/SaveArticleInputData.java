@@ -1,17 +1,24 @@
 package use_case.save_article;
 
 import entity.Article;
+import entity.SessionContext;
 
 /**
  * The Input Data for the SaveArticle Use Case.
  */
 public class SaveArticleInputData {
+    private final SessionContext session;
     private final Article article;
 
-    public SaveArticleInputData(Article article) {
+    public SaveArticleInputData(SessionContext session, Article article) {
+        this.session = session;
         this.article = article;
     }
 
+    public SessionContext getSession() {
+        return session;
+    }
+
     public Article getArticle() {
         return article;
     }
@@ -1,18 +1,39 @@
 package use_case.saved_articles;
 
-import entity.User;
+import java.util.List;
+
+import entity.Article;
 
 /**
  * Ouput data for the saved article use case.
  */
 public class SavedArticleOutputData {
-    private User user;
+    private final String username;
+    private final List<Article> articles;
+    private final String nextPageToken;
+    private final boolean firstPage;
+
+    public SavedArticleOutputData(String username, List<Article> articles, String nextPageToken,
+                                  boolean firstPage) {
+        this.username = username;
+        this.articles = articles;
+        this.nextPageToken = nextPageToken;
+        this.firstPage = firstPage;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<Article> getArticles() {
+        return articles;
+    }
 
-    public SavedArticleOutputData(User user) {
-        this.user = user;
+    public String getNextPageToken() {
+        return nextPageToken;
     }
 
-    public User getUser() {
-        return this.user;
+    public boolean isFirstPage() {
+        return firstPage;
     }
 }
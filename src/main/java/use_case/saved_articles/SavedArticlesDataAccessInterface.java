@@ -1,21 +1,16 @@
 package use_case.saved_articles;
 
-import entity.User;
-
 /**
  * DAI for the saved articles use case.
  */
 public interface SavedArticlesDataAccessInterface {
     /**
-     * Gets the user.
-     * @param username username to get
-     * @return user
-     */
-    User get(String username);
-
-    /**
-     * Gets the current username.
-     * @return username
+     * Gets one page of the user's saved articles, sorted by date with the newest first.
+     * @param username the user whose articles to get
+     * @param pageSize the maximum number of articles on the page
+     * @param pageToken the continuation token of a previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the page token was not handed out by this DAO
      */
-    String getCurrentUsername();
+    SavedArticlesPage getSavedArticlesPage(String username, int pageSize, String pageToken);
 }
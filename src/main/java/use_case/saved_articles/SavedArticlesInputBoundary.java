@@ -5,7 +5,9 @@ package use_case.saved_articles;
  */
 public interface SavedArticlesInputBoundary {
     /**
-     * Execute the use case.
+     * Execute the use case for a page of the user's saved articles.
+     * @param savedArticlesInputData input data with the session and the continuation token of the page,
+     *                               which is null for the first page
      */
-    void execute();
+    void execute(SavedArticlesInputData savedArticlesInputData);
 }
@@ -0,0 +1,28 @@
+package use_case.saved_articles;
+
+import entity.SessionContext;
+
+/**
+ * Input data for the saved articles use case.
+ */
+public class SavedArticlesInputData {
+    private final SessionContext session;
+    private final String pageToken;
+
+    public SavedArticlesInputData(SessionContext session, String pageToken) {
+        this.session = session;
+        this.pageToken = pageToken;
+    }
+
+    public SessionContext getSession() {
+        return session;
+    }
+
+    /**
+     * Returns the continuation token of the page to load.
+     * @return the token, or null for the first page
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+}
@@ -1,9 +1,13 @@
 package use_case.saved_articles;
 
+import entity.SessionContext;
+
 /**
  * Saved articles use case interactor.
  */
 public class SavedArticlesInteractor implements SavedArticlesInputBoundary {
+    public static final int PAGE_SIZE = 20;
+
     private final SavedArticlesOutputBoundary savedArticlesOutputBoundary;
     private final SavedArticlesDataAccessInterface savedArticlesDataAccessInterface;
 
@@ -14,17 +18,26 @@ public class SavedArticlesInteractor implements SavedArticlesInputBoundary {
     }
 
     @Override
-    public void execute() {
-        final SavedArticleOutputData savedArticleOutputData =
-                new SavedArticleOutputData(savedArticlesDataAccessInterface
-                        .get(savedArticlesDataAccessInterface.getCurrentUsername()));
-
-        try {
-            savedArticleOutputData.getUser().getName();
-            savedArticlesOutputBoundary.prepareSuccessView(savedArticleOutputData);
-        }
-        catch (NullPointerException nullPointerException) {
+    public void execute(SavedArticlesInputData savedArticlesInputData) {
+        final SessionContext session = savedArticlesInputData.getSession();
+        if (!session.isLoggedIn()) {
             savedArticlesOutputBoundary.prepareFailView("No user logged in.");
         }
+        else {
+            final String username = session.getUsername();
+            // Only one page is read, however many articles the user has saved
+            final String pageToken = savedArticlesInputData.getPageToken();
+            final SavedArticlesPage page;
+            try {
+                page = savedArticlesDataAccessInterface.getSavedArticlesPage(username, PAGE_SIZE, pageToken);
+            }
+            catch (IllegalArgumentException illegalArgumentException) {
+                savedArticlesOutputBoundary.prepareFailView("Invalid page token.");
+                return;
+            }
+            final SavedArticleOutputData savedArticleOutputData = new SavedArticleOutputData(username,
+                    page.getArticles(), page.getNextPageToken(), pageToken == null);
+            savedArticlesOutputBoundary.prepareSuccessView(savedArticleOutputData);
+        }
     }
 }
@@ -0,0 +1,30 @@
+package use_case.saved_articles;
+
+import java.util.List;
+
+import entity.Article;
+
+/**
+ * One page of a user's saved articles, newest first.
+ */
+public class SavedArticlesPage {
+    private final List<Article> articles;
+    private final String nextPageToken;
+
+    public SavedArticlesPage(List<Article> articles, String nextPageToken) {
+        this.articles = articles;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<Article> getArticles() {
+        return articles;
+    }
+
+    /**
+     * Returns the token to pass to get the page after this one.
+     * @return the continuation token, or null if this is the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
@@ -1,17 +1,24 @@
 package use_case.share_article;
 
 import entity.Article;
+import entity.SessionContext;
 
 /**
  * The Input Data for the ShareArticle Use Case.
  */
 public class ShareArticleInputData {
+    private final SessionContext session;
     private final Article article;
 
-    public ShareArticleInputData(Article article) {
+    public ShareArticleInputData(SessionContext session, Article article) {
+        this.session = session;
         this.article = article;
     }
 
+    public SessionContext getSession() {
+        return session;
+    }
+
     public Article getArticle() {
         return article;
     }
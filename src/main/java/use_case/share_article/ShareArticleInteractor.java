@@ -18,7 +18,8 @@ public class ShareArticleInteractor implements ShareArticleInputBoundary {
     @Override
     public void execute(ShareArticleInputData shareArticleInputData) throws Exception {
         final Article article = shareArticleInputData.getArticle();
-        final String email = shareArticleUserDataAccessObject.getCurrentUser();
+        // Usernames are email addresses
+        final String email = shareArticleInputData.getSession().getUsername();
         final String subject = article.getTitle();
         final String emailBody = createEmailBody(article);
         shareArticleEmailDataAccessObject.sendMail(subject, emailBody, email);
@@ -0,0 +1,15 @@
+package use_case.share_digest;
+
+/**
+ * Data Access Interface for sending the emails of the Share Digest Use Case.
+ */
+public interface ShareDigestEmailDataAccessInterface {
+    /**
+     * Sends one HTML email.
+     * @param subject subject
+     * @param body the HTML body
+     * @param recipient recipient
+     * @throws Exception if the email cannot be sent
+     */
+    void sendMail(String subject, String body, String recipient) throws Exception;
+}
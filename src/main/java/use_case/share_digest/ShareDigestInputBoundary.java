@@ -0,0 +1,12 @@
+package use_case.share_digest;
+
+/**
+ * Input Boundary for the Share Digest Use Case.
+ */
+public interface ShareDigestInputBoundary {
+    /**
+     * Executes the share digest use case.
+     * @param shareDigestInputData the input data
+     */
+    void execute(ShareDigestInputData shareDigestInputData);
+}
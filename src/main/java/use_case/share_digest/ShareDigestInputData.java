@@ -0,0 +1,42 @@
+package use_case.share_digest;
+
+import java.util.List;
+
+import entity.Article;
+import entity.SessionContext;
+
+/**
+ * The Input Data for the Share Digest Use Case.
+ */
+public class ShareDigestInputData {
+    private final SessionContext session;
+    private final List<Article> articles;
+    private final String recipient;
+
+    /**
+     * Creates the input data for sending a digest to the user's own email.
+     * @param session the session of the user sharing the digest
+     * @param articles the articles of the digest
+     */
+    public ShareDigestInputData(SessionContext session, List<Article> articles) {
+        this(session, articles, null);
+    }
+
+    public ShareDigestInputData(SessionContext session, List<Article> articles, String recipient) {
+        this.session = session;
+        this.articles = articles;
+        this.recipient = recipient;
+    }
+
+    SessionContext getSession() {
+        return session;
+    }
+
+    List<Article> getArticles() {
+        return articles;
+    }
+
+    String getRecipient() {
+        return recipient;
+    }
+}
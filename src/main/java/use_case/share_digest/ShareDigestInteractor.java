@@ -0,0 +1,176 @@
+package use_case.share_digest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import entity.Article;
+
+/**
+ * Interactor for the Share Digest Use Case. All the articles of a digest go into one email, so sharing a
+ * digest costs one message instead of one per article. The stylesheet is written once per email, and
+ * digests with many articles get shorter descriptions. The articles are only split across several emails
+ * when one would grow past the size limit.
+ */
+public class ShareDigestInteractor implements ShareDigestInputBoundary {
+    // Gmail takes far larger messages, but Base64 encoding adds a third and big emails get clipped
+    public static final int DEFAULT_MAX_MESSAGE_BYTES = 512 * 1024;
+
+    private static final int FULL_DESCRIPTION_LENGTH = 600;
+    private static final int SHORT_DESCRIPTION_LENGTH = 200;
+    private static final int SHORT_DESCRIPTION_ARTICLE_COUNT = 10;
+    private static final String WIDEST_PART_LABEL = " (part 999 of 999)";
+
+    private static final String HEADER = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .digest { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .article { border: 1px solid #ddd; border-radius: 8px; background-color: #f9f9f9;
+                        padding: 12px 16px; margin-bottom: 16px; }
+                    .article-title { font-size: 1.2em; font-weight: bold; color: #007BFF; text-decoration: none; }
+                    .article-meta { font-size: 0.9em; color: #777; }
+                </style>
+            </head>
+            <body>
+                <div class="digest">
+                    <h2>%s</h2>
+            """;
+    private static final String ARTICLE = """
+                    <div class="article">
+                        <a class="article-title" href="%s">%s</a>
+                        <div class="article-meta">%s &middot; %s</div>
+                        <p>%s</p>
+                    </div>
+            """;
+    private static final String FOOTER = """
+                </div>
+            </body>
+            </html>
+            """;
+
+    private final ShareDigestEmailDataAccessInterface emailDataAccessObject;
+    private final ShareDigestOutputBoundary shareDigestPresenter;
+    private final int maxMessageBytes;
+
+    public ShareDigestInteractor(ShareDigestEmailDataAccessInterface emailDataAccessObject,
+                                 ShareDigestOutputBoundary shareDigestPresenter) {
+        this(emailDataAccessObject, shareDigestPresenter, DEFAULT_MAX_MESSAGE_BYTES);
+    }
+
+    public ShareDigestInteractor(ShareDigestEmailDataAccessInterface emailDataAccessObject,
+                                 ShareDigestOutputBoundary shareDigestPresenter,
+                                 int maxMessageBytes) {
+        this.emailDataAccessObject = emailDataAccessObject;
+        this.shareDigestPresenter = shareDigestPresenter;
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    @Override
+    public void execute(ShareDigestInputData shareDigestInputData) {
+        final List<Article> articles = shareDigestInputData.getArticles();
+        String recipient = shareDigestInputData.getRecipient();
+        if (recipient == null && shareDigestInputData.getSession().isLoggedIn()) {
+            // Usernames are email addresses
+            recipient = shareDigestInputData.getSession().getUsername();
+        }
+
+        if (recipient == null) {
+            shareDigestPresenter.prepareFailView("No user logged in.");
+        }
+        else if (articles == null || articles.isEmpty()) {
+            shareDigestPresenter.prepareFailView("There are no articles to share.");
+        }
+        else {
+            final List<String> bodies = renderMessages(articles);
+            final String subject = "Your News Buddy digest: " + articles.size() + " articles";
+            int sent = 0;
+            try {
+                for (String body : bodies) {
+                    emailDataAccessObject.sendMail(subject + partLabel(sent + 1, bodies.size()), body, recipient);
+                    sent++;
+                }
+            }
+            catch (Exception exception) {
+                shareDigestPresenter.prepareFailView("Could not send the digest: " + sent + " of "
+                        + bodies.size() + " emails were sent.");
+                return;
+            }
+            shareDigestPresenter.prepareSuccessView(new ShareDigestOutputData(recipient, articles.size(),
+                    bodies.size()));
+        }
+    }
+
+    /**
+     * Renders the articles into as few email bodies as the size limit allows, keeping their order.
+     * An article too large for an email of its own still gets one.
+     * @param articles the articles of the digest
+     * @return the HTML bodies
+     */
+    private List<String> renderMessages(List<Article> articles) {
+        int descriptionLength = FULL_DESCRIPTION_LENGTH;
+        if (articles.size() > SHORT_DESCRIPTION_ARTICLE_COUNT) {
+            descriptionLength = SHORT_DESCRIPTION_LENGTH;
+        }
+        final int overheadBytes = utf8Length(HEADER.formatted(WIDEST_PART_LABEL) + FOOTER);
+
+        final List<List<String>> groups = new ArrayList<>();
+        List<String> group = new ArrayList<>();
+        int groupBytes = overheadBytes;
+        for (Article article : articles) {
+            final String card = renderArticle(article, descriptionLength);
+            final int cardBytes = utf8Length(card);
+            if (!group.isEmpty() && groupBytes + cardBytes > maxMessageBytes) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupBytes = overheadBytes;
+            }
+            group.add(card);
+            groupBytes += cardBytes;
+        }
+        groups.add(group);
+
+        final List<String> bodies = new ArrayList<>();
+        for (int part = 1; part <= groups.size(); part++) {
+            final StringBuilder body = new StringBuilder(HEADER.formatted(
+                    "Your News Buddy digest" + partLabel(part, groups.size())));
+            for (String card : groups.get(part - 1)) {
+                body.append(card);
+            }
+            bodies.add(body.append(FOOTER).toString());
+        }
+        return bodies;
+    }
+
+    private static String renderArticle(Article article, int descriptionLength) {
+        String description = article.getDescription();
+        if (description == null) {
+            description = "";
+        }
+        if (description.length() > descriptionLength) {
+            description = description.substring(0, descriptionLength).trim() + "…";
+        }
+        return ARTICLE.formatted(escape(article.getLink()), escape(article.getTitle()),
+                escape(article.getAuthor()), escape(article.getDate()), escape(description));
+    }
+
+    private static String partLabel(int part, int partCount) {
+        if (partCount == 1) {
+            return "";
+        }
+        return " (part " + part + " of " + partCount + ")";
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
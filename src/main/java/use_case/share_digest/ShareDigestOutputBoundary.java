@@ -0,0 +1,18 @@
+package use_case.share_digest;
+
+/**
+ * Output Boundary for the Share Digest Use Case.
+ */
+public interface ShareDigestOutputBoundary {
+    /**
+     * Prepares the success view for the Share Digest Use Case.
+     * @param outputData the output data
+     */
+    void prepareSuccessView(ShareDigestOutputData outputData);
+
+    /**
+     * Prepares the failure view for the Share Digest Use Case.
+     * @param errorMessage the explanation of the failure
+     */
+    void prepareFailView(String errorMessage);
+}
@@ -0,0 +1,28 @@
+package use_case.share_digest;
+
+/**
+ * Output Data for the Share Digest Use Case.
+ */
+public class ShareDigestOutputData {
+    private final String recipient;
+    private final int articleCount;
+    private final int messageCount;
+
+    public ShareDigestOutputData(String recipient, int articleCount, int messageCount) {
+        this.recipient = recipient;
+        this.articleCount = articleCount;
+        this.messageCount = messageCount;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public int getArticleCount() {
+        return articleCount;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+}
@@ -29,19 +29,27 @@ public class SignupInteractor implements SignupInputBoundary {
         if (!matchFound) {
             userPresenter.prepareFailView("This has to be a valid email address");
         }
-        else if (userDataAccessObject.existsByName(signupInputData.getUsername())) {
-            userPresenter.prepareFailView("User already exists.");
-        }
         else if (!signupInputData.getPassword().equals(signupInputData.getRepeatPassword())) {
-            userPresenter.prepareFailView("Passwords don't match.");
+            // An existing user is still reported first, as before; nothing is created either way
+            if (userDataAccessObject.probablyExistsByName(signupInputData.getUsername())) {
+                userPresenter.prepareFailView("User already exists.");
+            }
+            else {
+                userPresenter.prepareFailView("Passwords don't match.");
+            }
         }
         else {
             final User user = new CommonUser(signupInputData.getUsername(), signupInputData.getPassword(),
                     new ArrayList<>(), new HashMap<>());
-            userDataAccessObject.save(user);
 
-            final SignupOutputData signupOutputData = new SignupOutputData(user.getName(), false);
-            userPresenter.prepareSuccessView(signupOutputData);
+            // Creating the user is the existence check, so two concurrent signups cannot both succeed
+            if (!userDataAccessObject.create(user)) {
+                userPresenter.prepareFailView("User already exists.");
+            }
+            else {
+                final SignupOutputData signupOutputData = new SignupOutputData(user.getName(), false);
+                userPresenter.prepareSuccessView(signupOutputData);
+            }
         }
     }
 
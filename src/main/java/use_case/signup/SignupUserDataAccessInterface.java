@@ -14,9 +14,26 @@ public interface SignupUserDataAccessInterface {
      */
     boolean existsByName(String username);
 
+    /**
+     * Checks if the given username exists, where a cheaper answer that may miss a recently created user will
+     * do, because {@link #create(User)} rejects a taken name anyway.
+     * @param username the username to look for
+     * @return true if a user with the given username exists; false if not, or possibly if it was just created
+     */
+    default boolean probablyExistsByName(String username) {
+        return existsByName(username);
+    }
+
     /**
      * Saves the user.
      * @param user the user to save
      */
     void save(User user);
+
+    /**
+     * Creates the user unless a user with the same name already exists, as one atomic operation.
+     * @param user the user to create
+     * @return true if the user was created; false if the username is taken
+     */
+    boolean create(User user);
 }
@@ -0,0 +1,18 @@
+package use_case.unsave_article;
+
+import java.util.concurrent.CompletableFuture;
+
+import entity.Article;
+
+/**
+ * Non-blocking Unsave Article DAI.
+ */
+public interface UnsaveArticleAsyncDataAccessInterface {
+    /**
+     * Removes the article from the user's articles without blocking the calling thread.
+     * @param username the user removing the article
+     * @param article the article to remove
+     * @return a future of whether the article was removed, false when it was not saved
+     */
+    CompletableFuture<Boolean> removeArticleAsync(String username, Article article);
+}
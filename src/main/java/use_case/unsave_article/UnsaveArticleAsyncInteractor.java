@@ -0,0 +1,52 @@
+package use_case.unsave_article;
+
+import java.util.concurrent.Executor;
+
+import entity.Article;
+
+/**
+ * Unsave Article Interactor that does not block the calling thread. The presenter is called once the
+ * removal completes, possibly on another thread.
+ */
+public class UnsaveArticleAsyncInteractor implements UnsaveArticleInputBoundary {
+    private final UnsaveArticleAsyncDataAccessInterface unsaveArticleDataAccessObject;
+    private final UnsaveArticleOutputBoundary unsaveArticlePresenter;
+    private final Executor presenterExecutor;
+
+    public UnsaveArticleAsyncInteractor(UnsaveArticleAsyncDataAccessInterface unsaveArticleAsyncDataAccessInterface,
+                                        UnsaveArticleOutputBoundary unsaveArticleOutputBoundary) {
+        this(unsaveArticleAsyncDataAccessInterface, unsaveArticleOutputBoundary, Runnable::run);
+    }
+
+    /**
+     * Creates the interactor.
+     * @param unsaveArticleAsyncDataAccessInterface the DAO
+     * @param unsaveArticleOutputBoundary the presenter
+     * @param presenterExecutor runs the presenter calls, for example on the thread of the user interface
+     */
+    public UnsaveArticleAsyncInteractor(UnsaveArticleAsyncDataAccessInterface unsaveArticleAsyncDataAccessInterface,
+                                        UnsaveArticleOutputBoundary unsaveArticleOutputBoundary,
+                                        Executor presenterExecutor) {
+        this.unsaveArticleDataAccessObject = unsaveArticleAsyncDataAccessInterface;
+        this.unsaveArticlePresenter = unsaveArticleOutputBoundary;
+        this.presenterExecutor = presenterExecutor;
+    }
+
+    @Override
+    public void execute(UnsaveArticleInputData unsaveArticleInputData) {
+        final String username = unsaveArticleInputData.getSession().getUsername();
+        final Article article = unsaveArticleInputData.getArticle();
+        unsaveArticleDataAccessObject.removeArticleAsync(username, article)
+                .whenCompleteAsync((removed, throwable) -> {
+                    if (throwable != null) {
+                        unsaveArticlePresenter.prepareFailView("Could not remove article.");
+                    }
+                    else if (removed) {
+                        unsaveArticlePresenter.prepareSuccessView(new UnsaveArticleOutputData(article, false));
+                    }
+                    else {
+                        unsaveArticlePresenter.prepareFailView("Article is not saved.");
+                    }
+                }, presenterExecutor);
+    }
+}
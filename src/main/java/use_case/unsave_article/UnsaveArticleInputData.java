@@ -1,17 +1,24 @@
 package use_case.unsave_article;
 
 import entity.Article;
+import entity.SessionContext;
 
 /**
  * The Input Data for the UnsaveArticle Use Case.
  */
 public class UnsaveArticleInputData {
+    private final SessionContext session;
     private final Article article;
 
-    public UnsaveArticleInputData(Article article) {
+    public UnsaveArticleInputData(SessionContext session, Article article) {
+        this.session = session;
         this.article = article;
     }
 
+    public SessionContext getSession() {
+        return session;
+    }
+
     public Article getArticle() {
         return article;
     }
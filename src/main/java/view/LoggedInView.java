@@ -27,6 +27,8 @@ import interface_adapter.logged_in.RemoveCategoryController;
 import interface_adapter.logged_in.SaveArticleController;
 import interface_adapter.logged_in.SavedArticlesController;
 import interface_adapter.logged_in.ShareArticleController;
+import interface_adapter.logged_in.ShareDigestController;
+import interface_adapter.logged_in.ShareDigestPresenter;
 import interface_adapter.logged_in.UnsaveArticleController;
 import interface_adapter.logout.LogoutController;
 
@@ -45,6 +47,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
     private SaveArticleController saveArticleController;
     private UnsaveArticleController unsaveArticleController;
     private ShareArticleController shareArticleController;
+    private ShareDigestController shareDigestController;
     private SavedArticlesController savedArticlesController;
     private LogoutController logoutController;
 
@@ -56,7 +59,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         final JPanel navigationPanel = new JPanel();
         final JButton savedArticlesButton = new JButton("Saved Articles");
         savedArticlesButton.addActionListener(event -> {
-            this.savedArticlesController.execute();
+            this.savedArticlesController.execute(loggedInViewModel.getState().getUsername());
         });
 
         // adding saved articles and logout use cases to navbar
@@ -78,6 +81,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         final JPanel categoryPanel = new JPanel();
         categoryPanel.add(inputPanel);
         categoryPanel.add(createGenerateButton());
+        categoryPanel.add(createShareDigestButton());
 
         categoryButtonsPanel = new JPanel();
         categoryButtonsPanel.setLayout(new FlowLayout());
@@ -145,6 +149,21 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
                     JOptionPane.INFORMATION_MESSAGE
             );
         }
+        else if (evt.getPropertyName().startsWith(ShareDigestPresenter.SHARED_PROPERTY_PREFIX)) {
+            final String messageCount = evt.getPropertyName()
+                    .substring(ShareDigestPresenter.SHARED_PROPERTY_PREFIX.length());
+            JOptionPane.showMessageDialog(
+                    null,
+                    "Your digest is queued to be emailed to you in " + messageCount + " message(s). "
+                            + "You will be told if it cannot be sent.",
+                    "Digest Queued",
+                    JOptionPane.INFORMATION_MESSAGE
+            );
+        }
+        else if (evt.getPropertyName().equals(ShareDigestPresenter.ERROR_PROPERTY)) {
+            JOptionPane.showMessageDialog(this, loggedInViewModel.getState().getLoggedInError(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
         else if (evt.getPropertyName().equals("Article is not saved.") || evt
                 .getPropertyName().equals("Article already saved.")) {
             // Display an error message
@@ -223,7 +242,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         final JButton addCategoryButton = new JButton("Add Category");
         addCategoryButton.addActionListener(actionEvent -> {
             final String category = categoryField.getText();
-            this.addCategoryController.execute(category);
+            this.addCategoryController.execute(loggedInViewModel.getState().getUsername(), category);
             categoryField.setText("");
         });
         return addCategoryButton;
@@ -233,7 +252,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         final JButton categoryButton = new JButton(category);
         categoryButton.addActionListener(actionEvent -> {
             // execute remove category use case
-            this.removeCategoryController.execute(category);
+            this.removeCategoryController.execute(loggedInViewModel.getState().getUsername(), category);
             // Remove this button from the panel
             categoryButtonsPanel.remove(categoryButton);
             categoryButtonsPanel.revalidate();
@@ -252,6 +271,16 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         return generateButton;
     }
 
+    private JButton createShareDigestButton() {
+        final JButton shareDigestButton = new JButton("Share digest to my email");
+        shareDigestButton.addActionListener(actionEvent -> {
+            // execute share digest use case with the articles currently shown
+            final LoggedInState state = loggedInViewModel.getState();
+            this.shareDigestController.execute(state.getUsername(), state.getArticleList());
+        });
+        return shareDigestButton;
+    }
+
     private JButton createLogoutButton() {
         final JButton logoutButton = new JButton("Logout");
         logoutButton.addActionListener(actionEvent -> {
@@ -267,7 +296,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
 
         saveButton.addActionListener(actionEvent -> {
             // execute save article use case
-            this.saveArticleController.execute(article);
+            this.saveArticleController.execute(loggedInViewModel.getState().getUsername(), article);
             articlePanel.revalidate();
             articlePanel.repaint();
         });
@@ -280,7 +309,7 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
 
         unsaveButton.addActionListener(actionEvent -> {
             // execute unsave article use case
-            this.unsaveArticleController.execute(article);
+            this.unsaveArticleController.execute(loggedInViewModel.getState().getUsername(), article);
             articlePanel.revalidate();
             articlePanel.repaint();
         });
@@ -293,12 +322,12 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
 
         shareButton.addActionListener(actionEvent -> {
             try {
-                this.shareArticleController.execute(article);
+                this.shareArticleController.execute(loggedInViewModel.getState().getUsername(), article);
                 // Show a success popup message
                 JOptionPane.showMessageDialog(
                         null,
-                        "The article has been sent to your email! Please check your inbox.",
-                        "Email Sent",
+                        "The article is queued to be emailed to you. You will be told if it cannot be sent.",
+                        "Email Queued",
                         JOptionPane.INFORMATION_MESSAGE
                 );
             }
@@ -348,8 +377,9 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
                 // Show a success popup message
                 JOptionPane.showMessageDialog(
                         null,
-                        "The article has been successfully sent to " + recipientEmail + ".",
-                        "Email Sent",
+                        "The article is queued to be emailed to " + recipientEmail
+                                + ". You will be told if it cannot be sent.",
+                        "Email Queued",
                         JOptionPane.INFORMATION_MESSAGE
                 );
             } catch (Exception ex) {
@@ -392,6 +422,10 @@ public class LoggedInView extends JPanel implements PropertyChangeListener {
         this.shareArticleController = shareArticleController;
     }
 
+    public void setShareDigestController(ShareDigestController shareDigestController) {
+        this.shareDigestController = shareDigestController;
+    }
+
     public void setSavedArticlesController(SavedArticlesController savedArticlesController) {
         this.savedArticlesController = savedArticlesController;
     }
@@ -3,6 +3,7 @@ package view;
 import entity.Article;
 import interface_adapter.logged_in.AddCategoryController;
 import interface_adapter.logged_in.RemoveCategoryController;
+import interface_adapter.logged_in.SavedArticlesController;
 import interface_adapter.logged_in.ShareArticleController;
 import interface_adapter.logged_in.UnsaveArticleController;
 import interface_adapter.logout.LogoutController;
@@ -29,6 +30,7 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
     private ShareArticleController shareArticleController;
     private NewsController newsController;
     private LogoutController logoutController;
+    private SavedArticlesController savedArticlesController;
 
     public SavedArticlesView(SavedArticlesViewModel savedArticlesViewModel) {
         this.savedArticlesViewModel = savedArticlesViewModel;
@@ -63,7 +65,7 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
         final JButton addFilterButton = new JButton("Add Filter");
         addFilterButton.addActionListener(actionEvent -> {
             final String category = categoriesFilter.getText();
-            this.addCategoryController.execute(category);
+            this.addCategoryController.execute(savedArticlesViewModel.getState().getUsername(), category);
             categoriesFilter.setText("");
         });
 
@@ -141,7 +143,7 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
         final JButton categoryButton = new JButton(category);
         categoryButton.addActionListener(actionEvent -> {
             // execute remove category use case
-            this.removeCategoryController.execute(category);
+            this.removeCategoryController.execute(savedArticlesViewModel.getState().getUsername(), category);
 
             // Remove this button from the panel
             filterPanel.remove(categoryButton);
@@ -166,6 +168,22 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
             articlesPanel.revalidate();
             articlesPanel.repaint();
         }
+
+        // Further pages are only read from the database when asked for
+        if (state.getNextPageToken() != null) {
+            articlesPanel.add(createLoadMoreButton(state.getNextPageToken()));
+            articlesPanel.revalidate();
+            articlesPanel.repaint();
+        }
+    }
+
+    private JButton createLoadMoreButton(String pageToken) {
+        final JButton loadMoreButton = new JButton("Load more");
+        loadMoreButton.addActionListener(actionEvent -> {
+            // execute saved articles use case for the next page
+            this.savedArticlesController.loadMore(savedArticlesViewModel.getState().getUsername(), pageToken);
+        });
+        return loadMoreButton;
     }
 
     @NotNull
@@ -229,7 +247,7 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
 
         unsaveButton.addActionListener(actionEvent -> {
             // execute unsave article use case
-            this.unsaveArticleController.execute(article);
+            this.unsaveArticleController.execute(savedArticlesViewModel.getState().getUsername(), article);
             articlesPanel.revalidate();
             articlesPanel.repaint();
 
@@ -251,12 +269,12 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
 
         shareButton.addActionListener(actionEvent -> {
             try {
-                this.shareArticleController.execute(article);
+                this.shareArticleController.execute(savedArticlesViewModel.getState().getUsername(), article);
                 // Show a success popup message
                 JOptionPane.showMessageDialog(
                         null,
-                        "The article has been sent to your email! Please check your inbox.",
-                        "Email Sent",
+                        "The article is queued to be emailed to you. You will be told if it cannot be sent.",
+                        "Email Queued",
                         JOptionPane.INFORMATION_MESSAGE
                 );
             }
@@ -306,8 +324,9 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
                 // Show a success popup message
                 JOptionPane.showMessageDialog(
                         null,
-                        "The article has been successfully sent to " + recipientEmail + ".",
-                        "Email Sent",
+                        "The article is queued to be emailed to " + recipientEmail
+                                + ". You will be told if it cannot be sent.",
+                        "Email Queued",
                         JOptionPane.INFORMATION_MESSAGE
                 );
             } catch (Exception ex) {
@@ -353,4 +372,8 @@ public class SavedArticlesView extends JPanel implements PropertyChangeListener
     public void setNewsController(NewsController newsController) {
         this.newsController = newsController;
     }
+
+    public void setSavedArticlesController(SavedArticlesController savedArticlesController) {
+        this.savedArticlesController = savedArticlesController;
+    }
 }
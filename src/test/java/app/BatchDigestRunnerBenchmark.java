@@ -0,0 +1,46 @@
+package app;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import entity.CommonArticle;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import use_case.digest.DigestCohereDataAccessInterface;
+import use_case.digest.DigestNewsDataAccessInterface;
+
+/**
+ * Measures the throughput and latencies of a batch against a News API that takes a few milliseconds per
+ * request. Not part of the unit tests, which only pick up classes named *Test; run it with
+ * mvn test -Dtest=BatchDigestRunnerBenchmark.
+ */
+public class BatchDigestRunnerBenchmark {
+    private static final int ENTRIES = 400;
+    private static final int KEYWORDS = 10;
+    private static final int CONCURRENCY = 8;
+    private static final long FETCH_MILLIS = 20;
+
+    @Test
+    void sharedKeywords() throws Exception {
+        final DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchFirstArticle(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenAnswer(invocation -> {
+                    Thread.sleep(FETCH_MILLIS);
+                    final String keyword = invocation.getArgument(0);
+                    return new CommonArticle("title", "author", keyword, "content", "https://example.com/" + keyword,
+                            "date", "");
+                });
+        final DigestCohereDataAccessInterface cohereDataAccess = Mockito.mock(DigestCohereDataAccessInterface.class);
+        Mockito.when(cohereDataAccess.summarize(Mockito.any())).thenReturn("summary");
+        final List<String> entries = new ArrayList<>();
+        for (int entry = 0; entry < ENTRIES; entry++) {
+            entries.add("k" + entry % KEYWORDS + ", k" + (entry + 1) % KEYWORDS);
+        }
+
+        final BatchDigestRunner.Report report = new BatchDigestRunner(newsDataAccess, cohereDataAccess, CONCURRENCY)
+                .run(entries, entry -> entry.split(", "), new StringWriter());
+
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,113 @@
+package app;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import entity.CommonArticle;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import use_case.digest.DigestCohereDataAccessInterface;
+import use_case.digest.DigestNewsDataAccessInterface;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs batches whose entries share a small set of keywords, as accounts share categories, so the batch only
+ * fetches each keyword once.
+ */
+public class BatchDigestRunnerTest {
+    private static final int ENTRIES = 40;
+    private static final int KEYWORDS = 10;
+    private static final int CONCURRENCY = 8;
+
+    @Test
+    void testEveryEntryGetsOneLine() throws Exception {
+        // Arrange
+        final DigestNewsDataAccessInterface newsDataAccess = news();
+        final List<String> entries = new ArrayList<>();
+        for (int entry = 0; entry < ENTRIES; entry++) {
+            entries.add("k" + entry % KEYWORDS + ", k" + (entry + 1) % KEYWORDS);
+        }
+        final StringWriter output = new StringWriter();
+
+        // Act
+        final BatchDigestRunner.Report report = new BatchDigestRunner(newsDataAccess, summarizer(), CONCURRENCY)
+                .run(entries, entry -> entry.split(", "), output);
+
+        // Assert
+        final String[] lines = output.toString().split("\n");
+        assertEquals(ENTRIES, lines.length);
+        for (String line : lines) {
+            final JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+            assertEquals(2, json.getAsJsonArray("articles").size());
+        }
+        assertEquals(ENTRIES, report.getDigestCount());
+        assertEquals(0, report.getFailedCount());
+        assertEquals(KEYWORDS, report.getFetchedKeywordCount());
+        Mockito.verify(newsDataAccess, Mockito.times(KEYWORDS)).fetchFirstArticle(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        assertTrue(report.getLatencyPercentileMillis(50) <= report.getLatencyPercentileMillis(99));
+    }
+
+    @Test
+    void testEntriesWithoutKeywordsFail() throws Exception {
+        // Arrange
+        final StringWriter output = new StringWriter();
+
+        // Act
+        final BatchDigestRunner.Report report = new BatchDigestRunner(news(), summarizer(), CONCURRENCY)
+                .run(List.of("nobody", "", "k1"), entry -> entry.startsWith("k") ? new String[]{entry} : new String[0],
+                        output);
+
+        // Assert
+        assertEquals(1, report.getDigestCount());
+        assertEquals(1, report.getFailedCount());
+        assertTrue(output.toString().contains("{\"id\":\"nobody\""));
+        assertTrue(output.toString().contains("\"error\":\"No keywords to digest\""));
+    }
+
+    @Test
+    void testFailedFetchIsReportedAndRetried() throws Exception {
+        // Arrange
+        final DigestNewsDataAccessInterface newsDataAccess = news();
+        Mockito.when(newsDataAccess.fetchFirstArticle(Mockito.eq("k1"), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any())).thenThrow(new IOException("News API unavailable"))
+                .thenAnswer(BatchDigestRunnerTest::article);
+        final StringWriter output = new StringWriter();
+
+        // Act
+        final BatchDigestRunner.Report report = new BatchDigestRunner(newsDataAccess, summarizer(), 1)
+                .run(List.of("k1", "k1"), entry -> new String[]{entry}, output);
+
+        // Assert
+        final String[] lines = output.toString().split("\n");
+        assertEquals("Error in fetching articles",
+                JsonParser.parseString(lines[0]).getAsJsonObject().get("error").getAsString());
+        assertEquals(1, JsonParser.parseString(lines[1]).getAsJsonObject().getAsJsonArray("articles").size());
+        assertEquals(1, report.getDigestCount());
+        assertEquals(1, report.getFailedCount());
+        assertEquals(1, report.getFetchedKeywordCount());
+    }
+
+    private static DigestCohereDataAccessInterface summarizer() throws IOException {
+        final DigestCohereDataAccessInterface cohereDataAccess = Mockito.mock(DigestCohereDataAccessInterface.class);
+        Mockito.when(cohereDataAccess.summarize(Mockito.any())).thenReturn("summary");
+        return cohereDataAccess;
+    }
+
+    private static DigestNewsDataAccessInterface news() throws Exception {
+        final DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchFirstArticle(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenAnswer(BatchDigestRunnerTest::article);
+        return newsDataAccess;
+    }
+
+    private static CommonArticle article(InvocationOnMock invocation) {
+        final String keyword = invocation.getArgument(0);
+        return new CommonArticle("title", "author", keyword, "content", "https://example.com/" + keyword, "date", "");
+    }
+}
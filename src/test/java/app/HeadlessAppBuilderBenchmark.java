@@ -0,0 +1,88 @@
+package app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import data_access.InMemoryUserDataAccessObject;
+import entity.CommonUser;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the throughput of the HTTP API by saving and unsaving articles from many clients over keep-alive
+ * connections. Not part of the unit tests, which only pick up classes named *Test; run it with
+ * mvn test -Dtest=HeadlessAppBuilderBenchmark.
+ */
+public class HeadlessAppBuilderBenchmark {
+    private static final int CLIENTS = 32;
+    private static final int PAIRS_PER_CLIENT = 250;
+
+    @Test
+    void saveAndUnsaveThroughput() throws Exception {
+        final InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("paul@example.com", "password", new ArrayList<>(), new HashMap<>()));
+        final HttpServer server = new HeadlessAppBuilder(0)
+                .addLoginUseCase(userRepository)
+                .addSaveArticleUseCase(userRepository)
+                .addUnsaveArticleUseCase(userRepository)
+                .build();
+        server.start();
+        final HttpClient client = HttpClient.newHttpClient();
+        final String base = "http://localhost:" + server.getAddress().getPort();
+        final String token = JsonParser.parseString(send(client, base + "/login", null,
+                "{\"username\": \"paul@example.com\", \"password\": \"password\"}").body())
+                .getAsJsonObject().get("token").getAsString();
+
+        final ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        final List<Future<Integer>> failures = new ArrayList<>();
+        final long start = System.nanoTime();
+        for (int clientIndex = 0; clientIndex < CLIENTS; clientIndex++) {
+            final int clientNumber = clientIndex;
+            failures.add(clients.submit(() -> {
+                int failed = 0;
+                for (int pair = 0; pair < PAIRS_PER_CLIENT; pair++) {
+                    final String request = "{\"article\": {\"title\": \"t\", \"category\": \"tech\", \"link\": "
+                            + "\"https://example.com/" + clientNumber + "/" + pair + "\"}}";
+                    if (send(client, base + "/articles/save", token, request).statusCode() != 200) {
+                        failed++;
+                    }
+                    if (send(client, base + "/articles/unsave", token, request).statusCode() != 200) {
+                        failed++;
+                    }
+                }
+                return failed;
+            }));
+        }
+        int failed = 0;
+        for (Future<Integer> result : failures) {
+            failed += result.get();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        server.stop(0);
+
+        final int requests = 2 * CLIENTS * PAIRS_PER_CLIENT;
+        System.out.printf("%,d save and unsave requests from %d clients, %d failed: %,.0f requests per second%n",
+                requests, CLIENTS, failed, requests / seconds);
+    }
+
+    private static HttpResponse<String> send(HttpClient client, String uri, String token, String body)
+            throws IOException, InterruptedException {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
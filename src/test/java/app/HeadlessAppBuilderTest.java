@@ -0,0 +1,173 @@
+package app;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import data_access.InMemoryUserDataAccessObject;
+import entity.CommonUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the HTTP API against the in-memory DAO.
+ */
+public class HeadlessAppBuilderTest {
+    private static final String USERNAME = "paul@example.com";
+
+    private InMemoryUserDataAccessObject userRepository;
+    private HttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser(USERNAME, "password", new ArrayList<>(), new HashMap<>()));
+        userRepository.save(new CommonUser("eve@example.com", "secret", new ArrayList<>(), new HashMap<>()));
+        server = new HeadlessAppBuilder(0)
+                .addLoginUseCase(userRepository)
+                .addSaveArticleUseCase(userRepository)
+                .addUnsaveArticleUseCase(userRepository)
+                .addSavedArticlesUseCase(userRepository)
+                .addAddCategoryUseCase(userRepository)
+                .build();
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testServerListensOnLoopback() {
+        // Assert
+        assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+    }
+
+    @Test
+    void testSaveAndListArticles() throws Exception {
+        // Arrange
+        final String token = login(USERNAME, "password");
+
+        // Act
+        final HttpResponse<String> saved = post("/articles/save", token, saveRequest("https://example.com/a"));
+        final HttpResponse<String> savedAgain = post("/articles/save", token,
+                saveRequest("https://example.com/a"));
+        final HttpResponse<String> page = post("/articles/saved", token, "{}");
+
+        // Assert
+        assertEquals(200, saved.statusCode());
+        assertEquals(400, savedAgain.statusCode());
+        assertEquals("Article already saved.", json(savedAgain).get("error").getAsString());
+        assertEquals(USERNAME, json(page).get("username").getAsString());
+        assertEquals("https://example.com/a", json(page).getAsJsonArray("articles").get(0).getAsJsonObject()
+                .get("link").getAsString());
+    }
+
+    @Test
+    void testWrongPasswordGetsNoSession() throws Exception {
+        // Act
+        final HttpResponse<String> response = post("/login", null,
+                "{\"username\": \"" + USERNAME + "\", \"password\": \"wrong\"}");
+
+        // Assert
+        assertEquals(401, response.statusCode());
+        assertFalse(json(response).has("token"));
+    }
+
+    @Test
+    void testRequestsWithoutSessionAreRejected() throws Exception {
+        // Act
+        final HttpResponse<String> noToken = post("/categories/add", null,
+                "{\"username\": \"" + USERNAME + "\", \"category\": \"tech\"}");
+        final HttpResponse<String> madeUpToken = post("/categories/add", "made-up",
+                "{\"category\": \"tech\"}");
+
+        // Assert
+        assertEquals(401, noToken.statusCode());
+        assertEquals(401, madeUpToken.statusCode());
+        assertTrue(userRepository.getUserCategories(USERNAME).isEmpty());
+    }
+
+    @Test
+    void testUsernameInBodyIsIgnored() throws Exception {
+        // Arrange
+        final String token = login("eve@example.com", "secret");
+
+        // Act
+        final HttpResponse<String> response = post("/categories/add", token,
+                "{\"username\": \"" + USERNAME + "\", \"category\": \"tech\"}");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(userRepository.getUserCategories(USERNAME).isEmpty());
+        assertEquals("tech", userRepository.getUserCategories("eve@example.com").get(0));
+    }
+
+    @Test
+    void testLogoutEndsSession() throws Exception {
+        // Arrange
+        final String token = login(USERNAME, "password");
+
+        // Act
+        final HttpResponse<String> logout = post("/logout", token, "{}");
+        final HttpResponse<String> afterLogout = post("/categories/add", token, "{\"category\": \"tech\"}");
+
+        // Assert
+        assertEquals(200, logout.statusCode());
+        assertEquals(401, afterLogout.statusCode());
+    }
+
+    @Test
+    void testMalformedRequestsAreRejected() throws Exception {
+        // Arrange
+        final String token = login(USERNAME, "password");
+
+        // Act
+        final HttpResponse<String> notJson = post("/categories/add", token, "{not json");
+        final HttpResponse<String> noCategory = post("/categories/add", token, "{}");
+
+        // Assert
+        assertEquals(400, notJson.statusCode());
+        assertEquals(400, noCategory.statusCode());
+        assertTrue(userRepository.getUserCategories(USERNAME).isEmpty());
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        final HttpResponse<String> response = post("/login", null,
+                "{\"username\": \"" + username + "\", \"password\": \"" + password + "\"}");
+        assertEquals(200, response.statusCode());
+        return json(response).get("token").getAsString();
+    }
+
+    private HttpResponse<String> post(String path, String token, String body)
+            throws IOException, InterruptedException {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + server.getAddress().getPort() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String saveRequest(String link) {
+        return "{\"article\": {\"title\": \"t\", \"category\": \"tech\", \"link\": \"" + link
+                + "\", \"date\": \"2024-12-01\"}}";
+    }
+
+    private static JsonObject json(HttpResponse<String> response) {
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+}
@@ -0,0 +1,42 @@
+package app;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import entity.CommonUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserStoreTest {
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(UserStore.LOCAL_STORE_PROPERTY);
+    }
+
+    @Test
+    void testPropertySelectsTheLocalStore() throws Exception {
+        // Arrange
+        System.setProperty(UserStore.LOCAL_STORE_PROPERTY, directory.toString());
+
+        // Act
+        final UserStore userStore = UserStore.open();
+        userStore.getSignupDataAccessObject().create(new CommonUser("Paul", "password", new ArrayList<>(),
+                new HashMap<>()));
+        userStore.getAddCategoryDataAccessObject().saveCategory("Paul", "tech");
+
+        // Assert
+        assertTrue(Files.exists(directory.resolve("users.log")));
+        assertEquals("password", userStore.getLoginDataAccessObject().getCredentials("Paul").getPassword());
+        assertEquals(List.of("tech"), userStore.getRemoveCategoryDataAccessObject().getUserCategories("Paul"));
+        assertTrue(userStore.getLogoutDataAccessObject().existsByName("Paul"));
+    }
+}
@@ -0,0 +1,36 @@
+package data_access;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArticleContentStoreTest {
+
+    @Test
+    public void testCompressedContentRoundTrips() {
+        // Arrange
+        String paragraph = "Markets rallied on Tuesday as investors weighed the latest inflation figures — café, naïve. ";
+        String content = paragraph.repeat(200);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] compressed = ArticleContentStore.compress(bytes);
+
+        // Assert
+        assertTrue(compressed.length < bytes.length / 10);
+        assertEquals(content, ArticleContentStore.decompress(compressed, bytes.length));
+    }
+
+    @Test
+    public void testHashDependsOnlyOnContent() {
+        // Arrange
+        String hash = ArticleContentStore.hash("body");
+
+        // Act & Assert
+        assertEquals(64, hash.length());
+        assertEquals(hash, ArticleContentStore.hash("body"));
+        assertNotEquals(hash, ArticleContentStore.hash("Body"));
+    }
+}
@@ -0,0 +1,131 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedCohereDataAccessTest {
+
+    private static String paragraph(char letter, int length) {
+        return String.valueOf(letter).repeat(length);
+    }
+
+    @Test
+    public void testShortContentIsSummarizedInOneCall() throws IOException {
+        // Arrange
+        List<String> requests = new CopyOnWriteArrayList<>();
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> {
+            requests.add(inputText);
+            return "summary";
+        }, 1000, 400, 2);
+
+        // Act
+        String summary = chunked.summarize(paragraph('a', 900));
+
+        // Assert
+        assertEquals("summary", summary);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testLongContentIsSplitOnParagraphsAndReduced() throws IOException {
+        // Arrange
+        List<String> requests = new CopyOnWriteArrayList<>();
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> {
+            requests.add(inputText);
+            return "partial " + inputText.charAt(0) + " " + paragraph('.', 200);
+        }, 1000, 400, 2);
+        String content = paragraph('a', 300) + "\n\n" + paragraph('b', 300) + "\n\n" + paragraph('c', 300)
+                + "\n\n" + paragraph('d', 300);
+
+        // Act
+        chunked.summarize(content);
+
+        // Assert: four chunk requests plus one reduce request
+        assertEquals(5, requests.size());
+        List<String> chunkRequests = requests.subList(0, 4);
+        for (String chunk : chunkRequests) {
+            assertTrue(chunk.length() <= 400, "Chunks should respect the maximum length");
+        }
+        String reduceRequest = requests.get(4);
+        assertTrue(reduceRequest.indexOf("partial a") < reduceRequest.indexOf("partial d"),
+                "Partial summaries should be reduced in article order");
+    }
+
+    @Test
+    public void testPartialSummariesAreReducedUntilTheyFitOneRequest() throws IOException {
+        // Arrange: every summary is half as long as its input
+        List<String> requests = new CopyOnWriteArrayList<>();
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> {
+            requests.add(inputText);
+            return paragraph('s', inputText.length() / 2);
+        }, 600, 300, 2);
+        StringBuilder content = new StringBuilder(paragraph('a', 290));
+        for (int index = 1; index < 8; index++) {
+            content.append("\n\n").append(paragraph((char) ('a' + index), 290));
+        }
+
+        // Act
+        String summary = chunked.summarize(content.toString());
+
+        // Assert: eight chunks, then four chunks of their summaries, then one final request
+        assertEquals(13, requests.size());
+        for (String request : requests) {
+            assertTrue(request.length() <= 600, "No request should exceed the threshold");
+        }
+        assertEquals(requests.get(12).length() / 2, summary.length());
+    }
+
+    @Test
+    public void testSplitPacksParagraphsAndFoldsShortTail() {
+        // Arrange
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> "", 1000, 700, 1);
+        String content = paragraph('a', 300) + "\n\n" + paragraph('b', 300) + "\n\n" + paragraph('c', 500)
+                + "\n\n" + paragraph('d', 50);
+
+        // Act
+        List<String> chunks = chunked.split(content);
+
+        // Assert
+        assertEquals(2, chunks.size());
+        assertEquals(paragraph('a', 300) + "\n\n" + paragraph('b', 300), chunks.get(0));
+        assertEquals(paragraph('c', 500) + "\n\n" + paragraph('d', 50), chunks.get(1));
+    }
+
+    @Test
+    public void testSplitBreaksOverlongParagraphOnSentences() {
+        // Arrange
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> "", 1000, 400, 1);
+        String sentence = paragraph('x', 299) + ". ";
+        String content = String.join("", Collections.nCopies(4, sentence)).trim();
+
+        // Act
+        List<String> chunks = chunked.split(content);
+
+        // Assert
+        assertEquals(4, chunks.size());
+        for (String chunk : chunks) {
+            assertTrue(chunk.endsWith("."), "Chunks should end on a sentence boundary");
+        }
+    }
+
+    @Test
+    public void testChunkFailureFailsSummary() {
+        // Arrange
+        ChunkedCohereDataAccessObject chunked = new ChunkedCohereDataAccessObject(inputText -> {
+            if (inputText.startsWith("b")) {
+                throw new IOException("Simulated Cohere failure");
+            }
+            return "partial";
+        }, 500, 400, 2);
+        String content = paragraph('a', 300) + "\n\n" + paragraph('b', 300);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> chunked.summarize(content));
+    }
+}
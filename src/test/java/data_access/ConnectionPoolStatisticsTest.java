@@ -0,0 +1,47 @@
+package data_access;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolStatisticsTest {
+
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress());
+    private final ConnectionId connectionId = new ConnectionId(serverId);
+
+    @Test
+    public void testCheckOutsAreCountedUntilCheckedIn() {
+        // Arrange
+        ConnectionPoolStatistics statistics = new ConnectionPoolStatistics();
+
+        // Act
+        statistics.connectionCreated(new ConnectionCreatedEvent(connectionId));
+        statistics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        statistics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 2));
+        statistics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, 0));
+
+        // Assert
+        assertEquals(1, statistics.getOpenCount());
+        assertEquals(1, statistics.getCheckedOutCount());
+        assertEquals(1, statistics.getWaitQueueSize());
+
+        // Act
+        statistics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 2,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, 0));
+        statistics.connectionCheckedIn(new ConnectionCheckedInEvent(connectionId, 1));
+
+        // Assert
+        assertEquals(0, statistics.getCheckedOutCount());
+        assertEquals(0, statistics.getWaitQueueSize());
+        assertEquals(1, statistics.getCheckOutFailureCount());
+    }
+}
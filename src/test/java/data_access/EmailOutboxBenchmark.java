@@ -0,0 +1,42 @@
+package data_access;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.share_article.ShareArticleEmailDataAccessInterface;
+
+/**
+ * Measures how long queuing a mail takes while every delivery takes as long as a round trip to the mail
+ * server. Not part of the unit tests, which only pick up classes named *Test; run it with
+ * mvn test -Dtest=EmailOutboxBenchmark.
+ */
+public class EmailOutboxBenchmark {
+    private static final int MAILS = 1000;
+    private static final long SEND_MILLIS = 200;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void queueBehindSlowMailer() throws IOException {
+        final AtomicInteger sent = new AtomicInteger();
+        final ShareArticleEmailDataAccessInterface slowMailer = (subject, body, recipient) -> {
+            Thread.sleep(SEND_MILLIS);
+            sent.incrementAndGet();
+        };
+
+        try (EmailOutbox outbox = new EmailOutbox(slowMailer, directory.resolve("outbox.log"))) {
+            final long start = System.nanoTime();
+            for (int mail = 0; mail < MAILS; mail++) {
+                outbox.sendMail("Article " + mail, "<p>body</p>", "reader@example.com");
+            }
+            final double microsPerMail = (System.nanoTime() - start) / 1e3 / MAILS;
+
+            System.out.printf("Queued %,d mails at %.1f us each while each delivery takes %d ms; %d sent by then%n",
+                    MAILS, microsPerMail, SEND_MILLIS, sent.get());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package data_access;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.share_article.ShareArticleEmailDataAccessInterface;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Queues mails in front of a blocked or failing sender.
+ */
+public class EmailOutboxTest {
+    private static final int MAILS = 100;
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final int LARGE_BODY_CHARS = 64 * 1024;
+    private static final int LARGE_MAILS = 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testQueuingDoesNotWaitForDelivery() throws Exception {
+        // Arrange
+        final CountDownLatch never = new CountDownLatch(1);
+        final AtomicInteger sent = new AtomicInteger();
+        final ShareArticleEmailDataAccessInterface blockedMailer = (subject, body, recipient) -> {
+            never.await();
+            sent.incrementAndGet();
+        };
+
+        try (EmailOutbox outbox = new EmailOutbox(blockedMailer, directory.resolve("outbox.log"))) {
+            // Act
+            for (int mail = 0; mail < MAILS; mail++) {
+                outbox.sendMail("Article " + mail, "<p>body</p>", "reader@example.com");
+            }
+
+            // Assert
+            assertEquals(0, sent.get());
+            assertEquals(MAILS, outbox.getPendingCount());
+        }
+    }
+
+    @Test
+    void testSecondOutboxCannotOpenTheSameSpool() throws Exception {
+        // Arrange
+        final Path spool = directory.resolve("outbox.log");
+
+        try (EmailOutbox outbox = new EmailOutbox((subject, body, recipient) -> { }, spool)) {
+            // Act & Assert
+            assertThrows(IOException.class, () -> new EmailOutbox((subject, body, recipient) -> { }, spool));
+        }
+        // Once the first one is closed the spool can be opened again
+        new EmailOutbox((subject, body, recipient) -> { }, spool).close();
+    }
+
+    @Test
+    void testFailedDeliveryIsRetried() throws Exception {
+        // Arrange
+        final AtomicInteger attempts = new AtomicInteger();
+        final ShareArticleEmailDataAccessInterface flakyMailer = (subject, body, recipient) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new RuntimeException("Gmail is unavailable");
+            }
+        };
+
+        try (EmailOutbox outbox = new EmailOutbox(flakyMailer, directory.resolve("outbox.log"), 1, 3, 10)) {
+            // Act
+            final long id = outbox.enqueue("Article", "<p>body</p>", "reader@example.com");
+
+            // Assert
+            awaitStatus(outbox, id, EmailOutbox.DeliveryStatus.DELIVERED);
+            assertEquals(3, attempts.get());
+            assertEquals(0, outbox.getPendingCount());
+        }
+    }
+
+    @Test
+    void testDeliveryGivesUpAfterMaxAttempts() throws Exception {
+        // Arrange
+        final ShareArticleEmailDataAccessInterface failingMailer = (subject, body, recipient) -> {
+            throw new RuntimeException("Invalid recipient");
+        };
+
+        try (EmailOutbox outbox = new EmailOutbox(failingMailer, directory.resolve("outbox.log"), 1, 2, 10)) {
+            // Act
+            final long id = outbox.enqueue("Article", "<p>body</p>", "not-an-address");
+
+            // Assert
+            awaitStatus(outbox, id, EmailOutbox.DeliveryStatus.FAILED);
+            assertEquals(0, outbox.getPendingCount());
+        }
+    }
+
+    @Test
+    void testFailureListenerHearsOfGivenUpMails() throws Exception {
+        // Arrange
+        final List<String> failures = new CopyOnWriteArrayList<>();
+        final CountDownLatch told = new CountDownLatch(1);
+        final ShareArticleEmailDataAccessInterface failingMailer = (subject, body, recipient) -> {
+            throw new RuntimeException("Invalid recipient");
+        };
+
+        try (EmailOutbox outbox = new EmailOutbox(failingMailer, directory.resolve("outbox.log"), 1, 2, 10)) {
+            outbox.setFailureListener((subject, recipient) -> {
+                failures.add(subject + " to " + recipient);
+                told.countDown();
+            });
+
+            // Act
+            final long id = outbox.enqueue("Article", "<p>body</p>", "not-an-address");
+
+            // Assert
+            assertTrue(told.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            assertEquals(List.of("Article to not-an-address"), failures);
+            assertEquals(EmailOutbox.DeliveryStatus.FAILED, outbox.getStatus(id));
+        }
+    }
+
+    @Test
+    void testStatusesAreDroppedWhenTheSpoolIsCompacted() throws Exception {
+        // Arrange
+        final String largeBody = "x".repeat(LARGE_BODY_CHARS);
+        // Nothing is delivered until every mail is queued, so the spool is compacted after the last one
+        final CountDownLatch allQueued = new CountDownLatch(1);
+
+        try (EmailOutbox outbox = new EmailOutbox((subject, body, recipient) -> allQueued.await(),
+                directory.resolve("outbox.log"), 1, 1, 10)) {
+            // Act
+            final long firstId = outbox.enqueue("Article 0", largeBody, "reader@example.com");
+            for (int mail = 1; mail < LARGE_MAILS; mail++) {
+                outbox.enqueue("Article " + mail, largeBody, "reader@example.com");
+            }
+            allQueued.countDown();
+
+            // Assert
+            awaitStatus(outbox, firstId + LARGE_MAILS - 1, null);
+            assertEquals(0, outbox.getPendingCount());
+            assertNull(outbox.getStatus(firstId));
+        }
+    }
+
+    @Test
+    void testPendingMailIsDeliveredAfterRestart() throws Exception {
+        // Arrange
+        final Path spool = directory.resolve("outbox.log");
+        final CountDownLatch never = new CountDownLatch(1);
+        final long id;
+        try (EmailOutbox outbox = new EmailOutbox((subject, body, recipient) -> never.await(), spool)) {
+            id = outbox.enqueue("Article", null, "reader@example.com");
+        }
+
+        // Act
+        final AtomicInteger sent = new AtomicInteger();
+        try (EmailOutbox outbox = new EmailOutbox((subject, body, recipient) -> {
+            assertNull(body);
+            sent.incrementAndGet();
+        }, spool)) {
+
+            // Assert
+            awaitStatus(outbox, id, EmailOutbox.DeliveryStatus.DELIVERED);
+            assertEquals(1, sent.get());
+            assertTrue(outbox.enqueue("Another", "<p>body</p>", "reader@example.com") > id);
+        }
+    }
+
+    private static void awaitStatus(EmailOutbox outbox, long id, EmailOutbox.DeliveryStatus status)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (outbox.getStatus(id) != status && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(status, outbox.getStatus(id));
+    }
+}
@@ -0,0 +1,122 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import entity.Article;
+import entity.ArticleKey;
+import entity.CommonArticle;
+import entity.CommonUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryUserDataAccessObjectTest {
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentSignupsOfOneNameCreateOneUser() throws Exception {
+        // Arrange
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(executor.submit(whenStarted(start, () -> userRepository.create(
+                    new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>())))));
+        }
+        start.countDown();
+
+        // Assert
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) {
+                created++;
+            }
+        }
+        assertEquals(1, created);
+        assertTrue(userRepository.existsByName("Paul"));
+    }
+
+    @Test
+    public void testConcurrentSavesOfOneArticleSaveItOnce() throws Exception {
+        // Arrange
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < THREADS; thread++) {
+            Article article = new CommonArticle("t", "au", "tech", "con", "https://example.com/a", "d", "de");
+            results.add(executor.submit(whenStarted(start,
+                    () -> userRepository.addArticle("Paul", article))));
+        }
+        start.countDown();
+
+        // Assert
+        int saved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) {
+                saved++;
+            }
+        }
+        assertEquals(1, saved);
+        assertEquals(1, userRepository.getUserArticles("Paul").get("tech").size());
+        assertTrue(userRepository.containsArticle("Paul", ArticleKey.ofLink("https://example.com/a")));
+    }
+
+    @Test
+    public void testRemovingByAnotherInstanceOfTheArticle() {
+        // Arrange
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+        userRepository.saveArticle("Paul",
+                new CommonArticle("t", "au", "tech", "con", "https://example.com/a", "d", "de"));
+
+        // Act
+        userRepository.removeArticle("Paul",
+                new CommonArticle("t", "au", "tech", "con", "https://example.com/a/", "d", "de"));
+
+        // Assert
+        assertFalse(userRepository.containsArticle("Paul", ArticleKey.ofLink("https://example.com/a")));
+        assertTrue(userRepository.getUserArticles("Paul").get("tech").isEmpty());
+    }
+
+    @Test
+    public void testMalformedPageTokensAreRejected() {
+        // Arrange
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+
+        // Act & Assert
+        for (String pageToken : new String[]{"next", "", "-1"}) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> userRepository.getSavedArticlesPage("Paul", 1, pageToken));
+        }
+        assertTrue(userRepository.getSavedArticlesPage("Paul", 1, "5").getArticles().isEmpty());
+    }
+
+    private static <T> Callable<T> whenStarted(CountDownLatch start, Callable<T> task) {
+        return () -> {
+            start.await();
+            return task.call();
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package data_access;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import entity.CommonUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Measures the cost of a write and of reopening the store. Not part of the unit tests, which only pick up
+ * classes named *Test; run it with mvn test -Dtest=LocalLogUserDataAccessObjectBenchmark.
+ */
+public class LocalLogUserDataAccessObjectBenchmark {
+    private static final int WRITES = 100_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndReopen() throws IOException {
+        final long writeStart;
+        final long writeEnd;
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            store.create(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+            writeStart = System.nanoTime();
+            for (int index = 0; index < WRITES; index++) {
+                store.saveCategory("Paul", "tech");
+                store.removeCategory("Paul", "tech");
+            }
+            writeEnd = System.nanoTime();
+        }
+
+        final long openStart = System.nanoTime();
+        final int logSize;
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            logSize = store.getLogSize();
+        }
+        final long openEnd = System.nanoTime();
+
+        System.out.printf("%.2f us per write; reopening with a %,d byte log took %.1f ms%n",
+                (writeEnd - writeStart) / 1e3 / (2 * WRITES), logSize, (openEnd - openStart) / 1e6);
+    }
+}
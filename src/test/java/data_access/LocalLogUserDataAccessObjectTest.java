@@ -0,0 +1,106 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import entity.Article;
+import entity.ArticleKey;
+import entity.CommonArticle;
+import entity.CommonUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalLogUserDataAccessObjectTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testStateIsRecoveredFromTheLog() throws IOException {
+        // Arrange
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            store.create(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+            store.saveCategory("Paul", "tech");
+            store.saveCategory("Paul", "sports");
+            store.removeCategory("Paul", "sports");
+            store.saveArticle("Paul", article("https://example.com/a"));
+            store.saveArticle("Paul", article("https://example.com/b"));
+            store.removeArticle("Paul", article("https://example.com/a"));
+        }
+
+        // Act
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+
+            // Assert
+            assertEquals("password", store.getCredentials("Paul").getPassword());
+            assertEquals(List.of("tech"), store.getUserCategories("Paul"));
+            assertFalse(store.containsArticle("Paul", ArticleKey.ofLink("https://example.com/a")));
+            assertTrue(store.containsArticle("Paul", ArticleKey.ofLink("https://example.com/b")));
+            assertEquals("content of https://example.com/b",
+                    store.getSavedArticlesPage("Paul", 10, null).getArticles().get(0).getContent());
+        }
+    }
+
+    @Test
+    public void testTornLastRecordIsDropped() throws IOException {
+        // Arrange
+        int sizeBeforeLastWrite;
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            store.create(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+            store.saveCategory("Paul", "tech");
+            sizeBeforeLastWrite = store.getLogSize();
+            store.saveCategory("Paul", "sports");
+        }
+        // A crash in the middle of the last append leaves a record that fails its checksum
+        try (RandomAccessFile log = new RandomAccessFile(directory.resolve("users.log").toFile(), "rw")) {
+            log.seek(sizeBeforeLastWrite + Integer.BYTES + 1);
+            log.write(0x7f);
+        }
+
+        // Act
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+
+            // Assert
+            assertEquals(List.of("tech"), store.getUserCategories("Paul"));
+            assertEquals(sizeBeforeLastWrite, store.getLogSize());
+            store.saveCategory("Paul", "news");
+        }
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            assertEquals(List.of("tech", "news"), store.getUserCategories("Paul"));
+        }
+    }
+
+    @Test
+    public void testCompactionKeepsStateAndEmptiesTheLog() throws IOException {
+        // Arrange
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            store.create(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+            for (int index = 0; index < 100; index++) {
+                store.saveCategory("Paul", "category" + index);
+                store.removeCategory("Paul", "category" + index);
+            }
+            store.saveArticle("Paul", article("https://example.com/a"));
+            final int sizeBeforeCompaction = store.getLogSize();
+
+            // Act
+            store.compact();
+            store.saveCategory("Paul", "tech");
+
+            // Assert
+            assertTrue(store.getLogSize() < sizeBeforeCompaction);
+        }
+        try (LocalLogUserDataAccessObject store = new LocalLogUserDataAccessObject(directory)) {
+            assertEquals(List.of("tech"), store.getUserCategories("Paul"));
+            assertTrue(store.containsArticle("Paul", ArticleKey.ofLink("https://example.com/a")));
+        }
+    }
+
+    private static Article article(String link) {
+        return new CommonArticle("title", "author", "tech", "content of " + link, link, "2024-12-01", "description");
+    }
+}
@@ -0,0 +1,110 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import use_case.saved_articles.SavedArticlesPage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoDBSavedArticleDataAccessObjectTest {
+    private static final String NAME = "reader@example.com";
+
+    private final List<Document> storedPage = new ArrayList<>();
+    private MongoCollection<Document> savedArticleCollection;
+    private MongoDBSavedArticleDataAccessObject dataAccessObject;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        final MongoDatabase database = Mockito.mock(MongoDatabase.class);
+        savedArticleCollection = Mockito.mock(MongoCollection.class);
+        final FindIterable<Document> found = Mockito.mock(FindIterable.class);
+        Mockito.when(savedArticleCollection.find(Mockito.any(Bson.class))).thenReturn(found);
+        Mockito.when(found.sort(Mockito.any())).thenReturn(found);
+        Mockito.when(found.limit(Mockito.anyInt())).thenReturn(found);
+        Mockito.when(found.projection(Mockito.any())).thenReturn(found);
+        Mockito.when(found.into(Mockito.any())).thenAnswer(invocation -> {
+            final List<Document> target = invocation.getArgument(0);
+            target.addAll(storedPage);
+            return target;
+        });
+        final MongoCollection<Document> userCollection = Mockito.mock(MongoCollection.class);
+        final FindIterable<Document> noUser = Mockito.mock(FindIterable.class);
+        Mockito.when(userCollection.find(Mockito.any(Bson.class))).thenReturn(noUser);
+        Mockito.when(noUser.projection(Mockito.any())).thenReturn(noUser);
+        Mockito.when(database.getCollection(MongoDBSavedArticleDataAccessObject.COLLECTION_NAME))
+                .thenReturn(savedArticleCollection);
+        Mockito.when(database.getCollection("User")).thenReturn(userCollection);
+        dataAccessObject = new MongoDBSavedArticleDataAccessObject(database,
+                Mockito.mock(ArticleContentStore.class));
+    }
+
+    @Test
+    void testMalformedPageTokensAreRejected() {
+        // Act & Assert
+        // Not Base64, empty, and "not a number" without a link hash
+        for (String pageToken : new String[]{"not base64!", "", "bm90IGEgbnVtYmVy"}) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> dataAccessObject.getSavedArticlesPage(NAME, 1, pageToken));
+        }
+    }
+
+    @Test
+    void testPageEndingWithoutDateContinuesWithArticlesWithoutDate() {
+        // Arrange
+        storedPage.add(article(5L, null));
+        storedPage.add(article(3L, null));
+
+        // Act
+        final SavedArticlesPage first = dataAccessObject.getSavedArticlesPage(NAME, 1, null);
+        dataAccessObject.getSavedArticlesPage(NAME, 1, first.getNextPageToken());
+
+        // Assert
+        assertEquals(1, first.getArticles().size());
+        assertEquals(Filters.and(Filters.eq("user", NAME), Filters.and(Filters.eq("date", null),
+                        Filters.lt("linkHash", 5L))).toBsonDocument(),
+                lastFilter().toBsonDocument());
+    }
+
+    @Test
+    void testPageEndingWithDateContinuesIntoArticlesWithoutDate() {
+        // Arrange
+        storedPage.add(article(5L, "2024-11-20T12:00:00Z"));
+        storedPage.add(article(3L, null));
+
+        // Act
+        final SavedArticlesPage first = dataAccessObject.getSavedArticlesPage(NAME, 1, null);
+        dataAccessObject.getSavedArticlesPage(NAME, 1, first.getNextPageToken());
+
+        // Assert
+        assertEquals(Filters.and(Filters.eq("user", NAME), Filters.or(Filters.lt("date", "2024-11-20T12:00:00Z"),
+                        Filters.and(Filters.eq("date", "2024-11-20T12:00:00Z"), Filters.lt("linkHash", 5L)),
+                        Filters.eq("date", null))).toBsonDocument(),
+                lastFilter().toBsonDocument());
+    }
+
+    private Bson lastFilter() {
+        final ArgumentCaptor<Bson> filters = ArgumentCaptor.forClass(Bson.class);
+        Mockito.verify(savedArticleCollection, Mockito.atLeastOnce()).find(filters.capture());
+        return filters.getValue();
+    }
+
+    private static Document article(long linkHash, String date) {
+        return new Document("user", NAME)
+                .append("linkHash", linkHash)
+                .append("date", date)
+                .append("title", "title")
+                .append("link", "https://example.com/" + linkHash);
+    }
+}
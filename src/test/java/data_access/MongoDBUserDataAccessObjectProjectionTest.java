@@ -0,0 +1,216 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import use_case.login.LoginCredentials;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reads of the DAO against a collection holding one user with 1,000 saved articles. The collection
+ * applies each projection the DAO asks for the way the server would, and records the documents it returns,
+ * so the tests see exactly the fields each read transfers.
+ */
+public class MongoDBUserDataAccessObjectProjectionTest {
+    private static final String NAME = "reader@example.com";
+    private static final int ARTICLE_COUNT = 1000;
+    private static final int CONTENT_LENGTH = 4000;
+    private static final int SMALL_READ_BYTES = 300;
+
+    private final List<Document> transferred = Collections.synchronizedList(new ArrayList<>());
+    private MongoDBUserDataAccessObject userDataAccessObject;
+
+    @BeforeEach
+    void setUp() {
+        final MongoDatabase database = Mockito.mock(MongoDatabase.class);
+        final MongoCollection<Document> collection = collectionHolding(userWithArticles());
+        Mockito.when(database.getCollection("User")).thenReturn(collection);
+        userDataAccessObject = new MongoDBUserDataAccessObject(database);
+    }
+
+    @Test
+    void testCategoriesReadTransfersOnlyTheCategories() {
+        // Act
+        final List<String> categories = userDataAccessObject.getUserCategories(NAME);
+
+        // Assert
+        assertEquals(5, categories.size());
+        assertTransferred(Set.of("categories"));
+    }
+
+    @Test
+    void testExistsReadTransfersOnlyTheId() {
+        // Act
+        final boolean exists = userDataAccessObject.existsByName(NAME);
+
+        // Assert
+        assertTrue(exists);
+        assertTransferred(Set.of("_id"));
+    }
+
+    @Test
+    void testNameCheckedByOtherProcessesIsStillRead() {
+        // Arrange
+        // The collection answers every query with its one user, as if another process had just created
+        // a user under this name that the username filter has never seen
+        final String createdElsewhere = "newcomer@example.com";
+
+        // Act
+        final boolean exists = userDataAccessObject.existsByName(createdElsewhere);
+        final LoginCredentials credentials = userDataAccessObject.getCredentials(createdElsewhere);
+
+        // Assert
+        assertTrue(exists);
+        assertNotNull(credentials);
+        assertEquals(2, transferred.size());
+    }
+
+    @Test
+    void testCredentialsReadTransfersNamePasswordAndCategories() {
+        // Act
+        final LoginCredentials credentials = userDataAccessObject.getCredentials(NAME);
+
+        // Assert
+        assertEquals("password", credentials.getPassword());
+        assertTransferred(Set.of("name", "password", "categories"));
+    }
+
+    @Test
+    void testAccountReadLeavesOutTheArticles() {
+        // Act
+        final String name = userDataAccessObject.getWithoutArticles(NAME).getName();
+
+        // Assert
+        assertEquals(NAME, name);
+        assertTransferred(Set.of("_id", "name", "password", "categories"));
+    }
+
+    @Test
+    void testFullReadCarriesEveryArticle() {
+        // Act
+        userDataAccessObject.get(NAME);
+
+        // Assert
+        assertEquals(1, transferred.size());
+        assertTrue(bsonSize(transferred.get(0)) > ARTICLE_COUNT * CONTENT_LENGTH);
+    }
+
+    private void assertTransferred(Set<String> fields) {
+        assertEquals(1, transferred.size());
+        assertEquals(fields, transferred.get(0).keySet());
+        assertTrue(bsonSize(transferred.get(0)) < SMALL_READ_BYTES);
+    }
+
+    private static Document userWithArticles() {
+        final List<String> categories = List.of("technology", "health", "finance", "sports", "science");
+        final Document articles = new Document();
+        for (String category : categories) {
+            articles.append(category, new ArrayList<Document>());
+        }
+        for (int i = 0; i < ARTICLE_COUNT; i++) {
+            final String category = categories.get(i % categories.size());
+            articles.getList(category, Document.class).add(new Document()
+                    .append("title", "Article " + i + " about " + category)
+                    .append("author", "Author " + i)
+                    .append("category", category)
+                    .append("content", "x".repeat(CONTENT_LENGTH))
+                    .append("link", "https://news.example.com/" + category + "/" + i)
+                    .append("date", "2024-11-20T12:00:00Z")
+                    .append("description", "description of article " + i));
+        }
+        return new Document()
+                .append("_id", new ObjectId())
+                .append("name", NAME)
+                .append("password", "password")
+                .append("categories", categories)
+                .append("articles", articles);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collectionHolding(Document user) {
+        final MongoCollection<Document> collection = Mockito.mock(MongoCollection.class);
+        final FindIterable<Document> unprojected = findIterable(user);
+        Mockito.when(collection.find()).thenReturn(unprojected);
+        Mockito.when(collection.find(Mockito.any(Bson.class))).thenReturn(unprojected);
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FindIterable<Document> findIterable(Document result) {
+        final FindIterable<Document> iterable = Mockito.mock(FindIterable.class);
+        Mockito.when(iterable.projection(Mockito.any(Bson.class))).thenAnswer(invocation ->
+                findIterable(project(invocation.getArgument(0), result)));
+        Mockito.when(iterable.first()).thenAnswer(invocation -> {
+            transferred.add(result);
+            return result;
+        });
+        Mockito.when(iterable.iterator()).thenAnswer(invocation -> cursor(List.of(result).iterator()));
+        return iterable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Iterator<Document> documents) {
+        final MongoCursor<Document> cursor = Mockito.mock(MongoCursor.class);
+        Mockito.when(cursor.hasNext()).thenAnswer(invocation -> documents.hasNext());
+        Mockito.when(cursor.next()).thenAnswer(invocation -> documents.next());
+        return cursor;
+    }
+
+    /**
+     * Applies an inclusion or exclusion projection as the server does: an inclusion keeps the listed
+     * fields and _id unless it is excluded, an exclusion keeps everything else.
+     */
+    private static Document project(Bson projection, Document document) {
+        final BsonDocument fields = projection.toBsonDocument();
+        boolean inclusion = false;
+        for (BsonValue value : fields.values()) {
+            inclusion |= isIncluded(value);
+        }
+
+        final Document projected = new Document();
+        for (Map.Entry<String, Object> field : document.entrySet()) {
+            final BsonValue rule = fields.get(field.getKey());
+            final boolean keep;
+            if (inclusion) {
+                keep = rule == null ? "_id".equals(field.getKey()) : isIncluded(rule);
+            }
+            else {
+                keep = rule == null;
+            }
+            if (keep) {
+                projected.append(field.getKey(), field.getValue());
+            }
+        }
+        return projected;
+    }
+
+    private static boolean isIncluded(BsonValue value) {
+        if (value.isBoolean()) {
+            return value.asBoolean().getValue();
+        }
+        return value.asNumber().intValue() != 0;
+    }
+
+    private static int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+}
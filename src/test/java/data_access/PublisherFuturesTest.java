@@ -0,0 +1,87 @@
+package data_access;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublisherFuturesTest {
+
+    @Test
+    public void testFirstTakesOneItemAndCancels() throws Exception {
+        // Arrange
+        boolean[] cancelled = {false};
+        Publisher<String> publisher = items(cancelled, "a", "b", "c");
+
+        // Act
+        CompletableFuture<String> first = PublisherFutures.first(publisher);
+
+        // Assert
+        assertEquals("a", first.get());
+        assertTrue(cancelled[0]);
+    }
+
+    @Test
+    public void testFirstOfEmptyPublisherIsNull() throws Exception {
+        // Act & Assert
+        assertNull(PublisherFutures.first(items(new boolean[1])).get());
+    }
+
+    @Test
+    public void testErrorsFailTheFuture() {
+        // Arrange
+        Publisher<String> failing = subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long count) {
+                    subscriber.onError(new IllegalStateException("boom"));
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        };
+
+        // Act
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> PublisherFutures.first(failing).get());
+
+        // Assert
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    /**
+     * A publisher emitting the given items on request, recording whether it was cancelled.
+     */
+    @SafeVarargs
+    private static <T> Publisher<T> items(boolean[] cancelled, T... items) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            private int next;
+            private boolean done;
+
+            @Override
+            public void request(long count) {
+                for (long requested = 0; requested < count && !done; requested++) {
+                    if (next == items.length) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                    else {
+                        subscriber.onNext(items[next++]);
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+                cancelled[0] = true;
+            }
+        });
+    }
+}
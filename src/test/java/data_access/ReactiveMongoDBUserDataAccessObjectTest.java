@@ -0,0 +1,139 @@
+package data_access;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteError;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import entity.Article;
+import entity.CommonArticle;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReactiveMongoDBUserDataAccessObjectTest {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final Article article = new CommonArticle("t", "au", "tech", "con", "https://example.com/a", "d", "de");
+    private MongoCollection<Document> savedArticleCollection;
+    private MongoCollection<Document> contentCollection;
+    private ReactiveMongoDBUserDataAccessObject dataAccessObject;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        savedArticleCollection = mock(MongoCollection.class);
+        contentCollection = mock(MongoCollection.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.getCollection(MongoDBSavedArticleDataAccessObject.COLLECTION_NAME))
+                .thenReturn(savedArticleCollection);
+        when(database.getCollection(ArticleContentStore.COLLECTION_NAME)).thenReturn(contentCollection);
+        when(contentCollection.updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class)))
+                .thenReturn(emitting(UpdateResult.acknowledged(0, 0L, null)));
+        dataAccessObject = new ReactiveMongoDBUserDataAccessObject(database);
+    }
+
+    @Test
+    public void testSaveStoresContentAndArticle() throws Exception {
+        // Arrange
+        when(savedArticleCollection.insertOne(any(Document.class)))
+                .thenReturn(emitting(InsertOneResult.acknowledged(new BsonString("id"))));
+
+        // Act
+        boolean saved = dataAccessObject.saveArticleAsync("Paul", article).get();
+
+        // Assert
+        assertTrue(saved);
+        verify(contentCollection).updateOne(any(Bson.class), any(Bson.class), any(UpdateOptions.class));
+        verify(savedArticleCollection).insertOne(any(Document.class));
+    }
+
+    @Test
+    public void testSaveOfSavedArticleIsFalse() throws Exception {
+        // Arrange
+        when(savedArticleCollection.insertOne(any(Document.class))).thenReturn(failing(new MongoWriteException(
+                new WriteError(DUPLICATE_KEY, "duplicate key", new BsonDocument()), new ServerAddress(),
+                Collections.emptySet())));
+
+        // Act & Assert
+        assertFalse(dataAccessObject.saveArticleAsync("Paul", article).get());
+    }
+
+    @Test
+    public void testSaveFailsOnOtherErrors() {
+        // Arrange
+        when(savedArticleCollection.insertOne(any(Document.class)))
+                .thenReturn(failing(new IllegalStateException("offline")));
+
+        // Act
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> dataAccessObject.saveArticleAsync("Paul", article).get());
+
+        // Assert
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    public void testRemoveReportsWhetherArticleWasSaved() throws Exception {
+        // Arrange
+        when(savedArticleCollection.deleteOne(any(Bson.class)))
+                .thenReturn(emitting(DeleteResult.acknowledged(1)))
+                .thenReturn(emitting(DeleteResult.acknowledged(0)));
+
+        // Act & Assert
+        assertTrue(dataAccessObject.removeArticleAsync("Paul", article).get());
+        assertFalse(dataAccessObject.removeArticleAsync("Paul", article).get());
+    }
+
+    /**
+     * A publisher emitting one item and completing, as the driver does for single writes.
+     */
+    private static <T> Publisher<T> emitting(T item) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            private boolean done;
+
+            @Override
+            public void request(long count) {
+                if (!done) {
+                    done = true;
+                    subscriber.onNext(item);
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+            }
+        });
+    }
+
+    private static <T> Publisher<T> failing(Throwable throwable) {
+        return subscriber -> subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long count) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+    }
+}
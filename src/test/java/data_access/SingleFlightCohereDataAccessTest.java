@@ -0,0 +1,108 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+import use_case.digest.DigestCohereDataAccessInterface;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightCohereDataAccessTest {
+
+    @Test
+    public void testConcurrentIdenticalCallsShareOneRequest() throws Exception {
+        // Arrange
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        DigestCohereDataAccessInterface slowSummarizer = inputText -> {
+            requests.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return "summary of " + inputText;
+        };
+        SingleFlightCohereDataAccessObject singleFlight = new SingleFlightCohereDataAccessObject(slowSummarizer);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> singleFlight.summarize("same content")));
+        }
+        while (singleFlight.getCollapsedCallCount() < 4) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("summary of same content", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, requests.get(), "Only one request should reach the summarizer");
+        assertEquals(5, singleFlight.getCallCount());
+        assertEquals(4, singleFlight.getCollapsedCallCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSequentialCallsAreNotCollapsed() throws IOException {
+        // Arrange
+        AtomicInteger requests = new AtomicInteger();
+        SingleFlightCohereDataAccessObject singleFlight = new SingleFlightCohereDataAccessObject(inputText -> {
+            requests.incrementAndGet();
+            return "summary";
+        });
+
+        // Act
+        singleFlight.summarize("content");
+        singleFlight.summarize("content");
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(0, singleFlight.getCollapsedCallCount());
+    }
+
+    @Test
+    public void testFailureIsSharedWithJoinedCalls() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCohereDataAccessObject singleFlight = new SingleFlightCohereDataAccessObject(inputText -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Simulated Cohere failure");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<String> first = executor.submit(() -> singleFlight.summarize("content"));
+        Future<String> second = executor.submit(() -> singleFlight.summarize("content"));
+        while (singleFlight.getCollapsedCallCount() < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        Exception firstFailure = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception secondFailure = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, firstFailure.getCause());
+        assertInstanceOf(IOException.class, secondFailure.getCause());
+        assertEquals(0, singleFlight.getInFlightCount());
+        executor.shutdown();
+    }
+}
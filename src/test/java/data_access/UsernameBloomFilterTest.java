@@ -0,0 +1,66 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fills the filter to its expected size and checks how many names that were never added it lets through
+ * against the rate it expects from its own fill.
+ */
+public class UsernameBloomFilterTest {
+    private static final int NAMES = 100_000;
+    private static final double TARGET_RATE = 0.01;
+
+    @Test
+    void testAddedNamesAreAlwaysFound() {
+        // Arrange
+        final UsernameBloomFilter filter = new UsernameBloomFilter(NAMES, TARGET_RATE);
+
+        // Act
+        for (int name = 0; name < NAMES; name++) {
+            filter.put("user" + name + "@example.com");
+        }
+
+        // Assert
+        for (int name = 0; name < NAMES; name++) {
+            assertTrue(filter.mightContain("user" + name + "@example.com"));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        // Arrange
+        final UsernameBloomFilter filter = new UsernameBloomFilter(NAMES, TARGET_RATE);
+        for (int name = 0; name < NAMES; name++) {
+            filter.put("user" + name + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int name = NAMES; name < 2 * NAMES; name++) {
+            if (filter.mightContain("user" + name + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        final double observed = (double) falsePositives / NAMES;
+        assertTrue(observed < 2 * TARGET_RATE);
+        assertEquals(filter.getExpectedFalsePositiveRate(), observed, TARGET_RATE / 2);
+    }
+
+    @Test
+    void testOnlyTheAddedNameIsFound() {
+        // Arrange
+        final UsernameBloomFilter filter = new UsernameBloomFilter(NAMES, TARGET_RATE);
+
+        // Act
+        filter.put("Paul");
+
+        // Assert
+        assertTrue(filter.mightContain("Paul"));
+        assertFalse(filter.mightContain("paul"));
+        assertEquals(0, new UsernameBloomFilter(NAMES, TARGET_RATE).getExpectedFalsePositiveRate());
+    }
+}
@@ -0,0 +1,210 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mongodb.MongoException;
+import entity.Article;
+import entity.CommonArticle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindDataAccessObjectTest {
+    private static final long NEVER_MILLIS = 3_600_000;
+
+    private MongoDBUserDataAccessObject userDataAccessObject;
+    private MongoDBSavedArticleDataAccessObject savedArticleDataAccessObject;
+    private MongoClientProvider mongoClientProvider;
+    private WriteBehindDataAccessObject writeBehind;
+
+    private static Article article(String title) {
+        return new CommonArticle(title, "author", "technology", "content of " + title, "link/" + title,
+                "2024-11-20T12:00:00Z", "");
+    }
+
+    @BeforeEach
+    void setUp() {
+        userDataAccessObject = Mockito.mock(MongoDBUserDataAccessObject.class);
+        savedArticleDataAccessObject = Mockito.mock(MongoDBSavedArticleDataAccessObject.class);
+        mongoClientProvider = Mockito.mock(MongoClientProvider.class);
+        writeBehind = new WriteBehindDataAccessObject(userDataAccessObject, savedArticleDataAccessObject,
+                mongoClientProvider, NEVER_MILLIS);
+    }
+
+    @Test
+    void testCategoryReadsSeeQueuedChangesBeforeTheyAreWritten() {
+        // Arrange
+        Mockito.when(userDataAccessObject.getUserCategories("user"))
+                .thenReturn(new ArrayList<>(List.of("finance", "sports")));
+
+        // Act
+        writeBehind.saveCategory("user", "technology");
+        writeBehind.saveCategory("user", "sports");
+        writeBehind.removeCategory("user", "finance");
+        List<String> categories = writeBehind.getUserCategories("user");
+
+        // Assert
+        assertEquals(List.of("sports", "technology"), categories);
+        assertEquals(3, writeBehind.getPendingWriteCount());
+        Mockito.verify(userDataAccessObject, Mockito.never()).applyCategoryChanges(Mockito.any(), Mockito.any(),
+                Mockito.any());
+    }
+
+    @Test
+    void testContainsArticleSeesQueuedChangesBeforeTheStore() {
+        // Arrange
+        Article saved = article("saved");
+        Article unsaved = article("unsaved");
+        Article stored = article("stored");
+        Mockito.when(savedArticleDataAccessObject.containsArticle("user", unsaved.getKey())).thenReturn(true);
+        Mockito.when(savedArticleDataAccessObject.containsArticle("user", stored.getKey())).thenReturn(true);
+
+        // Act
+        writeBehind.saveArticle("user", saved);
+        writeBehind.removeArticle("user", unsaved);
+
+        // Assert
+        assertTrue(writeBehind.containsArticle("user", saved.getKey()));
+        assertFalse(writeBehind.containsArticle("user", unsaved.getKey()));
+        assertTrue(writeBehind.containsArticle("user", stored.getKey()));
+        Mockito.verify(savedArticleDataAccessObject, Mockito.never()).containsArticle("user", saved.getKey());
+        Mockito.verify(savedArticleDataAccessObject, Mockito.never()).containsArticle("user", unsaved.getKey());
+    }
+
+    @Test
+    void testFlushWritesCoalescedChangesInOneCallPerCollection() {
+        // Arrange
+        Article kept = article("kept");
+        Article cancelled = article("cancelled");
+
+        // Act
+        writeBehind.saveCategory("user", "technology");
+        writeBehind.saveCategory("user", "health");
+        writeBehind.removeCategory("user", "health");
+        writeBehind.removeCategory("user", "finance");
+        writeBehind.saveArticle("user", kept);
+        writeBehind.saveArticle("user", cancelled);
+        writeBehind.removeArticle("user", cancelled);
+        writeBehind.flush("user");
+
+        // Assert
+        // Adding and then removing health or the cancelled article leaves nothing to write for them
+        Mockito.verify(userDataAccessObject).applyCategoryChanges("user", List.of("technology"),
+                List.of("finance"));
+        Mockito.verify(savedArticleDataAccessObject).applyArticleChanges("user", List.of(kept), List.of());
+        assertEquals(0, writeBehind.getPendingWriteCount());
+    }
+
+    @Test
+    void testChangingUserWritesThePreviousUsersQueue() {
+        // Arrange
+        Mockito.when(userDataAccessObject.getCurrentUsername()).thenReturn("first");
+        writeBehind.saveCategory("first", "technology");
+        writeBehind.saveCategory("second", "health");
+
+        // Act
+        writeBehind.setCurrentUsername("second");
+
+        // Assert
+        Mockito.verify(userDataAccessObject).setCurrentUsername("second");
+        Mockito.verify(userDataAccessObject).applyCategoryChanges("first", List.of("technology"), List.of());
+        Mockito.verify(userDataAccessObject, Mockito.never()).applyCategoryChanges(Mockito.eq("second"),
+                Mockito.any(), Mockito.any());
+        assertEquals(1, writeBehind.getPendingWriteCount());
+    }
+
+    @Test
+    void testLogoutWritesTheUsersQueue() {
+        // Arrange
+        Article article = article("article");
+        Mockito.when(userDataAccessObject.getCurrentUsername()).thenReturn("user");
+        writeBehind.saveArticle("user", article);
+
+        // Act
+        writeBehind.setCurrentUsername(null);
+
+        // Assert
+        Mockito.verify(savedArticleDataAccessObject).applyArticleChanges("user", List.of(article), List.of());
+        assertEquals(0, writeBehind.getPendingWriteCount());
+    }
+
+    @Test
+    void testFailedWriteStaysQueuedForTheNextFlush() {
+        // Arrange
+        Article article = article("article");
+        Mockito.doThrow(new MongoException("Connection refused")).doNothing().when(savedArticleDataAccessObject)
+                .applyArticleChanges(Mockito.any(), Mockito.any(), Mockito.any());
+        writeBehind.saveArticle("user", article);
+        writeBehind.saveCategory("user", "technology");
+
+        // Act
+        writeBehind.flush("user");
+        int pendingAfterFailure = writeBehind.getPendingWriteCount();
+        boolean containsAfterFailure = writeBehind.containsArticle("user", article.getKey());
+        writeBehind.flush("user");
+
+        // Assert
+        assertEquals(1, pendingAfterFailure);
+        assertTrue(containsAfterFailure);
+        assertEquals(0, writeBehind.getPendingWriteCount());
+        Mockito.verify(savedArticleDataAccessObject, Mockito.times(2)).applyArticleChanges("user",
+                List.of(article), List.of());
+        Mockito.verify(userDataAccessObject).applyCategoryChanges("user", List.of("technology"), List.of());
+    }
+
+    @Test
+    void testUnexpectedFailureStaysQueuedForTheNextFlush() {
+        // Arrange
+        Mockito.doThrow(new IllegalStateException("state should be: open")).doNothing()
+                .when(userDataAccessObject).applyCategoryChanges(Mockito.any(), Mockito.any(), Mockito.any());
+        writeBehind.saveCategory("user", "technology");
+
+        // Act
+        writeBehind.flushAll();
+        int pendingAfterFailure = writeBehind.getPendingWriteCount();
+        writeBehind.flushAll();
+
+        // Assert
+        assertEquals(1, pendingAfterFailure);
+        assertEquals(0, writeBehind.getPendingWriteCount());
+        Mockito.verify(userDataAccessObject, Mockito.times(2)).applyCategoryChanges("user",
+                List.of("technology"), List.of());
+    }
+
+    @Test
+    void testFirstPageOfSavedArticlesIsReadAfterAFlush() {
+        // Arrange
+        Article article = article("article");
+        writeBehind.saveArticle("user", article);
+
+        // Act
+        writeBehind.getSavedArticlesPage("user", 10, null);
+
+        // Assert
+        InOrder inOrder = Mockito.inOrder(savedArticleDataAccessObject);
+        inOrder.verify(savedArticleDataAccessObject).applyArticleChanges("user", List.of(article), List.of());
+        inOrder.verify(savedArticleDataAccessObject).getSavedArticlesPage("user", 10, null);
+    }
+
+    @Test
+    void testClosingTheClientWritesEveryUsersQueue() {
+        // Arrange
+        ArgumentCaptor<Runnable> beforeClose = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(mongoClientProvider).beforeClose(beforeClose.capture());
+        writeBehind.saveCategory("first", "technology");
+        writeBehind.saveCategory("second", "health");
+
+        // Act
+        beforeClose.getValue().run();
+
+        // Assert
+        Mockito.verify(userDataAccessObject).applyCategoryChanges("first", List.of("technology"), List.of());
+        Mockito.verify(userDataAccessObject).applyCategoryChanges("second", List.of("health"), List.of());
+        assertEquals(0, writeBehind.getPendingWriteCount());
+    }
+}
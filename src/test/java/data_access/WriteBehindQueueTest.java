@@ -0,0 +1,74 @@
+package data_access;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindQueueTest {
+
+    @Test
+    public void testAddThenRemoveCancelsOut() {
+        // Arrange
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>();
+
+        // Act
+        queue.add("user", "tech", "tech");
+        queue.add("user", "health", "health");
+        queue.remove("user", "tech", "tech");
+
+        // Assert
+        Map<String, WriteBehindQueue.Mutation<String>> pending = queue.snapshot("user");
+        assertEquals(1, queue.size());
+        assertTrue(pending.get("health").isAdd());
+        assertFalse(pending.containsKey("tech"));
+    }
+
+    @Test
+    public void testMutationsAreKeptPerUser() {
+        // Arrange
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>();
+
+        // Act
+        queue.add("first", "tech", "tech");
+        queue.remove("second", "tech", "tech");
+
+        // Assert
+        assertEquals(2, queue.size());
+        assertTrue(queue.snapshot("first").get("tech").isAdd());
+        assertFalse(queue.snapshot("second").get("tech").isAdd());
+    }
+
+    @Test
+    public void testMutationQueuedDuringWriteIsNotLost() {
+        // Arrange
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>();
+        queue.add("user", "tech", "tech");
+
+        // Act: the add is being written when the remove comes in
+        Map<String, WriteBehindQueue.Mutation<String>> batch = queue.beginWrite("user");
+        queue.remove("user", "tech", "tech");
+        queue.acknowledge("user", batch);
+
+        // Assert
+        assertEquals(1, queue.size());
+        assertFalse(queue.snapshot("user").get("tech").isAdd());
+    }
+
+    @Test
+    public void testReleasedBatchStaysQueued() {
+        // Arrange
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>();
+        queue.add("user", "tech", "tech");
+
+        // Act
+        Map<String, WriteBehindQueue.Mutation<String>> batch = queue.beginWrite("user");
+        queue.release(batch);
+        queue.remove("user", "tech", "tech");
+
+        // Assert
+        assertEquals(0, queue.size());
+        assertTrue(queue.getUsers().isEmpty());
+    }
+}
@@ -0,0 +1,29 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArticleKeyTest {
+
+    @Test
+    public void testKeyIgnoresHostCaseFragmentAndTrailingSlash() {
+        // Arrange
+        long key = ArticleKey.ofLink("https://news.example.com/2024/story");
+
+        // Act & Assert
+        assertEquals(key, ArticleKey.ofLink("HTTPS://News.Example.com/2024/story/"));
+        assertEquals(key, ArticleKey.ofLink("https://news.example.com/2024/story#top"));
+        assertNotEquals(key, ArticleKey.ofLink("https://news.example.com/2024/Story"));
+        assertNotEquals(key, ArticleKey.ofLink("https://news.example.com/2024/other"));
+    }
+
+    @Test
+    public void testKeyOfArticleIsKeyOfItsLink() {
+        // Arrange
+        Article article = new CommonArticle("t", "au", "tech", "con", "https://example.com/a", "d", "de");
+
+        // Act & Assert
+        assertEquals(ArticleKey.ofLink("https://example.com/a"), article.getKey());
+    }
+}
@@ -0,0 +1,82 @@
+package entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the retained heap per article of CommonArticle with the previous layout of seven strings, for
+ * news-like text with typographic quotes. Each measurement keeps the articles reachable and reads the used
+ * heap after asking for a full collection, which the JVM may ignore, so the numbers are only indicative.
+ * Not part of the unit tests, which only pick up classes named *Test; run it with
+ * mvn test -Dtest=CommonArticleFootprintBenchmark.
+ */
+public class CommonArticleFootprintBenchmark {
+    private static final int ARTICLE_COUNT = 2000;
+    private static final int PARAGRAPHS = 40;
+    private static final String PARAGRAPH = "The minister said the plan was “the best option we have” "
+            + "and would be reviewed next year, after the committee reports on its progress. ";
+
+    @Test
+    void bytesPerArticle() {
+        final long stringLayout = bytesPerArticle(index -> new StringArticle(article(index)));
+        final long compactLayout = bytesPerArticle(CommonArticleFootprintBenchmark::article);
+
+        System.out.printf("Seven strings: %,d bytes per article%n", stringLayout);
+        System.out.printf("CommonArticle: %,d bytes per article%n", compactLayout);
+    }
+
+    private static CommonArticle article(int index) {
+        // Parsed responses produce fresh strings, so build every field anew
+        return new CommonArticle("Article " + index, new String("Jane Reporter"), new String("politics"),
+                PARAGRAPH.repeat(PARAGRAPHS) + index, "https://news.example.com/politics/" + index,
+                "2024-11-20T12:00:00Z", "Summary of article " + index);
+    }
+
+    private static long bytesPerArticle(IntFunction<Object> factory) {
+        final long before = usedHeap();
+        final List<Object> articles = new ArrayList<>(ARTICLE_COUNT);
+        for (int index = 0; index < ARTICLE_COUNT; index++) {
+            articles.add(factory.apply(index));
+        }
+        final long after = usedHeap();
+        // Keeps the articles reachable until the heap was read
+        if (articles.size() != ARTICLE_COUNT) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / ARTICLE_COUNT;
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int collection = 0; collection < 3; collection++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * The article layout before: every field a separate string.
+     */
+    private static final class StringArticle {
+        private final String title;
+        private final String author;
+        private final String category;
+        private final String content;
+        private final String link;
+        private final String date;
+        private final String description;
+
+        private StringArticle(Article article) {
+            this.title = article.getTitle();
+            this.author = new String(article.getAuthor());
+            this.category = new String(article.getCategory());
+            this.content = article.getContent();
+            this.link = article.getLink();
+            this.date = article.getDate();
+            this.description = article.getDescription();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package entity;
 
+import java.util.HashSet;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,4 +74,64 @@ public class CommonArticleTest {
         // Ensure that the initial description is as expected
         assertEquals("Short description of the article.", article.getDescription());
     }
+
+    @Test
+    void testContentOutsideAsciiRoundTrips() {
+        String content = "The minister called it \u201cthe best option\u201d \u2014 na\u00efve or not \uD83D\uDCF0";
+        Article quoted = new CommonArticle("Title", "Author", "Politics", content, "https://example.com/quoted",
+                "2024-12-01", "Description");
+
+        assertEquals(content, quoted.getContent());
+    }
+
+    @Test
+    void testMissingFieldsStayNull() {
+        Article empty = new CommonArticle("Title", null, null, null, "https://example.com/empty", null, null);
+
+        assertNull(empty.getAuthor());
+        assertNull(empty.getCategory());
+        assertNull(empty.getContent());
+    }
+
+    @Test
+    void testAuthorAndCategoryAreSharedAcrossArticles() {
+        // Parsed responses produce a fresh string for every field
+        Article other = new CommonArticle("Other Title", new String("Author Name"), new String("Technology"),
+                "Other content.", "https://example.com/other-article", "2024-12-02", "Other description.");
+
+        assertSame(article.getAuthor(), other.getAuthor());
+        assertSame(article.getCategory(), other.getCategory());
+    }
+
+    @Test
+    void testSharedValuesAreBounded() {
+        for (int index = 0; index < 2 * CommonArticle.MAX_SHARED_VALUES; index++) {
+            new CommonArticle("Title", "Author " + index, "Technology", null, "https://example.com/" + index,
+                    null, null);
+        }
+
+        assertTrue(CommonArticle.sharedValueCount() <= CommonArticle.MAX_SHARED_VALUES);
+    }
+
+    @Test
+    void testArticlesWithTheSameLinkAreEqual() {
+        // Another copy of the article, fetched again with a trailing slash and a new description
+        Article copy = new CommonArticle("Title Example", "Author Name", "Technology",
+                "This is the content of the article.", "https://example.com/article-link/", "2024-12-01",
+                "Another description.");
+
+        assertEquals(article, copy);
+        assertEquals(article.hashCode(), copy.hashCode());
+        assertEquals(article.getKey(), copy.getKey());
+    }
+
+    @Test
+    void testArticlesWithDifferentLinksAreNotEqual() {
+        Article other = new CommonArticle("Title Example", "Author Name", "Technology",
+                "This is the content of the article.", "https://example.com/other-link", "2024-12-01",
+                "Short description of the article.");
+
+        assertNotEquals(article, other);
+        assertFalse(new HashSet<>(List.of(article)).contains(other));
+    }
 }
@@ -0,0 +1,62 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSnapshotTest {
+
+    private final Article article = new CommonArticle("t", "au", "tech", "con", "https://example.com/a", "d", "");
+
+    @Test
+    void testChangesLeaveOriginalUntouched() {
+        // Arrange
+        final UserSnapshot original = UserSnapshot.of(
+                new CommonUser("Paul", "password", new ArrayList<>(List.of("tech")), new HashMap<>()));
+
+        // Act
+        final UserSnapshot changed = original.withCategory("sports").withArticle(article);
+
+        // Assert
+        assertEquals(List.of("tech"), original.getCategories());
+        assertFalse(original.containsArticle(article.getKey()));
+        assertEquals(List.of("tech", "sports"), changed.getCategories());
+        assertTrue(changed.getArticles().get("tech").contains(article));
+        assertThrows(UnsupportedOperationException.class, () -> changed.getCategories().add("news"));
+    }
+
+    @Test
+    void testWithoutArticle() {
+        // Arrange
+        final UserSnapshot snapshot = UserSnapshot.of(
+                new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>())).withArticle(article);
+
+        // Act
+        final UserSnapshot removed = snapshot.withoutArticle(article.getKey());
+
+        // Assert
+        assertTrue(snapshot.containsArticle(article.getKey()));
+        assertFalse(removed.containsArticle(article.getKey()));
+        assertTrue(removed.getArticles().get("tech").isEmpty());
+        assertSame(removed, removed.withoutArticle(article.getKey()));
+    }
+
+    @Test
+    void testToUserIsDetached() {
+        // Arrange
+        final UserSnapshot snapshot = UserSnapshot.of(
+                new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+
+        // Act
+        final User user = snapshot.toUser();
+        user.addCategory("tech");
+        user.addArticle(article);
+
+        // Assert
+        assertTrue(snapshot.getCategories().isEmpty());
+        assertTrue(snapshot.getArticles().isEmpty());
+    }
+}
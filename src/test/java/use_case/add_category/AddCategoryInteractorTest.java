@@ -3,11 +3,13 @@ package use_case.add_category;
 import data_access.InMemoryUserDataAccessObject;
 
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -16,18 +18,17 @@ public class AddCategoryInteractorTest {
 
     @Test
     public void testAddCategory() {
-        AddCategoryInputData inputData = new AddCategoryInputData("Horror");
+        AddCategoryInputData inputData = new AddCategoryInputData(new SessionContext("Paul"), "Horror");
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         AddCategoryOutputBoundary successPresenter = new AddCategoryOutputBoundary() {
             @Override
             public void prepareSuccessView(AddCategoryOutputData outputData) {
-                assertTrue(user.getCategories().contains(outputData.getCategory()));
+                assertTrue(userRepository.get("Paul").getCategories().contains(outputData.getCategory()));
             }
 
             @Override
@@ -42,14 +43,13 @@ public class AddCategoryInteractorTest {
 
     @Test
     public void failureCategoryAlreadyExists() {
-        AddCategoryInputData inputData = new AddCategoryInputData("Horror");
+        AddCategoryInputData inputData = new AddCategoryInputData(new SessionContext("Paul"), "Horror");
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
         // add the test category
-        userRepository.saveCategory("Horror");
+        userRepository.saveCategory("Paul", "Horror");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         AddCategoryOutputBoundary successPresenter = new AddCategoryOutputBoundary() {
@@ -70,12 +70,11 @@ public class AddCategoryInteractorTest {
 
     @Test
     public void failureEmptyCategory() {
-        AddCategoryInputData inputData = new AddCategoryInputData("");
+        AddCategoryInputData inputData = new AddCategoryInputData(new SessionContext("Paul"), "");
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         AddCategoryOutputBoundary successPresenter = new AddCategoryOutputBoundary() {
@@ -94,4 +93,29 @@ public class AddCategoryInteractorTest {
         interactor.execute(inputData);
     }
 
+    @Test
+    public void testSessionsShareOneRepository() {
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap()));
+        userRepository.save(new CommonUser("Ali", "password", new ArrayList<>(), Collections.emptyMap()));
+
+        AddCategoryOutputBoundary presenter = new AddCategoryOutputBoundary() {
+            @Override
+            public void prepareSuccessView(AddCategoryOutputData outputData) {
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail(errorMessage);
+            }
+        };
+
+        // Each request names its user, so neither has to be the current user of the repository
+        AddCategoryInputBoundary interactor = new AddCategoryInteractor(userRepository, presenter);
+        interactor.execute(new AddCategoryInputData(new SessionContext("Paul"), "Horror"));
+        interactor.execute(new AddCategoryInputData(new SessionContext("Ali"), "Sports"));
+
+        assertEquals(List.of("Horror"), userRepository.getUserCategories("Paul"));
+        assertEquals(List.of("Sports"), userRepository.getUserCategories("Ali"));
+    }
 }
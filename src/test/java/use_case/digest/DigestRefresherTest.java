@@ -0,0 +1,173 @@
+package use_case.digest;
+
+import entity.Article;
+import entity.CommonArticle;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DigestRefresherTest {
+
+    private static Article article(String title, String date) {
+        return new CommonArticle(title, "author", "technology", "content of " + title, "link/" + title, date, "");
+    }
+
+    private static List<Article> articles(Article... articles) {
+        return new ArrayList<>(List.of(articles));
+    }
+
+    @Test
+    public void testRefreshQueriesSinceWatermarkAndSummarizesOnlyNewArticles() throws Exception {
+        // Arrange
+        String today = LocalDate.now().toString();
+        Article first = article("first", today + "T08:00:00Z");
+        Article second = article("second", today + "T09:00:00Z");
+        DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        DigestCohereDataAccessInterface cohereDataAccess = Mockito.mock(DigestCohereDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchArticlesByKeyword(Mockito.eq("technology"), Mockito.any(), Mockito.any(),
+                        Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(articles(first), articles(first), articles(second, first));
+        Mockito.when(cohereDataAccess.summarize(Mockito.anyString())).thenReturn("summary");
+        DigestRefresher refresher = new DigestRefresher(newsDataAccess, cohereDataAccess, 1, TimeUnit.HOURS);
+        DigestInputData inputData = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        CompletableFuture<Article> initial = lookup(refresher, inputData);
+        Article initialArticle = initial.get(5, TimeUnit.SECONDS);
+        refresher.refresh("technology");
+        Article unchanged = lookup(refresher, inputData).join();
+        refresher.refresh("technology");
+        Article updated = lookup(refresher, inputData).join();
+
+        // Assert
+        assertSame(first, initialArticle);
+        assertSame(first, unchanged);
+        assertSame(second, updated);
+        Mockito.verify(newsDataAccess, Mockito.times(2)).fetchArticlesByKeyword(Mockito.eq("technology"),
+                Mockito.eq(first.getDate()), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt(),
+                Mockito.anyInt());
+        Mockito.verify(cohereDataAccess).summarize("content of first");
+        Mockito.verify(cohereDataAccess).summarize("content of second");
+        Mockito.verifyNoMoreInteractions(cohereDataAccess);
+    }
+
+    @Test
+    public void testLookupFallsBackWhenNothingWasFound() throws Exception {
+        // Arrange
+        DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchArticlesByKeyword(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt())).thenReturn(new ArrayList<>());
+        DigestRefresher refresher = new DigestRefresher(newsDataAccess,
+                Mockito.mock(DigestCohereDataAccessInterface.class), 1, TimeUnit.HOURS);
+        DigestInputData inputData = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        CompletableFuture<Article> pending = lookup(refresher, inputData);
+        if (pending != null) {
+            pending.get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertNull(lookup(refresher, inputData));
+        assertNull(refresher.lookup("health", inputData.getFromDate(), inputData.getToDate(),
+                inputData.getLanguage(), inputData.getSortBy()));
+    }
+
+    @Test
+    public void testLookupIgnoresOtherSortOrders() throws Exception {
+        // Arrange
+        String today = LocalDate.now().toString();
+        DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchArticlesByKeyword(Mockito.any(), Mockito.any(), Mockito.any(),
+                        Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(articles(article("first", today + "T08:00:00Z")));
+        DigestRefresher refresher = new DigestRefresher(newsDataAccess,
+                Mockito.mock(DigestCohereDataAccessInterface.class), 1, TimeUnit.HOURS);
+        DigestInputData latest = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+        DigestInputData relevant = DigestInputData.forPastWeek(new String[]{"technology"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        lookup(refresher, latest).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertNotNull(lookup(refresher, latest));
+        assertNull(lookup(refresher, relevant));
+    }
+
+    @Test
+    public void testLoginOfAnotherUserKeepsOldCategories() throws Exception {
+        // Arrange
+        String today = LocalDate.now().toString();
+        DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchArticlesByKeyword(Mockito.any(), Mockito.any(), Mockito.any(),
+                        Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenAnswer(invocation -> articles(article("first", today + "T08:00:00Z")));
+        DigestRefresher refresher = new DigestRefresher(newsDataAccess,
+                Mockito.mock(DigestCohereDataAccessInterface.class), 1, TimeUnit.HOURS);
+        DigestInputData technology = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+        DigestInputData health = DigestInputData.forLatestOfPastWeek(new String[]{"health"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        refresher.prefetch(List.of("health"));
+
+        // Assert
+        assertNotNull(lookup(refresher, technology).get(5, TimeUnit.SECONDS));
+        assertNotNull(lookup(refresher, health).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIdleCategoriesAreDropped() {
+        // Arrange
+        DigestRefresher refresher = new DigestRefresher(Mockito.mock(DigestNewsDataAccessInterface.class),
+                Mockito.mock(DigestCohereDataAccessInterface.class), 1, 0, TimeUnit.HOURS);
+        DigestInputData inputData = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        refresher.refreshAll();
+
+        // Assert
+        assertNull(lookup(refresher, inputData));
+    }
+
+    @Test
+    public void testFailedRefreshCompletesPendingLookupAndKeepsRefreshing() throws Exception {
+        // Arrange
+        String today = LocalDate.now().toString();
+        Article first = article("first", today + "T08:00:00Z");
+        DigestNewsDataAccessInterface newsDataAccess = Mockito.mock(DigestNewsDataAccessInterface.class);
+        Mockito.when(newsDataAccess.fetchArticlesByKeyword(Mockito.any(), Mockito.any(), Mockito.any(),
+                        Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenThrow(new IllegalStateException("bad response"))
+                .thenReturn(articles(first));
+        DigestRefresher refresher = new DigestRefresher(newsDataAccess,
+                Mockito.mock(DigestCohereDataAccessInterface.class), 1, TimeUnit.HOURS);
+        DigestInputData inputData = DigestInputData.forLatestOfPastWeek(new String[]{"technology"});
+
+        // Act
+        refresher.prefetch(List.of("technology"));
+        CompletableFuture<Article> pending = lookup(refresher, inputData);
+        Article failed = pending == null ? null : pending.get(5, TimeUnit.SECONDS);
+        refresher.refreshAll();
+
+        // Assert
+        assertNull(failed);
+        assertSame(first, lookup(refresher, inputData).join());
+    }
+
+    private static CompletableFuture<Article> lookup(DigestRefresher refresher, DigestInputData inputData) {
+        return refresher.lookup(inputData.getKeywords()[0], inputData.getFromDate(), inputData.getToDate(),
+                inputData.getLanguage(), inputData.getSortBy());
+    }
+}
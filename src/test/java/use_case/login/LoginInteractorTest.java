@@ -6,6 +6,7 @@ import entity.User;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -75,6 +76,47 @@ public class LoginInteractorTest {
     }
 
 
+    @Test
+    public void successReadsOnlyCredentialsTest() {
+        LoginInputData inputData = new LoginInputData("Ali@gmail.com", "password");
+        // Login should take everything it needs from the credentials, never from the full user
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject() {
+            @Override
+            public boolean existsByName(String name) {
+                throw new AssertionError("existsByName should not be called");
+            }
+
+            @Override
+            public User get(String name) {
+                throw new AssertionError("get should not be called");
+            }
+        };
+        userRepository.save(new CommonUser("Ali@gmail.com", "password", List.of("tech", "health"),
+                Collections.emptyMap()));
+
+        LoginOutputBoundary successPresenter = new LoginOutputBoundary() {
+            @Override
+            public void prepareSuccessView(LoginOutputData user) {
+                assertEquals("Ali@gmail.com", user.getUsername());
+                assertEquals(List.of("tech", "health"), user.getCategories());
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                fail("Use case failure is unexpected.");
+            }
+
+            @Override
+            public void switchToSignupView() {
+
+            }
+        };
+
+        LoginInputBoundary interactor = new LoginInteractor(userRepository, successPresenter);
+        interactor.execute(inputData);
+        assertEquals("Ali@gmail.com", userRepository.getCurrentUsername());
+    }
+
     @Test
     public void failurePasswordMismatchTest() {
         LoginInputData inputData = new LoginInputData("Ali@gmail.com", "wrong");
@@ -3,6 +3,7 @@ package use_case.remove_category;
 import data_access.InMemoryUserDataAccessObject;
 
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.Test;
 import use_case.add_category.*;
@@ -16,20 +17,19 @@ import static org.junit.Assert.*;
 public class RemoveCategoryInteractorTest {
     @Test
     public void testRemoveCategory() {
-        RemoveCategoryInputData inputData = new RemoveCategoryInputData("Horror");
+        RemoveCategoryInputData inputData = new RemoveCategoryInputData(new SessionContext("Paul"), "Horror");
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
         // add the desired category to remove
-        userRepository.saveCategory("Horror");
+        userRepository.saveCategory("Paul", "Horror");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         RemoveCategoryOutputBoundary successPresenter = new RemoveCategoryOutputBoundary() {
             @Override
             public void prepareSuccessView(RemoveCategoryOutputData outputData) {
-                assertFalse(user.getCategories().contains(outputData.getCategory()));
+                assertFalse(userRepository.get("Paul").getCategories().contains(outputData.getCategory()));
             }
 
             @Override
@@ -45,14 +45,13 @@ public class RemoveCategoryInteractorTest {
     // This case is not expected to arise in our program
     @Test
     public void failCategoryDoesNotExist() {
-        RemoveCategoryInputData inputData = new RemoveCategoryInputData("Horror");
+        RemoveCategoryInputData inputData = new RemoveCategoryInputData(new SessionContext("Paul"), "Horror");
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), Collections.emptyMap());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
         // add some random category
-        userRepository.saveCategory("Mystery");
+        userRepository.saveCategory("Paul", "Mystery");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         RemoveCategoryOutputBoundary successPresenter = new RemoveCategoryOutputBoundary() {
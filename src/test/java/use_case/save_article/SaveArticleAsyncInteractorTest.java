@@ -0,0 +1,124 @@
+package use_case.save_article;
+
+import data_access.InMemoryUserDataAccessObject;
+import entity.Article;
+import entity.CommonArticle;
+import entity.CommonUser;
+import entity.SessionContext;
+import entity.User;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class SaveArticleAsyncInteractorTest {
+    @Test
+    public void testSaveArticle() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
+        userRepository.save(user);
+
+        SaveArticleOutputBoundary successPresenter = new SaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SaveArticleOutputData outputData) {
+                assertEquals(article, outputData.getArticle());
+                assertTrue(userRepository.get("Paul").getArticles().get(article.getCategory()).contains(article));
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail("Unexpected error: " + errorMessage);
+            }
+        };
+
+        SaveArticleInputBoundary interactor = new SaveArticleAsyncInteractor(userRepository, successPresenter);
+        interactor.execute(new SaveArticleInputData(new SessionContext("Paul"), article));
+    }
+
+    @Test
+    public void failureArticleAlreadySaved() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+        userRepository.saveArticle("Paul", article);
+
+        SaveArticleOutputBoundary failurePresenter = new SaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SaveArticleOutputData outputData) {
+                fail("Use case success is unexpected");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                assertEquals("Article already saved.", errorMessage);
+            }
+        };
+
+        SaveArticleInputBoundary interactor = new SaveArticleAsyncInteractor(userRepository, failurePresenter);
+        interactor.execute(new SaveArticleInputData(new SessionContext("Paul"), article));
+    }
+
+    @Test
+    public void executeReturnsBeforeTheSaveCompletes() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        CompletableFuture<Boolean> pendingSave = new CompletableFuture<>();
+        SaveArticleAsyncDataAccessInterface slowRepository = new SaveArticleAsyncDataAccessInterface() {
+            @Override
+            public CompletableFuture<Boolean> saveArticleAsync(String username, Article saved) {
+                return pendingSave;
+            }
+        };
+        boolean[] presented = {false};
+
+        SaveArticleOutputBoundary presenter = new SaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SaveArticleOutputData outputData) {
+                presented[0] = true;
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail("Unexpected error: " + errorMessage);
+            }
+        };
+
+        new SaveArticleAsyncInteractor(slowRepository, presenter)
+                .execute(new SaveArticleInputData(new SessionContext("Paul"), article));
+        assertFalse(presented[0]);
+        pendingSave.complete(true);
+        assertTrue(presented[0]);
+    }
+
+    @Test
+    public void presenterRunsOnTheGivenExecutor() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+        List<Runnable> queued = new ArrayList<>();
+        boolean[] presented = {false};
+
+        SaveArticleOutputBoundary presenter = new SaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SaveArticleOutputData outputData) {
+                presented[0] = true;
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail("Unexpected error: " + errorMessage);
+            }
+        };
+
+        new SaveArticleAsyncInteractor(userRepository, presenter, queued::add)
+                .execute(new SaveArticleInputData(new SessionContext("Paul"), article));
+        assertFalse(presented[0]);
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+        assertTrue(presented[0]);
+    }
+}
@@ -4,6 +4,7 @@ import data_access.InMemoryUserDataAccessObject;
 import entity.Article;
 import entity.CommonArticle;
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.Test;
 
@@ -16,20 +17,19 @@ public class SaveArticleInteractorTest {
     @Test
     public void testSaveArticle() {
         Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
-        SaveArticleInputData inputData = new SaveArticleInputData(article);
+        SaveArticleInputData inputData = new SaveArticleInputData(new SessionContext("Paul"), article);
 
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         SaveArticleOutputBoundary successPresenter = new SaveArticleOutputBoundary() {
             @Override
             public void prepareSuccessView(SaveArticleOutputData outputData) {
-                assertTrue(user.getArticles().containsKey(article.getCategory()));
-                assertTrue(user.getArticles().get(article.getCategory()).contains(article));
+                assertTrue(userRepository.get("Paul").getArticles().containsKey(article.getCategory()));
+                assertTrue(userRepository.get("Paul").getArticles().get(article.getCategory()).contains(article));
             }
 
             @Override
@@ -45,15 +45,14 @@ public class SaveArticleInteractorTest {
     @Test
     public void failureArticleAlreadySaved() {
         Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
-        SaveArticleInputData inputData = new SaveArticleInputData(article);
+        SaveArticleInputData inputData = new SaveArticleInputData(new SessionContext("Paul"), article);
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // add the test article
-        userRepository.saveArticle(article);
+        userRepository.saveArticle("Paul", article);
 
         // This creates a successPresenter that test whether the test case is as we expect.
         SaveArticleOutputBoundary successPresenter = new SaveArticleOutputBoundary() {
@@ -1,15 +1,23 @@
 package use_case.saved_articles;
 
 import data_access.InMemoryUserDataAccessObject;
+import entity.Article;
+import entity.CommonArticle;
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
 public class SavedArticlesInteractorTest {
+    private final SessionContext session = new SessionContext("Ali@gmail.com");
 
     @Test
     public void successTest() {
@@ -18,13 +26,12 @@ public class SavedArticlesInteractorTest {
         // For the success test, we need to add Ali to the data access repository before we log in.
         User user = new CommonUser("Ali@gmail.com", "password", Collections.emptyList(), Collections.emptyMap());
         ((InMemoryUserDataAccessObject) userRepository ).save(user);
-        ((InMemoryUserDataAccessObject) userRepository ).setCurrentUsername("Ali@gmail.com");
         
         // This creates a successPresenter that tests whether the test case is as we expect.
         SavedArticlesOutputBoundary successPresenter = new SavedArticlesOutputBoundary() {
             @Override
             public void prepareSuccessView(SavedArticleOutputData user) {
-                assertEquals("Ali@gmail.com", user.getUser().getName());
+                assertEquals("Ali@gmail.com", user.getUsername());
             }
 
             @Override
@@ -34,7 +41,47 @@ public class SavedArticlesInteractorTest {
         };
 
         SavedArticlesInputBoundary interactor = new SavedArticlesInteractor(userRepository, successPresenter);
-        interactor.execute();
+        interactor.execute(new SavedArticlesInputData(session, null));
+    }
+
+    @Test
+    public void pagesAreLoadedNewestFirstTest() {
+        SavedArticlesDataAccessInterface userRepository = new InMemoryUserDataAccessObject();
+
+        // Ali has more saved articles than fit on one page
+        Map<String, List<Article>> articles = new HashMap<>();
+        User user = new CommonUser("Ali@gmail.com", "password", new ArrayList<>(), articles);
+        int articleCount = SavedArticlesInteractor.PAGE_SIZE + 5;
+        for (int i = 0; i < articleCount; i++) {
+            String date = String.format("2024-11-%02dT00:00:00Z", i + 1);
+            user.addArticle(new CommonArticle("title" + i, "author", "tech", "content", "link" + i, date, ""));
+        }
+        ((InMemoryUserDataAccessObject) userRepository).save(user);
+
+        List<SavedArticleOutputData> pages = new ArrayList<>();
+        SavedArticlesOutputBoundary presenter = new SavedArticlesOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SavedArticleOutputData outputData) {
+                pages.add(outputData);
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                fail("Use case failure is unexpected.");
+            }
+        };
+
+        SavedArticlesInputBoundary interactor = new SavedArticlesInteractor(userRepository, presenter);
+        interactor.execute(new SavedArticlesInputData(session, null));
+        interactor.execute(new SavedArticlesInputData(session, pages.get(0).getNextPageToken()));
+
+        assertTrue(pages.get(0).isFirstPage());
+        assertEquals(SavedArticlesInteractor.PAGE_SIZE, pages.get(0).getArticles().size());
+        assertEquals("title" + (articleCount - 1), pages.get(0).getArticles().get(0).getTitle());
+        assertFalse(pages.get(1).isFirstPage());
+        assertEquals(5, pages.get(1).getArticles().size());
+        assertEquals("title0", pages.get(1).getArticles().get(4).getTitle());
+        assertNull(pages.get(1).getNextPageToken());
     }
 
     @Test
@@ -57,6 +104,28 @@ public class SavedArticlesInteractorTest {
         };
 
         SavedArticlesInputBoundary interactor = new SavedArticlesInteractor(userRepository, failurePresenter);
-        interactor.execute();
+        interactor.execute(new SavedArticlesInputData(new SessionContext(null), null));
+    }
+
+    @Test
+    public void failureInvalidPageTokenTest() {
+        SavedArticlesDataAccessInterface userRepository = (username, pageSize, pageToken) -> {
+            throw new IllegalArgumentException("Invalid page token: " + pageToken);
+        };
+
+        SavedArticlesOutputBoundary failurePresenter = new SavedArticlesOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SavedArticleOutputData user) {
+                fail("Use case success is unexpected.");
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                assertEquals("Invalid page token.", error);
+            }
+        };
+
+        SavedArticlesInputBoundary interactor = new SavedArticlesInteractor(userRepository, failurePresenter);
+        interactor.execute(new SavedArticlesInputData(session, "garbage"));
     }
-}
\ No newline at end of file
+}
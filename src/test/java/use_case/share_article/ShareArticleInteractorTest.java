@@ -4,6 +4,7 @@ import data_access.MongoDBUserDataAccessObject;
 import entity.Article;
 import entity.CommonArticle;
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,7 +46,7 @@ public class ShareArticleInteractorTest {
                 "2024-12-01",
                 "Test Summary"
         );
-        ShareArticleInputData inputData = new ShareArticleInputData(article);
+        ShareArticleInputData inputData = new ShareArticleInputData(new SessionContext("Paul"), article);
 
         ShareArticleInteractor interactor = new ShareArticleInteractor(userDataAccess, emailDataAccess);
 
@@ -69,7 +70,7 @@ public class ShareArticleInteractorTest {
                 "2024-12-01",
                 "Test Summary"
         );
-        ShareArticleInputData inputData = new ShareArticleInputData(article);
+        ShareArticleInputData inputData = new ShareArticleInputData(new SessionContext("Paul"), article);
 
         ShareArticleEmailDataAccessInterface failingEmailService = new ShareArticleEmailDataAccessInterface() {
             @Override
@@ -0,0 +1,173 @@
+package use_case.share_digest;
+
+import entity.Article;
+import entity.CommonArticle;
+import entity.SessionContext;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShareDigestInteractorTest {
+
+    private static List<Article> digest(int size, int descriptionLength) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            articles.add(new CommonArticle("Article <" + i + ">", "Author " + i, "tech", "content",
+                    "https://example.com/" + i, "2024-12-01", "d".repeat(descriptionLength)));
+        }
+        return articles;
+    }
+
+    /**
+     * Email sender that records every email instead of sending it.
+     */
+    private static final class RecordingEmailDataAccess implements ShareDigestEmailDataAccessInterface {
+        private final List<String> subjects = new ArrayList<>();
+        private final List<String> bodies = new ArrayList<>();
+        private final List<String> recipients = new ArrayList<>();
+
+        @Override
+        public void sendMail(String subject, String body, String recipient) {
+            subjects.add(subject);
+            bodies.add(body);
+            recipients.add(recipient);
+        }
+    }
+
+    @Test
+    public void testDigestGoesOutInOneEmail() {
+        RecordingEmailDataAccess emailDataAccess = new RecordingEmailDataAccess();
+        ShareDigestInputData inputData = new ShareDigestInputData(new SessionContext("paul@example.com"),
+                digest(8, 100));
+
+        ShareDigestOutputBoundary successPresenter = new ShareDigestOutputBoundary() {
+            @Override
+            public void prepareSuccessView(ShareDigestOutputData outputData) {
+                assertEquals("paul@example.com", outputData.getRecipient());
+                assertEquals(8, outputData.getArticleCount());
+                assertEquals(1, outputData.getMessageCount());
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail(errorMessage);
+            }
+        };
+
+        new ShareDigestInteractor(emailDataAccess, successPresenter).execute(inputData);
+
+        assertEquals(1, emailDataAccess.bodies.size());
+        assertEquals("Your News Buddy digest: 8 articles", emailDataAccess.subjects.get(0));
+        assertEquals("paul@example.com", emailDataAccess.recipients.get(0));
+        String body = emailDataAccess.bodies.get(0);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(body.contains("https://example.com/" + i));
+        }
+        assertTrue(body.contains("Article &lt;0&gt;"));
+        assertEquals(1, body.split("<style>", -1).length - 1);
+    }
+
+    @Test
+    public void testDigestIsSplitAtTheSizeLimit() {
+        RecordingEmailDataAccess emailDataAccess = new RecordingEmailDataAccess();
+        final int maxMessageBytes = 4000;
+        ShareDigestInputData inputData = new ShareDigestInputData(new SessionContext("paul@example.com"),
+                digest(30, 1000), "friend@example.com");
+
+        ShareDigestOutputBoundary successPresenter = new ShareDigestOutputBoundary() {
+            @Override
+            public void prepareSuccessView(ShareDigestOutputData outputData) {
+                assertEquals("friend@example.com", outputData.getRecipient());
+                assertTrue(outputData.getMessageCount() > 1);
+                assertTrue(outputData.getMessageCount() < 30);
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail(errorMessage);
+            }
+        };
+
+        new ShareDigestInteractor(emailDataAccess, successPresenter, maxMessageBytes).execute(inputData);
+
+        int parts = emailDataAccess.bodies.size();
+        int articles = 0;
+        for (int part = 0; part < parts; part++) {
+            String body = emailDataAccess.bodies.get(part);
+            assertTrue(body.getBytes(StandardCharsets.UTF_8).length <= maxMessageBytes);
+            assertTrue(emailDataAccess.subjects.get(part).endsWith("(part " + (part + 1) + " of " + parts + ")"));
+            articles += body.split("class=\"article\"", -1).length - 1;
+            // A digest this large gets the short descriptions
+            assertFalse(body.contains("d".repeat(250)));
+        }
+        assertEquals(30, articles);
+    }
+
+    @Test
+    public void failureNoArticles() {
+        RecordingEmailDataAccess emailDataAccess = new RecordingEmailDataAccess();
+        ShareDigestInputData inputData = new ShareDigestInputData(new SessionContext("paul@example.com"),
+                new ArrayList<>());
+
+        ShareDigestOutputBoundary failurePresenter = new ShareDigestOutputBoundary() {
+            @Override
+            public void prepareSuccessView(ShareDigestOutputData outputData) {
+                fail("Use case success is unexpected.");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                assertEquals("There are no articles to share.", errorMessage);
+            }
+        };
+
+        new ShareDigestInteractor(emailDataAccess, failurePresenter).execute(inputData);
+        assertTrue(emailDataAccess.bodies.isEmpty());
+    }
+
+    @Test
+    public void failureEmailError() {
+        ShareDigestEmailDataAccessInterface failingEmailDataAccess = (subject, body, recipient) -> {
+            throw new Exception("Gmail is unavailable");
+        };
+        ShareDigestInputData inputData = new ShareDigestInputData(new SessionContext("paul@example.com"),
+                digest(3, 100));
+
+        ShareDigestOutputBoundary failurePresenter = new ShareDigestOutputBoundary() {
+            @Override
+            public void prepareSuccessView(ShareDigestOutputData outputData) {
+                fail("Use case success is unexpected.");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                assertEquals("Could not send the digest: 0 of 1 emails were sent.", errorMessage);
+            }
+        };
+
+        new ShareDigestInteractor(failingEmailDataAccess, failurePresenter).execute(inputData);
+    }
+
+    @Test
+    public void failureNoUserLoggedIn() {
+        ShareDigestInputData inputData = new ShareDigestInputData(new SessionContext(""), digest(3, 100));
+
+        ShareDigestOutputBoundary failurePresenter = new ShareDigestOutputBoundary() {
+            @Override
+            public void prepareSuccessView(ShareDigestOutputData outputData) {
+                fail("Use case success is unexpected.");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                assertEquals("No user logged in.", errorMessage);
+            }
+        };
+
+        new ShareDigestInteractor(new RecordingEmailDataAccess(), failurePresenter).execute(inputData);
+    }
+}
@@ -101,6 +101,36 @@ public class SignupInteractorTest {
 
 
 
+        SignupInputBoundary interactor = new SignupInteractor(userRepository, failurePresenter);
+        interactor.execute(inputData);
+    }
+
+    @Test
+    public void failureUserExistsMatchingPasswordsTest() {
+        SignupInputData inputData = new SignupInputData("Ali@gmail.com", "password", "password");
+        SignupUserDataAccessInterface userRepository = new InMemoryUserDataAccessObject();
+
+        // Add Ali to the repo so that creating them again is rejected
+        User user = new CommonUser("Ali@gmail.com", "pwd", Collections.emptyList(), Collections.emptyMap());
+        userRepository.save(user);
+
+        SignupOutputBoundary failurePresenter = new SignupOutputBoundary() {
+            @Override
+            public void prepareSuccessView(SignupOutputData user) {
+                fail("Use case success is unexpected.");
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                assertEquals("User already exists.", error);
+            }
+
+            @Override
+            public void switchToLoginView() {
+                // This is expected
+            }
+        };
+
         SignupInputBoundary interactor = new SignupInteractor(userRepository, failurePresenter);
         interactor.execute(inputData);
     }
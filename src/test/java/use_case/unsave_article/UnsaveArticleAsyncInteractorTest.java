@@ -0,0 +1,63 @@
+package use_case.unsave_article;
+
+import data_access.InMemoryUserDataAccessObject;
+import entity.Article;
+import entity.CommonArticle;
+import entity.CommonUser;
+import entity.SessionContext;
+import entity.User;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class UnsaveArticleAsyncInteractorTest {
+
+    @Test
+    public void testUnsaveArticle() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
+        userRepository.save(user);
+        userRepository.saveArticle("Paul", article);
+
+        UnsaveArticleOutputBoundary successPresenter = new UnsaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(UnsaveArticleOutputData outputData) {
+                assertFalse(userRepository.get("Paul").getArticles().get(article.getCategory()).contains(article));
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail("Unexpected error: " + errorMessage);
+            }
+        };
+
+        UnsaveArticleInputBoundary interactor = new UnsaveArticleAsyncInteractor(userRepository, successPresenter);
+        interactor.execute(new UnsaveArticleInputData(new SessionContext("Paul"), article));
+    }
+
+    @Test
+    public void failureArticleNotSaved() {
+        Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
+        InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
+        userRepository.save(new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>()));
+
+        UnsaveArticleOutputBoundary failurePresenter = new UnsaveArticleOutputBoundary() {
+            @Override
+            public void prepareSuccessView(UnsaveArticleOutputData outputData) {
+                fail("Use case success is unexpected");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                assertEquals("Article is not saved.", errorMessage);
+            }
+        };
+
+        UnsaveArticleInputBoundary interactor = new UnsaveArticleAsyncInteractor(userRepository, failurePresenter);
+        interactor.execute(new UnsaveArticleInputData(new SessionContext("Paul"), article));
+    }
+}
@@ -4,6 +4,7 @@ import data_access.InMemoryUserDataAccessObject;
 import entity.Article;
 import entity.CommonArticle;
 import entity.CommonUser;
+import entity.SessionContext;
 import entity.User;
 import org.junit.Test;
 
@@ -17,23 +18,22 @@ public class UnsaveArticleInteractorTest {
     @Test
     public void testUnsaveArticle() {
         Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
-        UnsaveArticleInputData inputData = new UnsaveArticleInputData(article);
+        UnsaveArticleInputData inputData = new UnsaveArticleInputData(new SessionContext("Paul"), article);
 
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // add the test article
-        userRepository.saveArticle(article);
+        userRepository.saveArticle("Paul", article);
 
         // This creates a successPresenter that test whether the test case is as we expect
         UnsaveArticleOutputBoundary successPresenter = new UnsaveArticleOutputBoundary() {
             @Override
             public void prepareSuccessView(UnsaveArticleOutputData outputData) {
-                assertTrue(user.getArticles().containsKey(article.getCategory()));
-                assertFalse(user.getArticles().get(article.getCategory()).contains(article));
+                assertTrue(userRepository.get("Paul").getArticles().containsKey(article.getCategory()));
+                assertFalse(userRepository.get("Paul").getArticles().get(article.getCategory()).contains(article));
             }
 
             @Override
@@ -49,13 +49,12 @@ public class UnsaveArticleInteractorTest {
     @Test
     public void failureArticleNotSaved() {
         Article article = new CommonArticle("t", "au", "horror", "con", "li", "d", "a");
-        UnsaveArticleInputData inputData = new UnsaveArticleInputData(article);
+        UnsaveArticleInputData inputData = new UnsaveArticleInputData(new SessionContext("Paul"), article);
 
         InMemoryUserDataAccessObject userRepository = new InMemoryUserDataAccessObject();
 
         User user = new CommonUser("Paul", "password", new ArrayList<>(), new HashMap<>());
         userRepository.save(user);
-        userRepository.setCurrentUsername("Paul");
 
         // This creates a successPresenter that test whether the test case is as we expect.
         UnsaveArticleOutputBoundary successPresenter = new UnsaveArticleOutputBoundary() {